@@ -0,0 +1,77 @@
+package br.com.erickmarques.loan_manager.benchmark;
+
+import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import br.com.erickmarques.loan_manager.payment.PaymentRequest;
+import br.com.erickmarques.loan_manager.payment.PaymentType;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain objects shaped like production rows, shared by the benchmarks. Kept apart from the test builders because
+ * the jmh source set does not see the test classpath.
+ */
+public final class BenchmarkFixtures {
+
+    public static final BigDecimal LOAN_AMOUNT = new BigDecimal("1500.00");
+    public static final BigDecimal LOAN_TOTAL = new BigDecimal("1725.00");
+    public static final LocalDate PAYMENT_DATE = LocalDate.of(2025, 2, 5);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Customer customer() {
+        return Customer.builder()
+                .id(UUID.randomUUID())
+                .name("Maria Aparecida da Silva")
+                .phone("11987654321")
+                .notes("Cliente desde 2021, paga via PIX")
+                .openLoans(3L)
+                .closedLoans(12L)
+                .createdAt(LocalDateTime.of(2021, 3, 10, 9, 30))
+                .updatedAt(LocalDateTime.of(2025, 1, 2, 14, 5))
+                .build();
+    }
+
+    public static Loan loan(Customer customer) {
+        return Loan.builder()
+                .id(UUID.randomUUID())
+                .loanDate(LocalDate.of(2025, 1, 5))
+                .paymentDate(PAYMENT_DATE)
+                .amount(LOAN_AMOUNT)
+                .percentage(new BigDecimal("15.00"))
+                .totalAmountToPay(LOAN_TOTAL)
+                .negotiation(false)
+                .notes("Parcela única")
+                .status(LoanStatus.OPEN)
+                .customer(customer)
+                .createdAt(LocalDateTime.of(2025, 1, 5, 10, 0))
+                .updatedAt(LocalDateTime.of(2025, 1, 5, 10, 0))
+                .version(0L)
+                .build();
+    }
+
+    public static PaymentRequest paymentRequest(UUID loanId, PaymentType type) {
+        return PaymentRequest.builder()
+                .paymentDate(LocalDate.of(2025, 2, 5))
+                .amount(new BigDecimal("250.00"))
+                .type(type)
+                .notes("Acordo de quitação parcial")
+                .loanId(loanId)
+                .build();
+    }
+
+    /**
+     * Stand-in for a Spring collaborator that does no work: {@code save} returns its argument, anything else
+     * returns {@code null}. Keeps persistence out of the measurement without pulling a mocking library into it.
+     */
+    public static <T> T inert(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getName().equals("save") ? args[0] : null));
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.erickmarques.loan_manager.benchmark;
+
+import br.com.erickmarques.loan_manager.LoanManagerApplication;
+import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.customer.CustomerMapper;
+import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.customer.CustomerResponse;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanMapper;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import br.com.erickmarques.loan_manager.payment.Payment;
+import br.com.erickmarques.loan_manager.payment.PaymentMapper;
+import br.com.erickmarques.loan_manager.payment.PaymentRepository;
+import br.com.erickmarques.loan_manager.payment.PaymentResponse;
+import br.com.erickmarques.loan_manager.payment.PaymentType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per row of the list endpoints: managed entities copied through the mappers, as they were read before, against
+ * the constructor-expression projections they read now. The {@code *Entities} baselines run in a read-write
+ * transaction, as the old service methods did, so they pay for the loaded-state snapshots and the dirty check on
+ * flush; the {@code *EntitiesReadOnly} variants skip both and show how much of the gap is hydration alone. Run with
+ * the gc profiler (on by default in the build) and compare {@code gc.alloc.rate.norm}: with
+ * {@link OperationsPerInvocation} it is bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ListQueryBenchmark {
+
+    private static final int ROWS = 200;
+
+    private static final String LOAN_ENTITIES = """
+        SELECT l
+        FROM Loan l
+        JOIN FETCH l.customer
+        ORDER BY l.paymentDate ASC NULLS LAST, l.id ASC
+    """;
+
+    private static final String PAYMENT_ENTITIES = """
+        SELECT p
+        FROM Payment p
+        ORDER BY p.paymentDate ASC NULLS LAST, p.id ASC
+    """;
+
+    private static final String CUSTOMER_ENTITIES = """
+        SELECT c
+        FROM Customer c
+        ORDER BY c.name ASC
+    """;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private EntityManager entityManager;
+    private LoanRepository loanRepository;
+    private PaymentRepository paymentRepository;
+    private CustomerRepository customerRepository;
+    private LoanMapper loanMapper;
+    private PaymentMapper paymentMapper;
+    private CustomerMapper customerMapper;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(LoanManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:list-query-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.flyway.enabled=false",
+                        "loan-manager.jfr.enabled=false")
+                .run();
+
+        var transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        loanRepository = context.getBean(LoanRepository.class);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        loanMapper = context.getBean(LoanMapper.class);
+        paymentMapper = context.getBean(PaymentMapper.class);
+        customerMapper = context.getBean(CustomerMapper.class);
+
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<LoanResponse> loanEntities() {
+        return readWrite.execute(status -> loanResponses());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<LoanResponse> loanEntitiesReadOnly() {
+        return readOnly.execute(status -> loanResponses());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<LoanResponse> loanProjections() {
+        return readOnly.execute(status -> loanRepository.findFirstPage(PageRequest.ofSize(ROWS)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<PaymentResponse> paymentEntities() {
+        return readWrite.execute(status -> paymentResponses());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<PaymentResponse> paymentEntitiesReadOnly() {
+        return readOnly.execute(status -> paymentResponses());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<PaymentResponse> paymentProjections() {
+        return readOnly.execute(status -> paymentRepository.findFirstPage(PageRequest.ofSize(ROWS)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<CustomerResponse> customerEntities() {
+        return readWrite.execute(status -> customerResponses());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<CustomerResponse> customerEntitiesReadOnly() {
+        return readOnly.execute(status -> customerResponses());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<CustomerResponse> customerProjections() {
+        return readOnly.execute(status -> customerRepository.findAllResponses());
+    }
+
+    private List<LoanResponse> loanResponses() {
+        return entityManager.createQuery(LOAN_ENTITIES, Loan.class)
+                .setMaxResults(ROWS)
+                .getResultList()
+                .stream()
+                .map(loanMapper::toResponse)
+                .toList();
+    }
+
+    private List<PaymentResponse> paymentResponses() {
+        return entityManager.createQuery(PAYMENT_ENTITIES, Payment.class)
+                .setMaxResults(ROWS)
+                .getResultList()
+                .stream()
+                .map(paymentMapper::toResponse)
+                .toList();
+    }
+
+    private List<CustomerResponse> customerResponses() {
+        return entityManager.createQuery(CUSTOMER_ENTITIES, Customer.class)
+                .getResultList()
+                .stream()
+                .map(customerMapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * One loan and one payment per customer, so every list returns exactly {@link #ROWS} rows.
+     */
+    private void seed() {
+        for (int i = 0; i < ROWS; i++) {
+            var fixture = BenchmarkFixtures.customer();
+            var customer = customerRepository.save(fixture.toBuilder()
+                    .id(null)
+                    .name(fixture.getName() + " " + i)
+                    .build());
+            var loan = loanRepository.save(BenchmarkFixtures.loan(customer).toBuilder()
+                    .id(null)
+                    .version(null)
+                    .paymentDate(BenchmarkFixtures.PAYMENT_DATE.plusDays(i))
+                    .build());
+            paymentRepository.save(Payment.builder()
+                    .paymentDate(BenchmarkFixtures.PAYMENT_DATE.plusDays(i))
+                    .amount(new BigDecimal("250.00"))
+                    .type(PaymentType.INTEREST)
+                    .notes("Acordo de quitação parcial")
+                    .loan(loan)
+                    .build());
+        }
+    }
+}
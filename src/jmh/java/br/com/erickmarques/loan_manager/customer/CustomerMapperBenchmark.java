@@ -0,0 +1,44 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import br.com.erickmarques.loan_manager.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerMapperBenchmark {
+
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+
+    private Customer customer;
+    private CustomerRequest request;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkFixtures.customer();
+        request = new CustomerRequest(customer.getName(), customer.getPhone(), "Atualizado pelo atendimento");
+    }
+
+    @Benchmark
+    public CustomerResponse toResponse() {
+        return customerMapper.toResponse(customer);
+    }
+
+    @Benchmark
+    public Customer toEntity() {
+        return customerMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Customer updateEntity() {
+        return customerMapper.updateEntity(customer, request);
+    }
+}
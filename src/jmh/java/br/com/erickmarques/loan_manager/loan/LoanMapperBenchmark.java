@@ -0,0 +1,32 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoanMapperBenchmark {
+
+    private final LoanMapper loanMapper = new LoanMapperImpl();
+
+    private Loan loan;
+
+    @Setup
+    public void setUp() {
+        loan = BenchmarkFixtures.loan(BenchmarkFixtures.customer());
+    }
+
+    @Benchmark
+    public LoanResponse toResponse() {
+        return loanMapper.toResponse(loan);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.benchmark.BenchmarkFixtures;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentMapperBenchmark {
+
+    private final PaymentMapper paymentMapper = new PaymentMapperImpl();
+
+    private Loan loan;
+    private PaymentRequest request;
+
+    @Setup
+    public void setUp() {
+        loan = BenchmarkFixtures.loan(BenchmarkFixtures.customer());
+        request = BenchmarkFixtures.paymentRequest(loan.getId(), PaymentType.AGREEMENT);
+    }
+
+    @Benchmark
+    public Payment toEntity() {
+        return paymentMapper.toEntity(request, loan);
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.benchmark.BenchmarkFixtures;
+import br.com.erickmarques.loan_manager.customer.CustomerLoanCounterService;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal and date arithmetic of {@link ProcessPaymentServiceImpl}. The repository, counters and event
+ * publisher do nothing, so what is left is the rule itself, its timer and its log statements (below the configured
+ * level).
+ * Each invocation restores the loan first, otherwise the discount would settle at zero after a few calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProcessPaymentBenchmark {
+
+    private ProcessPaymentService processPaymentService;
+    private Loan loan;
+    private Payment agreement;
+    private Payment interest;
+
+    @Setup
+    public void setUp() {
+        processPaymentService = new ProcessPaymentServiceImpl(
+                BenchmarkFixtures.inert(LoanRepository.class),
+                BenchmarkFixtures.inert(CustomerLoanCounterService.class),
+                event -> { },
+                new SimpleMeterRegistry()
+        );
+
+        loan = BenchmarkFixtures.loan(BenchmarkFixtures.customer());
+
+        var mapper = new PaymentMapperImpl();
+        agreement = mapper.toEntity(BenchmarkFixtures.paymentRequest(loan.getId(), PaymentType.AGREEMENT), loan);
+        interest = mapper.toEntity(BenchmarkFixtures.paymentRequest(loan.getId(), PaymentType.INTEREST), loan);
+    }
+
+    @Benchmark
+    public Loan negotiationDiscount() {
+        loan.setAmount(BenchmarkFixtures.LOAN_AMOUNT);
+        loan.setTotalAmountToPay(BenchmarkFixtures.LOAN_TOTAL);
+
+        processPaymentService.process(agreement);
+
+        return loan;
+    }
+
+    @Benchmark
+    public Loan postponeDueDate() {
+        loan.setPaymentDate(BenchmarkFixtures.PAYMENT_DATE);
+
+        processPaymentService.process(interest);
+
+        return loan;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.erickmarques.loan_manager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint. Samples are kept raw, which at a few thousand requests per second for a minute is a
+ * few megabytes and gives exact percentiles.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long nanos, boolean success) {
+        if (!success) {
+            errors++;
+            return;
+        }
+
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    synchronized void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    synchronized Summary summarize(double seconds) {
+        var sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        return new Summary(count, errors, count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        return sorted[(int) Math.ceil(sorted.length * quantile) - 1] / 1e6;
+    }
+
+    record Summary(int requests, int errors, double throughput, double p50Millis, double p99Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.erickmarques.loan_manager.loadtest;
+
+import br.com.erickmarques.loan_manager.LoanManagerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Boots the application on a random port against the in-memory database ({@code load-test} profile) and drives
+ * the {@link Operation} mix at a fixed number of concurrent users. After a warm-up it measures for the configured
+ * duration while a JFR recording runs, then writes a per-endpoint report (throughput, p50, p99) next to the
+ * recording. Started by {@code ./gradlew loadTest}.
+ */
+public final class LoadTestRunner {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var settings = LoadTestSettings.fromSystemProperties();
+        var runDir = settings.outputDir().resolve(LocalDateTime.now().format(RUN_ID));
+        Files.createDirectories(runDir);
+
+        try (var context = new SpringApplicationBuilder(LoanManagerApplication.class)
+                .profiles("load-test")
+                .run(args);
+             var users = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newHttpClient()) {
+
+            var baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            var objectMapper = new ObjectMapper();
+            var recorders = new EnumMap<Operation, LatencyRecorder>(Operation.class);
+            for (var operation : Operation.values()) {
+                recorders.put(operation, new LatencyRecorder());
+            }
+
+            var running = new AtomicBoolean(true);
+            try {
+                for (int i = 0; i < settings.concurrency(); i++) {
+                    users.submit(new VirtualUser(client, objectMapper, baseUrl, recorders, running::get));
+                }
+
+                System.out.printf("Warming up %d users for %s...%n", settings.concurrency(), settings.warmup());
+                Thread.sleep(settings.warmup());
+                recorders.values().forEach(LatencyRecorder::reset);
+
+                System.out.printf("Measuring for %s...%n", settings.duration());
+                try (var recording = startRecording()) {
+                    var start = System.nanoTime();
+                    Thread.sleep(settings.duration());
+                    var report = report(settings, recorders, (System.nanoTime() - start) / 1e9);
+
+                    recording.dump(runDir.resolve("recording.jfr"));
+                    Files.writeString(runDir.resolve("report.txt"), report);
+
+                    System.out.print(report);
+                    System.out.printf("Report and JFR recording written to %s%n", runDir.toAbsolutePath());
+                }
+            } finally {
+                // Lets the users finish their current request so closing the executor does not hang.
+                running.set(false);
+            }
+        }
+    }
+
+    private static Recording startRecording() throws IOException, ParseException {
+        var recording = new Recording(Configuration.getConfiguration("profile"));
+        recording.setName("load-test");
+        recording.start();
+        return recording;
+    }
+
+    private static String report(LoadTestSettings settings, Map<Operation, LatencyRecorder> recorders,
+                                 double seconds) {
+        var out = new StringWriter();
+        var writer = new PrintWriter(out);
+
+        writer.printf("%nLoad test: %d users, %.1fs measured%n%n", settings.concurrency(), seconds);
+        writer.printf("%-26s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+
+        var total = 0;
+        for (var entry : recorders.entrySet()) {
+            var summary = entry.getValue().summarize(seconds);
+            total += summary.requests();
+
+            writer.printf("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", entry.getKey().label(), summary.requests(),
+                    summary.errors(), summary.throughput(), summary.p50Millis(), summary.p99Millis(),
+                    summary.maxMillis());
+        }
+
+        writer.printf("%n%-26s %9d %17.1f req/s%n", "total", total, total / seconds);
+        writer.printf("%-26s %27.1f payments/s%n", "payments",
+                recorders.get(Operation.PAY).summarize(seconds).throughput());
+        writer.flush();
+
+        return out.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.erickmarques.loan_manager.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Knobs of a load-test run, read from system properties so the Gradle task can pass {@code -P} values through.
+ *
+ * @param concurrency number of virtual users, each issuing one request at a time (closed model)
+ * @param warmup      time spent driving load before measuring, so the JIT and the caches settle
+ * @param duration    measured time
+ * @param outputDir   where the report and the JFR recording are written
+ */
+record LoadTestSettings(int concurrency, Duration warmup, Duration duration, Path outputDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT15S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                Path.of(System.getProperty("loadtest.output-dir", "build/load-test"))
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.erickmarques.loan_manager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The request mix, modeled on the Postman collection and weighted towards what the front desk does all day:
+ * registering payments and looking loans up. Weights are relative.
+ */
+enum Operation {
+
+    CREATE_CUSTOMER("POST /customers", 5),
+    CREATE_LOAN("POST /loans", 10),
+    GET_LOAN("GET /loans/{id}", 15),
+    LIST_LOANS_BY_CUSTOMER("GET /loans/customer/{id}", 15),
+    LIST_LOANS_PAGE("GET /loans", 8),
+    LIST_PAYMENTS_BY_LOAN("GET /payments/loan/{id}", 5),
+    LIST_CUSTOMERS("GET /customers", 2),
+    PAY("POST /payments", 40);
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(op -> op.weight).sum();
+
+    private final String label;
+    private final int weight;
+
+    Operation(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation pick(int roll) {
+        var remaining = roll % TOTAL_WEIGHT;
+
+        for (var operation : values()) {
+            remaining -= operation.weight;
+            if (remaining < 0) {
+                return operation;
+            }
+        }
+
+        throw new IllegalStateException("Unreachable: weights sum to " + TOTAL_WEIGHT);
+    }
+}
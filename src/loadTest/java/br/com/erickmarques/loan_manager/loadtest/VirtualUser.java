@@ -0,0 +1,134 @@
+package br.com.erickmarques.loan_manager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One simulated client. It owns the customers and loans it created, so users never pay each other's loans and
+ * the only contention left is the one production has: the shared pools, caches and tables.
+ */
+final class VirtualUser implements Runnable {
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Map<Operation, LatencyRecorder> recorders;
+    private final BooleanSupplier running;
+
+    private final List<String> customerIds = new ArrayList<>();
+    private final List<String> loanIds = new ArrayList<>();
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, String baseUrl,
+                Map<Operation, LatencyRecorder> recorders, BooleanSupplier running) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.recorders = recorders;
+        this.running = running;
+    }
+
+    @Override
+    public void run() {
+        var random = ThreadLocalRandom.current();
+
+        execute(Operation.CREATE_CUSTOMER);
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        execute(Operation.CREATE_LOAN);
+        if (loanIds.isEmpty()) {
+            return;
+        }
+
+        while (running.getAsBoolean()) {
+            execute(Operation.pick(random.nextInt(Integer.MAX_VALUE)));
+        }
+    }
+
+    private void execute(Operation operation) {
+        var request = request(operation);
+        var start = System.nanoTime();
+
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            var elapsed = System.nanoTime() - start;
+            var success = response.statusCode() < 400;
+
+            recorders.get(operation).record(elapsed, success);
+
+            if (success) {
+                remember(operation, response.body());
+            }
+        } catch (IOException ex) {
+            recorders.get(operation).record(System.nanoTime() - start, false);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        var random = ThreadLocalRandom.current();
+
+        return switch (operation) {
+            case CREATE_CUSTOMER -> post("/api/v1/customers", """
+                    {"name": "Customer %d", "phone": "819%08d", "notes": "load test"}
+                    """.formatted(random.nextInt(1_000_000), random.nextInt(100_000_000)));
+            case CREATE_LOAN -> post("/api/v1/loans", """
+                    {"loanDate": "%s", "paymentDate": "%s", "amount": 1000.00, "percentage": 10.00,
+                     "totalAmountToPay": 1100.00, "negotiation": false, "customerId": "%s"}
+                    """.formatted(LocalDate.now(), LocalDate.now().plusMonths(1), any(customerIds)));
+            case GET_LOAN -> get("/api/v1/loans/" + any(loanIds));
+            case LIST_LOANS_BY_CUSTOMER -> get("/api/v1/loans/customer/" + any(customerIds));
+            case LIST_LOANS_PAGE -> get("/api/v1/loans?size=20");
+            case LIST_PAYMENTS_BY_LOAN -> get("/api/v1/payments/loan/" + any(loanIds));
+            case LIST_CUSTOMERS -> get("/api/v1/customers");
+            case PAY -> post("/api/v1/payments", payment(random.nextInt(100)));
+        };
+    }
+
+    private String payment(int roll) {
+        // Mostly monthly interest, some agreements and the occasional payoff.
+        var body = roll < 80
+                ? "\"type\": \"INTEREST\", \"amount\": 100.00"
+                : roll < 95
+                ? "\"type\": \"AGREEMENT\", \"amount\": 50.00, \"notes\": \"Negotiated partial payment\""
+                : "\"type\": \"FINISHED\", \"amount\": 1100.00, \"notes\": \"Final payment\"";
+
+        return "{\"paymentDate\": \"%s\", \"loanId\": \"%s\", %s}".formatted(LocalDate.now(), any(loanIds), body);
+    }
+
+    private void remember(Operation operation, String body) throws IOException {
+        switch (operation) {
+            case CREATE_CUSTOMER -> customerIds.add(objectMapper.readTree(body).get("id").asText());
+            case CREATE_LOAN -> loanIds.add(objectMapper.readTree(body).get("id").asText());
+            default -> {
+            }
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String any(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -2,8 +2,10 @@ package br.com.erickmarques.loan_manager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class LoanManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,72 @@
+package br.com.erickmarques.loan_manager.cache;
+
+import br.com.erickmarques.loan_manager.customer.CustomerChangedEvent;
+import br.com.erickmarques.loan_manager.loan.LoanChangedEvent;
+import br.com.erickmarques.loan_manager.payment.PaymentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached reads once the change is committed. Evicting earlier would let a concurrent read cache the row
+ * as it was before the commit; a rolled back change (e.g. a retried payment attempt) evicts nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        evict(ReadCaches.CUSTOMERS, event.customerId());
+        // Published for new and removed loans through the loan counters, which LoanChangedEvent does not cover.
+        invalidate(ReadCaches.AGING_REPORT);
+
+        if (event.nameChanged()) {
+            // Loan responses carry the customer name; a rename is rare enough to drop them all.
+            clear(ReadCaches.LOANS);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanChanged(LoanChangedEvent event) {
+        evict(ReadCaches.LOANS, event.loanId());
+        invalidate(ReadCaches.AGING_REPORT);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        evict(ReadCaches.PAYMENTS, event.paymentId());
+    }
+
+    private void evict(String cacheName, Object key) {
+        var cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Drops an aggregate that any change can affect. Unlike {@link #clear}, this runs for every loan change, so it
+     * does not log.
+     */
+    private void invalidate(String cacheName) {
+        var cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    private void clear(String cacheName) {
+        var cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            log.info("[CACHE] Clearing cache {}.", cacheName);
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.erickmarques.loan_manager.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Size and lifetime of each read cache. The lifetime also bounds how long a read racing with a commit can keep
+ * serving the old value.
+ *
+ * @param maximumSize entries kept per cache
+ * @param timeToLive  how long an entry lives after being written
+ */
+@ConfigurationProperties(prefix = "loan-manager.cache")
+public record ReadCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration timeToLive
+) {
+}
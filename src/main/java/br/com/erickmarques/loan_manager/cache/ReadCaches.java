@@ -0,0 +1,23 @@
+package br.com.erickmarques.loan_manager.cache;
+
+import java.util.List;
+
+/**
+ * Names of the caches in front of the {@code findById} reads. Entries are the response records, keyed by id.
+ */
+public final class ReadCaches {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String LOANS = "loans";
+    public static final String PAYMENTS = "payments";
+
+    public static final List<String> ALL = List.of(CUSTOMERS, LOANS, PAYMENTS);
+
+    /**
+     * The delinquency aging report, keyed by its as-of date. Not in {@link #ALL}: it has its own lifetime.
+     */
+    public static final String AGING_REPORT = "aging-report";
+
+    private ReadCaches() {
+    }
+}
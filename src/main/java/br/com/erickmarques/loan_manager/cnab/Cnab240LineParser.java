@@ -0,0 +1,49 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * CNAB 240 return file: each title is a segment T (identification) followed by a segment U (amounts and dates).
+ */
+class Cnab240LineParser implements CnabLineParser {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("ddMMuuuu");
+    private static final Set<String> SETTLEMENT_MOVEMENTS = Set.of("06", "17");
+    private static final char DETAIL = '3';
+
+    private String pendingReference;
+    private long pendingLine;
+
+    @Override
+    public Optional<CnabRecord> parse(String line, long lineNumber) {
+        if (line.length() < 17 || line.charAt(7) != DETAIL) {
+            pendingReference = null;
+            return Optional.empty();
+        }
+
+        var segment = line.charAt(13);
+
+        if (segment == 'T') {
+            var movement = CnabFields.text(line, 16, 17);
+            pendingReference = SETTLEMENT_MOVEMENTS.contains(movement) ? CnabFields.text(line, 106, 130) : null;
+            pendingLine = lineNumber;
+            return Optional.empty();
+        }
+
+        if (segment != 'U' || pendingReference == null) {
+            return Optional.empty();
+        }
+
+        var reference = pendingReference;
+        pendingReference = null;
+
+        return Optional.of(new CnabRecord(
+                pendingLine,
+                reference,
+                CnabFields.date(line, 138, 145, DATE),
+                CnabFields.amount(line, 78, 92)
+        ));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * CNAB 400 return file: one detail record (type 1) per title.
+ */
+class Cnab400LineParser implements CnabLineParser {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("ddMMuu");
+    private static final Set<String> SETTLEMENT_OCCURRENCES = Set.of("06", "17");
+
+    @Override
+    public Optional<CnabRecord> parse(String line, long lineNumber) {
+        if (!line.startsWith("1")) {
+            return Optional.empty();
+        }
+
+        var occurrence = CnabFields.text(line, 109, 110);
+        if (!SETTLEMENT_OCCURRENCES.contains(occurrence)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new CnabRecord(
+                lineNumber,
+                CnabFields.text(line, 38, 62),
+                CnabFields.date(line, 111, 116, DATE),
+                CnabFields.amount(line, 254, 266)
+        ));
+    }
+}
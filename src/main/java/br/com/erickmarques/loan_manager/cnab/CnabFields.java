@@ -0,0 +1,43 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads the fixed-width fields of a CNAB line. Positions are 1-based and inclusive, as in the bank manuals.
+ */
+final class CnabFields {
+
+    private CnabFields() {
+    }
+
+    static String text(String line, int start, int end) {
+        if (line.length() < end) {
+            throw new IllegalArgumentException("Line is shorter than position " + end + ".");
+        }
+
+        return line.substring(start - 1, end);
+    }
+
+    static BigDecimal amount(String line, int start, int end) {
+        var digits = text(line, start, end);
+
+        try {
+            return new BigDecimal(Long.parseLong(digits)).movePointLeft(2);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid amount '" + digits + "' at position " + start + ".", ex);
+        }
+    }
+
+    static LocalDate date(String line, int start, int end, DateTimeFormatter format) {
+        var digits = text(line, start, end);
+
+        try {
+            return LocalDate.parse(digits, format);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date '" + digits + "' at position " + start + ".", ex);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a return file import, keyed by the SHA-256 of the file. Advanced in the same transaction as each chunk
+ * of payments, so an interrupted import resumes right after the last committed line. New checkpoints are always
+ * inserted, so two uploads of the same file cannot both start it.
+ */
+@Entity
+@Table(name = "cnab_import_checkpoints")
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CnabImportCheckpoint implements Persistable<String> {
+
+    @Id
+    @Column(name = "file_hash", nullable = false, updatable = false, length = 64)
+    private String fileHash;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "layout", nullable = false, length = 20)
+    private CnabLayout layout;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private CnabImportStatus status;
+
+    @Column(name = "last_line", nullable = false)
+    private long lastLine;
+
+    @Column(name = "accepted", nullable = false)
+    private long accepted;
+
+    @Column(name = "rejected", nullable = false)
+    private long rejected;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return fileHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    public void advance(long line, long acceptedInChunk, long rejectedInChunk) {
+        this.lastLine = line;
+        this.accepted += acceptedInChunk;
+        this.rejected += rejectedInChunk;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markStored() {
+        this.stored = true;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CnabImportCheckpointRepository extends JpaRepository<CnabImportCheckpoint, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CnabImportCheckpoint c WHERE c.fileHash = :fileHash")
+    Optional<CnabImportCheckpoint> findForUpdate(@Param("fileHash") String fileHash);
+}
@@ -0,0 +1,56 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import br.com.erickmarques.loan_manager.exception.ApiErrors;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/payments/cnab")
+@RequiredArgsConstructor
+@Tag(
+        name = "CNAB Import API",
+        description = "Imports bank return files as payments."
+)
+public class CnabImportController {
+
+    private final CnabImportService cnabImportService;
+
+    @Operation(
+            summary = "Import a CNAB return file",
+            description = "Registers a payment for every settled title of a CNAB 240 or 400 return file. "
+                    + "The loan id must be in the company-use field of the title. "
+                    + "Sending the same file again resumes an interrupted import.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "File imported",
+                            content = @Content(schema = @Schema(implementation = CnabImportResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty, unreadable or unsupported file",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class))),
+                    @ApiResponse(responseCode = "409", description = "The same file is being imported by another request",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class)))
+            }
+    )
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CnabImportResponse> importFile(@RequestParam("file") MultipartFile file) {
+        try {
+            var response = cnabImportService.importFile(file.getOriginalFilename(), file.getInputStream());
+            return ResponseEntity.ok(response);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the return file!", ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Return file import tuning.
+ *
+ * @param chunkSize             settlements committed per transaction; also what is kept in memory at a time. Each
+ *                              chunk is settled as one payment batch, so it cannot exceed
+ *                              {@code loan-manager.payment.batch.max-size}
+ * @param maxReportedRejections rejected lines listed in the response; the totals still count every one
+ */
+@Validated
+@ConfigurationProperties(prefix = "loan-manager.cnab")
+public record CnabImportProperties(
+        @DefaultValue("500") @Positive int chunkSize,
+        @DefaultValue("100") @PositiveOrZero int maxReportedRejections
+) {
+}
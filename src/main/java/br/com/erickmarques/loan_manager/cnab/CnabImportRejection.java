@@ -0,0 +1,8 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.util.List;
+
+public record CnabImportRejection(
+        long line,
+        List<String> errors
+) {}
@@ -0,0 +1,17 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record CnabImportResponse(
+        String fileHash,
+        CnabLayout layout,
+        CnabImportStatus status,
+        long lastLine,
+        long accepted,
+        long rejected,
+        boolean resumed,
+        List<CnabImportRejection> rejections
+) {}
@@ -0,0 +1,12 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.io.InputStream;
+
+public interface CnabImportService {
+
+    /**
+     * Imports the settlements of a CNAB 240 or 400 return file. Sending a file again resumes an interrupted import,
+     * or just reports the totals when it already completed.
+     */
+    CnabImportResponse importFile(String fileName, InputStream content);
+}
@@ -0,0 +1,259 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import br.com.erickmarques.loan_manager.payment.LoanLockManager;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchProperties;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchItemStatus;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchService;
+import br.com.erickmarques.loan_manager.payment.PaymentSettlement;
+import br.com.erickmarques.loan_manager.payment.PaymentTransactionRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+@Service
+@Slf4j
+public class CnabImportServiceImpl implements CnabImportService {
+
+    private final CnabImportCheckpointRepository checkpointRepository;
+    private final PaymentBatchService paymentBatchService;
+    private final LoanLockManager loanLockManager;
+    private final PaymentTransactionRunner paymentTransactionRunner;
+    private final CnabImportProperties properties;
+
+    public CnabImportServiceImpl(CnabImportCheckpointRepository checkpointRepository,
+                                 PaymentBatchService paymentBatchService,
+                                 LoanLockManager loanLockManager,
+                                 PaymentTransactionRunner paymentTransactionRunner,
+                                 CnabImportProperties properties,
+                                 PaymentBatchProperties paymentBatchProperties) {
+        // Every chunk is settled as one payment batch, so a larger chunk would fail on every full one.
+        if (properties.chunkSize() > paymentBatchProperties.maxSize()) {
+            throw new IllegalStateException("loan-manager.cnab.chunk-size (" + properties.chunkSize()
+                    + ") must not exceed loan-manager.payment.batch.max-size (" + paymentBatchProperties.maxSize() + ").");
+        }
+
+        this.checkpointRepository = checkpointRepository;
+        this.paymentBatchService = paymentBatchService;
+        this.loanLockManager = loanLockManager;
+        this.paymentTransactionRunner = paymentTransactionRunner;
+        this.properties = properties;
+    }
+
+    @Override
+    public CnabImportResponse importFile(String fileName, InputStream content) {
+        Path file = null;
+
+        try {
+            // Spooled to disk once so the hash is known before the first chunk commits.
+            file = Files.createTempFile("cnab-", ".ret");
+            var fileHash = copyAndHash(content, file);
+
+            try (var reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+                return importLines(fileName, fileHash, reader);
+            }
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the return file!", ex);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private CnabImportResponse importLines(String fileName, String fileHash, BufferedReader reader) throws IOException {
+        var header = reader.readLine();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The return file is empty!");
+        }
+
+        var layout = CnabLayout.fromHeader(header)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported return file: CNAB lines must have 240 or 400 characters!"));
+
+        var existing = checkpointRepository.findById(fileHash);
+        if (existing.isPresent() && existing.get().getStatus() == CnabImportStatus.COMPLETED) {
+            log.info("Return file {} was already imported.", fileHash);
+            return toResponse(existing.get(), false, List.of());
+        }
+
+        var resumed = existing.isPresent();
+        var committedLine = existing.map(CnabImportCheckpoint::getLastLine)
+                .orElseGet(() -> start(fileName, fileHash, layout).getLastLine());
+
+        log.info("Importing {} return file {} from line {}.", layout, fileHash, committedLine + 1);
+
+        var parser = layout.newParser();
+        var records = new ArrayList<CnabRecord>(properties.chunkSize());
+        var parseRejections = new ArrayList<CnabImportRejection>();
+        var report = new ArrayList<CnabImportRejection>();
+        long lineNumber = 0;
+
+        for (var line = header; line != null; line = reader.readLine()) {
+            lineNumber++;
+
+            if (lineNumber <= committedLine) {
+                continue;
+            }
+
+            try {
+                parser.parse(line, lineNumber).ifPresent(records::add);
+            } catch (IllegalArgumentException ex) {
+                parseRejections.add(new CnabImportRejection(lineNumber, List.of(ex.getMessage())));
+            }
+
+            if (records.size() + parseRejections.size() >= properties.chunkSize()) {
+                report(report, commitChunk(fileHash, records, parseRejections, committedLine, lineNumber, false));
+                committedLine = lineNumber;
+                records.clear();
+                parseRejections.clear();
+            }
+        }
+
+        report(report, commitChunk(fileHash, records, parseRejections, committedLine, lineNumber, true));
+
+        var checkpoint = checkpointRepository.findById(fileHash).orElseThrow();
+
+        log.info("Return file {} imported: {} accepted, {} rejected.",
+                fileHash, checkpoint.getAccepted(), checkpoint.getRejected());
+
+        return toResponse(checkpoint, resumed, report);
+    }
+
+    private CnabImportCheckpoint start(String fileName, String fileHash, CnabLayout layout) {
+        try {
+            return checkpointRepository.saveAndFlush(CnabImportCheckpoint.builder()
+                    .fileHash(fileHash)
+                    .fileName(fileName)
+                    .layout(layout)
+                    .status(CnabImportStatus.RUNNING)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            throw alreadyRunning();
+        }
+    }
+
+    private List<CnabImportRejection> commitChunk(String fileHash,
+                                                  List<CnabRecord> records,
+                                                  List<CnabImportRejection> parseRejections,
+                                                  long committedLine,
+                                                  long lastLine,
+                                                  boolean completed) {
+        var decodeRejections = new ArrayList<>(parseRejections);
+        var settlements = new ArrayList<PaymentSettlement>(records.size());
+        var settlementLines = new ArrayList<Long>(records.size());
+
+        for (var record : records) {
+            try {
+                settlements.add(new PaymentSettlement(
+                        CnabLoanReference.decode(record.loanReference()),
+                        record.paymentDate(),
+                        record.amount(),
+                        "CNAB return file line " + record.lineNumber()
+                ));
+                settlementLines.add(record.lineNumber());
+            } catch (IllegalArgumentException ex) {
+                decodeRejections.add(new CnabImportRejection(record.lineNumber(), List.of(ex.getMessage())));
+            }
+        }
+
+        var loanIds = settlements.stream().map(PaymentSettlement::loanId).toList();
+
+        // Stripes are taken outside the chunk transaction so they are released only after it commits.
+        return loanLockManager.withLocks(loanIds, () -> paymentTransactionRunner.execute(() -> {
+            // The row lock keeps a second upload of the same file from committing the same lines.
+            var checkpoint = checkpointRepository.findForUpdate(fileHash).orElseThrow();
+            if (checkpoint.getLastLine() != committedLine) {
+                throw alreadyRunning();
+            }
+
+            // Rebuilt on every attempt: the runner replays this block after a concurrent loan update.
+            var rejections = new ArrayList<>(decodeRejections);
+            long accepted = 0;
+            if (!settlements.isEmpty()) {
+                var result = paymentBatchService.settle(settlements);
+                accepted = result.accepted();
+
+                result.items().stream()
+                        .filter(item -> item.status() == PaymentBatchItemStatus.REJECTED)
+                        .forEach(item -> rejections.add(
+                                new CnabImportRejection(settlementLines.get(item.index()), item.errors())));
+            }
+
+            checkpoint.advance(lastLine, accepted, rejections.size());
+            if (completed) {
+                checkpoint.setStatus(CnabImportStatus.COMPLETED);
+            }
+
+            rejections.sort(Comparator.comparingLong(CnabImportRejection::line));
+            return rejections;
+        }));
+    }
+
+    private void report(List<CnabImportRejection> report, List<CnabImportRejection> rejections) {
+        var room = properties.maxReportedRejections() - report.size();
+
+        if (room > 0) {
+            report.addAll(rejections.subList(0, Math.min(room, rejections.size())));
+        }
+    }
+
+    private CnabImportResponse toResponse(CnabImportCheckpoint checkpoint, boolean resumed,
+                                          List<CnabImportRejection> rejections) {
+        return CnabImportResponse.builder()
+                .fileHash(checkpoint.getFileHash())
+                .layout(checkpoint.getLayout())
+                .status(checkpoint.getStatus())
+                .lastLine(checkpoint.getLastLine())
+                .accepted(checkpoint.getAccepted())
+                .rejected(checkpoint.getRejected())
+                .resumed(resumed)
+                .rejections(rejections)
+                .build();
+    }
+
+    private static ResponseStatusException alreadyRunning() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "This return file is already being imported!");
+    }
+
+    private static String copyAndHash(InputStream content, Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+
+        try (var input = new DigestInputStream(content, digest)) {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete temporary return file {}.", file, ex);
+        }
+    }
+}
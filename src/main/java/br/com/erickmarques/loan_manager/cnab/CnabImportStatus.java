@@ -0,0 +1,6 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+public enum CnabImportStatus {
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,32 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public enum CnabLayout {
+
+    CNAB_240(240, Cnab240LineParser::new),
+    CNAB_400(400, Cnab400LineParser::new);
+
+    private final int lineLength;
+    private final Supplier<CnabLineParser> parserFactory;
+
+    CnabLayout(int lineLength, Supplier<CnabLineParser> parserFactory) {
+        this.lineLength = lineLength;
+        this.parserFactory = parserFactory;
+    }
+
+    public CnabLineParser newParser() {
+        return parserFactory.get();
+    }
+
+    /**
+     * Detects the layout from the length of the file header line.
+     */
+    public static Optional<CnabLayout> fromHeader(String header) {
+        return Arrays.stream(values())
+                .filter(layout -> layout.lineLength == header.length())
+                .findFirst();
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.util.Optional;
+
+/**
+ * Turns the lines of one return file into settled titles. Implementations may keep state between lines, so a new
+ * parser is used for each file.
+ */
+public interface CnabLineParser {
+
+    /**
+     * Returns the title completed by this line, or empty for headers, trailers, non-settlement occurrences and lines
+     * that only start a title.
+     *
+     * @throws IllegalArgumentException when a settlement line is malformed
+     */
+    Optional<CnabRecord> parse(String line, long lineNumber);
+}
@@ -0,0 +1,57 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Loan id as written in the 25-character "uso da empresa" field of CNAB files: the 128 bits of the UUID in base 36,
+ * left-padded with zeros.
+ */
+public final class CnabLoanReference {
+
+    public static final int LENGTH = 25;
+
+    private static final int RADIX = 36;
+
+    private CnabLoanReference() {
+    }
+
+    public static String encode(UUID loanId) {
+        var bytes = ByteBuffer.allocate(16)
+                .putLong(loanId.getMostSignificantBits())
+                .putLong(loanId.getLeastSignificantBits())
+                .array();
+        var encoded = new BigInteger(1, bytes).toString(RADIX).toUpperCase();
+
+        return "0".repeat(LENGTH - encoded.length()) + encoded;
+    }
+
+    public static UUID decode(String reference) {
+        var trimmed = reference.trim();
+
+        if (trimmed.isEmpty() || trimmed.length() > LENGTH) {
+            throw new IllegalArgumentException("Invalid loan reference '" + reference + "'.");
+        }
+
+        BigInteger value;
+        try {
+            value = new BigInteger(trimmed, RADIX);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid loan reference '" + reference + "'.", ex);
+        }
+
+        if (value.signum() < 0 || value.bitLength() > 128) {
+            throw new IllegalArgumentException("Invalid loan reference '" + reference + "'.");
+        }
+
+        var buffer = ByteBuffer.allocate(16);
+        var bytes = value.toByteArray();
+        var length = Math.min(bytes.length, 16);
+        buffer.position(16 - length);
+        buffer.put(bytes, bytes.length - length, length);
+        buffer.flip();
+
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A settled title read from a CNAB return file; {@code lineNumber} is where the title starts in the file.
+ */
+public record CnabRecord(
+        long lineNumber,
+        String loanReference,
+        LocalDate paymentDate,
+        BigDecimal amount
+) {}
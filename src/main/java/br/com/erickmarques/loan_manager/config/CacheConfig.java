@@ -0,0 +1,37 @@
+package br.com.erickmarques.loan_manager.config;
+
+import br.com.erickmarques.loan_manager.cache.ReadCacheProperties;
+import br.com.erickmarques.loan_manager.cache.ReadCaches;
+import br.com.erickmarques.loan_manager.report.AgingReportProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read caches use Boot's cache auto-configuration, so {@code spring.cache.type} still picks the provider
+ * ({@code none} turns them off). The Caffeine caches are created up front so their metrics are registered at startup.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> readCacheCustomizer(ReadCacheProperties properties,
+                                                                           AgingReportProperties agingReportProperties) {
+        return cacheManager -> {
+            cacheManager.setCaffeine(Caffeine.newBuilder()
+                    .maximumSize(properties.maximumSize())
+                    .expireAfterWrite(properties.timeToLive())
+                    .recordStats());
+            cacheManager.setCacheNames(ReadCaches.ALL);
+            // A handful of keys at most (one per as-of date), but a lifetime of its own.
+            cacheManager.registerCustomCache(ReadCaches.AGING_REPORT, Caffeine.newBuilder()
+                    .expireAfterWrite(agingReportProperties.timeToLive())
+                    .recordStats()
+                    .build());
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.erickmarques.loan_manager.config;
+
+import br.com.erickmarques.loan_manager.observability.SqlProperties;
+import br.com.erickmarques.loan_manager.observability.SqlStatistics;
+import br.com.erickmarques.loan_manager.observability.SqlTrackingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wraps the pool rather than replacing it, so Hikari stays the bean Boot configures and binds metrics to.
+     * Collaborators are looked up lazily: a post-processor's own dependencies would skip post-processing.
+     */
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSource(ObjectProvider<SqlStatistics> statistics,
+                                                          ObjectProvider<SqlProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlTrackingDataSource)) {
+                    return new SqlTrackingDataSource(dataSource, statistics.getObject(),
+                            properties.getObject().slowThreshold());
+                }
+                return bean;
+            }
+        };
+    }
+}
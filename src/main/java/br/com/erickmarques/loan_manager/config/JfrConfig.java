@@ -0,0 +1,28 @@
+package br.com.erickmarques.loan_manager.config;
+
+import br.com.erickmarques.loan_manager.observability.RepositoryCallJfrInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class JfrConfig {
+
+    /**
+     * Repository factory beans are customized before they build their proxy, hence a post-processor rather than
+     * an aspect on every repository bean.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryCallJfrEvents() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    RepositoryCallJfrInterceptor.install(factoryBean);
+                }
+                return bean;
+            }
+        };
+    }
+}
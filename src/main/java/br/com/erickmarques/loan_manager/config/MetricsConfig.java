@@ -0,0 +1,32 @@
+package br.com.erickmarques.loan_manager.config;
+
+import br.com.erickmarques.loan_manager.observability.RequestStatementCounter;
+import br.com.erickmarques.loan_manager.observability.StatementCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request and query metrics on top of what Actuator binds by itself ({@code http.server.requests}, Hikari pool,
+ * Hibernate statistics); histograms are switched on in {@code management.metrics.distribution}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry));
+        // Inside the observation filter, so both see the same request; the handler pattern is set further down.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.erickmarques.loan_manager.customer;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -10,11 +11,13 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -27,8 +30,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@EqualsAndHashCode
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Customer.CACHE_REGION)
 public class Customer {
+
+    public static final String CACHE_REGION = "customer-entities";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", nullable = false, updatable = false, columnDefinition = "uuid")
@@ -43,6 +50,18 @@ public class Customer {
     @Column(name = "notes", length = 4000)
     private String notes;
 
+    // Written only by CustomerLoanCounterService through delta updates, so saving a customer never overwrites a
+    // concurrent change to its loans.
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "open_loans", nullable = false, insertable = false, updatable = false)
+    private Long openLoans = 0L;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "closed_loans", nullable = false, insertable = false, updatable = false)
+    private Long closedLoans = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -60,4 +79,22 @@ public class Customer {
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * Identity is the id alone, as for {@link br.com.erickmarques.loan_manager.loan.Loan}: the counters and timestamps
+     * change under a cached instance, and a customer keeps its hash once persisted.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        return other instanceof Customer customer && id != null && id.equals(customer.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Customer.class.hashCode();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import java.util.UUID;
+
+/**
+ * Published when a customer row changes, including its loan counters.
+ *
+ * @param nameChanged whether loans showing the customer name are stale as well
+ */
+public record CustomerChangedEvent(
+        UUID customerId,
+        boolean nameChanged
+) {}
@@ -0,0 +1,15 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Reconciliation of the denormalized customer loan counters.
+ *
+ * @param reconcileChunkSize customers locked and recounted per transaction
+ */
+@ConfigurationProperties(prefix = "loan-manager.customer.loan-counters")
+public record CustomerLoanCounterProperties(
+        @DefaultValue("500") int reconcileChunkSize
+) {
+}
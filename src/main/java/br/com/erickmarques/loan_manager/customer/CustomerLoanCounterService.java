@@ -0,0 +1,26 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+
+import java.util.UUID;
+
+/**
+ * Keeps {@code customers.open_loans} and {@code customers.closed_loans} in step with the loans table. Overdue loans
+ * count as open, so marking them overdue leaves the counters alone. The incremental methods must run inside the
+ * transaction that changes the loan.
+ */
+public interface CustomerLoanCounterService {
+
+    void loanAdded(UUID customerId, LoanStatus status);
+
+    void loanRemoved(UUID customerId, LoanStatus status);
+
+    void loanClosed(UUID customerId);
+
+    /**
+     * Recounts every customer's loans and fixes the counters that drifted.
+     *
+     * @return number of customers whose counters were corrected
+     */
+    long reconcile();
+}
@@ -0,0 +1,136 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class CustomerLoanCounterServiceImpl implements CustomerLoanCounterService {
+
+    private static final CustomerLoanCounts NO_LOANS = new CustomerLoanCounts(null, 0L, 0L);
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerLoanCounterProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter corrected;
+
+    public CustomerLoanCounterServiceImpl(CustomerRepository customerRepository,
+                                          TransactionTemplate transactionTemplate,
+                                          CustomerLoanCounterProperties properties,
+                                          ApplicationEventPublisher eventPublisher,
+                                          MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.corrected = Counter.builder("customers.loan.counters.corrected")
+                .description("Customers whose loan counters were fixed by reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanAdded(UUID customerId, LoanStatus status) {
+        adjust(customerId, status, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanRemoved(UUID customerId, LoanStatus status) {
+        adjust(customerId, status, -1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanClosed(UUID customerId) {
+        customerRepository.adjustLoanCounters(customerId, -1, 1);
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, false));
+    }
+
+    @Override
+    @Scheduled(cron = "${loan-manager.customer.loan-counters.reconcile-cron:0 0 3 * * *}")
+    public long reconcile() {
+        long fixed = 0;
+        UUID after = null;
+
+        while (true) {
+            var chunk = reconcileChunk(after);
+            if (chunk == null) {
+                break;
+            }
+
+            fixed += chunk.fixed();
+            after = chunk.lastId();
+        }
+
+        corrected.increment(fixed);
+        log.info("[CUSTOMER] Loan counter reconciliation fixed {} customers.", fixed);
+
+        return fixed;
+    }
+
+    /**
+     * Locks a page of customers before counting, so a loan change either committed before the count (and is seen by
+     * it) or waits and applies its delta on top of the recount.
+     */
+    private Chunk reconcileChunk(UUID after) {
+        return transactionTemplate.execute(status -> {
+            var page = PageRequest.ofSize(properties.reconcileChunkSize());
+            var customers = after == null
+                    ? customerRepository.lockFirstPage(page)
+                    : customerRepository.lockPageAfter(after, page);
+            if (customers.isEmpty()) {
+                return null;
+            }
+
+            var counts = customerRepository.countLoansByCustomers(customers.stream().map(Customer::getId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(CustomerLoanCounts::customerId, Function.identity()));
+
+            long fixed = 0;
+            for (var customer : customers) {
+                var actual = counts.getOrDefault(customer.getId(), NO_LOANS);
+
+                if (!actual.openLoans().equals(customer.getOpenLoans())
+                        || !actual.closedLoans().equals(customer.getClosedLoans())) {
+                    log.warn("[CUSTOMER] Loan counters of customer {} drifted: stored {}/{}, actual {}/{}.",
+                            customer.getId(), customer.getOpenLoans(), customer.getClosedLoans(),
+                            actual.openLoans(), actual.closedLoans());
+
+                    customerRepository.setLoanCounters(customer.getId(), actual.openLoans(), actual.closedLoans());
+                    eventPublisher.publishEvent(new CustomerChangedEvent(customer.getId(), false));
+                    fixed++;
+                }
+            }
+
+            return new Chunk(customers.get(customers.size() - 1).getId(), fixed);
+        });
+    }
+
+    private void adjust(UUID customerId, LoanStatus status, int delta) {
+        if (status == LoanStatus.CLOSED) {
+            customerRepository.adjustLoanCounters(customerId, 0, delta);
+        } else {
+            customerRepository.adjustLoanCounters(customerId, delta, 0);
+        }
+
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, false));
+    }
+
+    private record Chunk(UUID lastId, long fixed) {
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import java.util.UUID;
+
+public record CustomerLoanCounts(
+        UUID customerId,
+        Long openLoans,
+        Long closedLoans
+) {}
@@ -2,9 +2,7 @@ package br.com.erickmarques.loan_manager.customer;
 
 public interface CustomerMapper {
 
-    CustomerResponse toResponse(Customer customer,
-                                Long openLoans,
-                                Long closedLoans);
+    CustomerResponse toResponse(Customer customer);
 
     Customer toEntity(CustomerRequest request);
 
@@ -8,16 +8,14 @@ import org.springframework.stereotype.Component;
 public class CustomerMapperImpl implements CustomerMapper {
 
     @Override
-    public CustomerResponse toResponse(Customer customer,
-                                       Long openLoans,
-                                       Long closedLoans) {
+    public CustomerResponse toResponse(Customer customer) {
         return CustomerResponse.builder()
                 .id(customer.getId())
                 .name(customer.getName())
                 .phone(customer.getPhone())
                 .notes(customer.getNotes())
-                .quantityOpenLoans(openLoans)
-                .quantityClosedLoans(closedLoans)
+                .quantityOpenLoans(customer.getOpenLoans())
+                .quantityClosedLoans(customer.getClosedLoans())
                 .createdAt(customer.getCreatedAt())
                 .updatedAt(customer.getUpdatedAt())
                 .build();
@@ -1,12 +1,77 @@
 package br.com.erickmarques.loan_manager.customer;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
-    List<Customer> findAllByOrderByNameAsc();
+
+    @Modifying
+    @Query("""
+        UPDATE Customer c
+        SET c.openLoans = c.openLoans + :openDelta,
+            c.closedLoans = c.closedLoans + :closedDelta
+        WHERE c.id = :id
+    """)
+    int adjustLoanCounters(@Param("id") UUID id,
+                           @Param("openDelta") long openDelta,
+                           @Param("closedDelta") long closedDelta);
+
+    @Modifying
+    @Query("""
+        UPDATE Customer c
+        SET c.openLoans = :openLoans,
+            c.closedLoans = :closedLoans
+        WHERE c.id = :id
+    """)
+    int setLoanCounters(@Param("id") UUID id,
+                        @Param("openLoans") long openLoans,
+                        @Param("closedLoans") long closedLoans);
+
+    @Query("""
+        SELECT new br.com.erickmarques.loan_manager.customer.CustomerResponse(
+            c.id, c.name, c.phone, c.notes, c.openLoans, c.closedLoans, c.createdAt, c.updatedAt)
+        FROM Customer c
+        ORDER BY c.name ASC
+    """)
+    List<CustomerResponse> findAllResponses();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT c
+        FROM Customer c
+        ORDER BY c.id ASC
+    """)
+    List<Customer> lockFirstPage(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT c
+        FROM Customer c
+        WHERE c.id > :id
+        ORDER BY c.id ASC
+    """)
+    List<Customer> lockPageAfter(@Param("id") UUID id, Pageable pageable);
+
+    @Query("""
+        SELECT new br.com.erickmarques.loan_manager.customer.CustomerLoanCounts(
+            l.customer.id,
+            SUM(CASE WHEN l.status <> br.com.erickmarques.loan_manager.loan.LoanStatus.CLOSED THEN 1 ELSE 0 END),
+            SUM(CASE WHEN l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.CLOSED THEN 1 ELSE 0 END)
+        )
+        FROM Loan l
+        WHERE l.customer.id IN :customerIds
+        GROUP BY l.customer.id
+    """)
+    List<CustomerLoanCounts> countLoansByCustomers(@Param("customerIds") Collection<UUID> customerIds);
 }
@@ -1,12 +1,15 @@
 package br.com.erickmarques.loan_manager.customer;
 
-import br.com.erickmarques.loan_manager.loan.LoanRepository;
-import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import br.com.erickmarques.loan_manager.cache.ReadCaches;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -16,7 +19,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
-    private final LoanRepository loanRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CustomerResponse create(CustomerRequest request) {
@@ -27,9 +30,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         log.info("Registered customer with ID {}.", customer.getId());
 
-        var summary = loanRepository.countLoansByCustomer(customer.getId());
-
-        return customerMapper.toResponse(customer, summary.openLoans(), summary.closedLoans());
+        return customerMapper.toResponse(customer);
     }
 
     @Override
@@ -40,42 +41,29 @@ public class CustomerServiceImpl implements CustomerService {
 
         var updated = customerMapper.updateEntity(existing, request);
         customerRepository.save(updated);
+        eventPublisher.publishEvent(new CustomerChangedEvent(id, !Objects.equals(existing.getName(), updated.getName())));
 
         log.info("Updated customer with ID {}.", existing.getId());
 
-        var summary = loanRepository.countLoansByCustomer(updated.getId());
-
-        return customerMapper.toResponse(updated, summary.openLoans(), summary.closedLoans());
+        return customerMapper.toResponse(updated);
     }
 
     @Override
+    @Cacheable(cacheNames = ReadCaches.CUSTOMERS, key = "#id", sync = true)
     public CustomerResponse findById(UUID id) {
         log.info("Finding customer by ID {}.", id);
 
         var customer = findCustomerById(id);
 
-        var summary = loanRepository.countLoansByCustomer(customer.getId());
-
-        return customerMapper.toResponse(customer, summary.openLoans(), summary.closedLoans());
+        return customerMapper.toResponse(customer);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerResponse> findAll() {
         log.info("Finding all customers.");
 
-        var customers = customerRepository.findAllByOrderByNameAsc();
-
-        return customers.stream()
-                .map(customer -> {
-                    var summary = loanRepository.countLoansByCustomer(customer.getId());
-
-                    return customerMapper.toResponse(
-                            customer,
-                            summary.openLoans(),
-                            summary.closedLoans()
-                    );
-                })
-                .toList();
+        return customerRepository.findAllResponses();
     }
 
     @Override
@@ -87,6 +75,7 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         customerRepository.deleteById(id);
+        eventPublisher.publishEvent(new CustomerChangedEvent(id, false));
 
         log.info("Customer was deleted.");
     }
@@ -0,0 +1,13 @@
+package br.com.erickmarques.loan_manager.export;
+
+import java.util.function.Function;
+
+/**
+ * One CSV column: its header and how to read it from a row. {@code null} values are written as empty cells.
+ */
+public record CsvColumn<T>(String header, Function<T, ?> value) {
+
+    public static <T> CsvColumn<T> of(String header, Function<T, ?> value) {
+        return new CsvColumn<>(header, value);
+    }
+}
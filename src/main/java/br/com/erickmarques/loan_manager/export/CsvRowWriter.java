@@ -0,0 +1,62 @@
+package br.com.erickmarques.loan_manager.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header line. Cells holding a separator, quote or line break are quoted.
+ */
+class CsvRowWriter<T> implements RowWriter<T> {
+
+    private final Writer writer;
+    private final List<CsvColumn<T>> columns;
+
+    CsvRowWriter(OutputStream out, List<CsvColumn<T>> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.columns = columns;
+
+        writeLine(columns.stream().map(CsvColumn::header).toList());
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        writeLine(columns.stream()
+                .map(column -> column.value().apply(row))
+                .map(value -> value == null ? "" : value.toString())
+                .toList());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Flush only: the response stream belongs to the container.
+        writer.flush();
+    }
+
+    private void writeLine(List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(cells.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escape(String cell) {
+        if (cell.indexOf(',') < 0 && cell.indexOf('"') < 0 && cell.indexOf('\n') < 0 && cell.indexOf('\r') < 0) {
+            return cell;
+        }
+
+        return '"' + cell.replace("\"", "\"\"") + '"';
+    }
+}
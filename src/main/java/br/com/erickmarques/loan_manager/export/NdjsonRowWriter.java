@@ -0,0 +1,41 @@
+package br.com.erickmarques.loan_manager.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, serialized with the application's {@link ObjectMapper}, so rows look exactly like
+ * the regular endpoints' responses.
+ */
+class NdjsonRowWriter<T> implements RowWriter<T> {
+
+    private final SequenceWriter sequence;
+
+    NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper, Class<T> rowType) throws IOException {
+        sequence = objectMapper.writerFor(rowType)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out);
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        sequence.write(row);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        sequence.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        sequence.close();
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.erickmarques.loan_manager.export;
+
+import java.io.IOException;
+
+/**
+ * Writes rows one at a time, buffering until {@link #flush()}. Closing flushes but leaves the response stream open.
+ */
+interface RowWriter<T> extends AutoCloseable {
+
+    void write(T row) throws IOException;
+
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,82 @@
+package br.com.erickmarques.loan_manager.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Copies a forward-only entity stream to a response in constant memory. Rows are read {@link #FETCH_SIZE} at a
+ * time, written as they arrive, and every chunk the persistence context is cleared and the output flushed, so
+ * neither the session nor the response buffer grows with the export and the client gets bytes after the first
+ * chunk.
+ */
+@Component
+@Slf4j
+public class StreamingExporter {
+
+    /**
+     * JDBC fetch size for export queries; also the flush interval.
+     */
+    public static final String FETCH_SIZE = "500";
+
+    private static final int CHUNK_SIZE = Integer.parseInt(FETCH_SIZE);
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StreamingExporter(EntityManager entityManager, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param source  opens the entity stream; called inside the read-only transaction that keeps it open
+     * @param mapper  entity to exported row, applied while the entity is still attached
+     * @param columns CSV layout; ignored for NDJSON
+     */
+    public <E, R> void export(OutputStream out, ExportFormat format, Class<R> rowType, List<CsvColumn<R>> columns,
+                              Supplier<Stream<E>> source, Function<E, R> mapper) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var rows = source.get(); var writer = open(out, format, rowType, columns)) {
+                var count = 0L;
+
+                for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+                    writer.write(mapper.apply(iterator.next()));
+
+                    if (++count % CHUNK_SIZE == 0) {
+                        writer.flush();
+                        entityManager.clear();
+                    }
+                }
+
+                log.info("Exported {} {} rows as {}.", count, rowType.getSimpleName(), format);
+            } catch (IOException ex) {
+                // Usually the client went away; the transaction is read-only, so rolling back loses nothing.
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private <R> RowWriter<R> open(OutputStream out, ExportFormat format, Class<R> rowType,
+                                  List<CsvColumn<R>> columns) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter<>(out, objectMapper, rowType);
+            case CSV -> new CsvRowWriter<>(out, columns);
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.erickmarques.loan_manager.lease;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database leases that keep a scheduled job on one node at a time. A lease expires on its own, so a node that dies
+ * mid-run only delays the job until then; a node that stalls past its lease finds out at the next {@link #renew}
+ * and stops before committing anything else.
+ */
+@Component
+@Slf4j
+public class JobLeaseManager {
+
+    private final JobLeaseRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public JobLeaseManager(JobLeaseRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        // pid@host names the node in the table; the suffix tells apart restarts that reuse the pid.
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * @return the lease with the job's high-water mark, or empty when another node holds it
+     */
+    public Optional<Lease> tryAcquire(String name, Duration duration) {
+        var lease = transactionTemplate.execute(status -> {
+            var now = LocalDateTime.now();
+            if (repository.acquire(name, owner, now, now.plus(duration)) == 0) {
+                return null;
+            }
+
+            return repository.findById(name)
+                    .map(stored -> new Lease(name, owner, duration, stored.getHighWaterMark()))
+                    .orElse(null);
+        });
+
+        if (lease == null && !repository.existsById(name)) {
+            lease = insert(name, duration);
+        }
+
+        if (lease == null) {
+            log.info("[LEASE] Job {} is leased by another node.", name);
+        }
+
+        return Optional.ofNullable(lease);
+    }
+
+    /**
+     * Extends the lease inside the caller's transaction, so the work committed with it is fenced: once the lease
+     * expired, this returns {@code false} and the caller must roll back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean renew(Lease lease) {
+        var now = LocalDateTime.now();
+        return repository.renew(lease.name(), lease.owner(), now, now.plus(lease.duration())) == 1;
+    }
+
+    /**
+     * Records how far the job got, inside the transaction of its last piece of work.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean advance(Lease lease, LocalDate highWaterMark) {
+        return repository.advance(lease.name(), lease.owner(), LocalDateTime.now(), highWaterMark) == 1;
+    }
+
+    public void release(Lease lease) {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.release(lease.name(), lease.owner(), LocalDateTime.now()));
+    }
+
+    private Lease insert(String name, Duration duration) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAndFlush(JobLease.builder()
+                    .name(name)
+                    .owner(owner)
+                    .leasedUntil(LocalDateTime.now().plus(duration))
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+
+            return new Lease(name, owner, duration, null);
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created the lease first and holds it.
+            return null;
+        }
+    }
+
+    public record Lease(
+            String name,
+            String owner,
+            Duration duration,
+            LocalDate highWaterMark
+    ) {
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.erickmarques.loan_manager.lease;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease when it expired or already belongs to {@code owner}.
+     */
+    @Modifying
+    @Query("""
+        UPDATE JobLease l
+        SET l.owner = :owner, l.leasedUntil = :until, l.updatedAt = :now
+        WHERE l.name = :name
+          AND (l.leasedUntil < :now OR l.owner = :owner)
+    """)
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    /**
+     * Extends a lease that is still held; no row is touched once it expired, even if nobody took it over yet.
+     */
+    @Modifying
+    @Query("""
+        UPDATE JobLease l
+        SET l.leasedUntil = :until, l.updatedAt = :now
+        WHERE l.name = :name
+          AND l.owner = :owner
+          AND l.leasedUntil >= :now
+    """)
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("""
+        UPDATE JobLease l
+        SET l.highWaterMark = :highWaterMark, l.updatedAt = :now
+        WHERE l.name = :name
+          AND l.owner = :owner
+          AND l.leasedUntil >= :now
+    """)
+    int advance(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("highWaterMark") LocalDate highWaterMark);
+
+    @Modifying
+    @Query("""
+        UPDATE JobLease l
+        SET l.leasedUntil = :now, l.updatedAt = :now
+        WHERE l.name = :name
+          AND l.owner = :owner
+    """)
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+}
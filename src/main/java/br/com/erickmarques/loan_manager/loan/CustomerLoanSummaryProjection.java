@@ -1,8 +0,0 @@
-package br.com.erickmarques.loan_manager.loan;
-
-
-public record CustomerLoanSummaryProjection(
-        Long openLoans,
-        Long closedLoans
-) {}
-
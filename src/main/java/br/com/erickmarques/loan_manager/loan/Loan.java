@@ -1,6 +1,7 @@
 package br.com.erickmarques.loan_manager.loan;
 
 import br.com.erickmarques.loan_manager.customer.Customer;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -14,13 +15,15 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -35,9 +38,13 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString(exclude = "customer")
-@EqualsAndHashCode
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Loan.CACHE_REGION)
 public class Loan {
 
+    public static final String CACHE_REGION = "loan-entities";
+    public static final String BY_CUSTOMER_QUERY_REGION = "loans-by-customer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", nullable = false, updatable = false, columnDefinition = "uuid")
@@ -78,6 +85,10 @@ public class Loan {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         LocalDateTime now = LocalDateTime.now();
@@ -89,4 +100,22 @@ public class Loan {
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * Identity is the id alone, so comparing loans never touches the lazy customer and a loan keeps its hash
+     * once persisted. Proxies are subclasses, hence {@code instanceof}.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        return other instanceof Loan loan && id != null && id.equals(loan.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Loan.class.hashCode();
+    }
 }
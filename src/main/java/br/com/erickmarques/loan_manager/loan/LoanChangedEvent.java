@@ -0,0 +1,10 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import java.util.UUID;
+
+/**
+ * Published when a loan row is updated or deleted.
+ */
+public record LoanChangedEvent(
+        UUID loanId
+) {}
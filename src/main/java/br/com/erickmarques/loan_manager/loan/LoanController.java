@@ -1,13 +1,18 @@
 package br.com.erickmarques.loan_manager.loan;
 
 import br.com.erickmarques.loan_manager.exception.ApiErrors;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -18,7 +23,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -90,16 +97,43 @@ public class LoanController {
     }
 
     @Operation(
-            summary = "List all loans",
-            description = "Returns an ordered list of all loans.",
+            summary = "List loans page by page",
+            description = "Returns a page of loans ordered by payment date. "
+                    + "Pass the returned nextCursor to fetch the following page.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "List returned successfully")
+                    @ApiResponse(responseCode = "200", description = "Page returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page cursor",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class)))
             }
     )
     @GetMapping
-    public ResponseEntity<List<LoanResponse>> findAll() {
-        var loans = loanService.findAll();
-        return ResponseEntity.ok(loans);
+    public ResponseEntity<CursorPage<LoanResponse>> findPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        var page = loanService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Search loans page by page",
+            description = "Returns a page of loans matching every given filter, ordered by payment date. "
+                    + "Ranges are inclusive and may be open on either side. "
+                    + "Pass the returned nextCursor, with the same filters, to fetch the following page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter, range or page cursor",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class)))
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<LoanResponse>> search(
+            @ParameterObject LoanSearchFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        var page = loanService.search(filter, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @Operation(
@@ -115,6 +149,28 @@ public class LoanController {
         return ResponseEntity.ok(loans);
     }
 
+    @Operation(
+            summary = "Export all loans",
+            description = "Streams every loan as NDJSON (one JSON object per line) or CSV. "
+                    + "Rows are sent as they are read, so large exports start at once and use constant memory.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed"),
+                    @ApiResponse(responseCode = "400", description = "Unknown export format")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> loanService.export(format, out);
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName("loans"))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @Operation(
             summary = "Delete a loan",
             description = "Deletes a loan using the provided ID.",
@@ -1,27 +1,137 @@
 package br.com.erickmarques.loan_manager.loan;
 
+import br.com.erickmarques.loan_manager.export.StreamingExporter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface LoanRepository extends JpaRepository<Loan, UUID> {
+public interface LoanRepository extends JpaRepository<Loan, UUID>, LoanSearchRepository {
 
-    List<Loan> findAllByCustomerIdOrderByPaymentDateAsc(UUID customerId);
-    List<Loan> findAllByOrderByPaymentDateAsc();
+    @Override
+    @EntityGraph(attributePaths = "customer")
+    Optional<Loan> findById(UUID id);
 
+    /**
+     * Rows of the list endpoints, projected straight into {@link LoanResponse}: no managed entities, no dirty-checking
+     * snapshots and no second-level cache puts for data that is only serialized.
+     */
+    String RESPONSE_PROJECTION = """
+        SELECT new br.com.erickmarques.loan_manager.loan.LoanResponse(
+            l.id, l.loanDate, l.paymentDate, l.amount, l.percentage, l.totalAmountToPay,
+            l.negotiation, l.notes, l.status, c.name, l.createdAt, l.updatedAt)
+        FROM Loan l
+        JOIN l.customer c
+    """;
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE c.id = :customerId
+        ORDER BY l.paymentDate ASC
+    """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Loan.BY_CUSTOMER_QUERY_REGION)
+    })
+    List<LoanResponse> findAllByCustomerIdOrderByPaymentDateAsc(@Param("customerId") UUID customerId);
+
+    @Query(RESPONSE_PROJECTION + """
+        ORDER BY l.paymentDate ASC NULLS LAST, l.id ASC
+    """)
+    List<LoanResponse> findFirstPage(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE l.paymentDate >= :paymentDate
+          AND (l.paymentDate > :paymentDate OR l.id > :id)
+        ORDER BY l.paymentDate ASC, l.id ASC
+    """)
+    List<LoanResponse> findPageAfter(@Param("paymentDate") LocalDate paymentDate,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE l.paymentDate IS NULL
+        ORDER BY l.id ASC
+    """)
+    List<LoanResponse> findUndatedFirstPage(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE l.paymentDate IS NULL
+          AND l.id > :id
+        ORDER BY l.id ASC
+    """)
+    List<LoanResponse> findUndatedPageAfter(@Param("id") UUID id, Pageable pageable);
 
+    /**
+     * Open loans already past due, oldest first. The status is a literal rather than a parameter so PostgreSQL can
+     * plan it on the partial index {@code idx_loans_open_payment_date}; the ones marked by the previous chunk drop
+     * out of it, so every chunk reads the head of the index again.
+     */
+    @Query("""
+        SELECT l.id
+        FROM Loan l
+        WHERE l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.OPEN
+          AND l.paymentDate < :today
+        ORDER BY l.paymentDate ASC, l.id ASC
+    """)
+    List<UUID> findOpenDueBefore(@Param("today") LocalDate today, Pageable pageable);
 
+    /**
+     * Same as {@link #findOpenDueBefore}, limited to the due dates that passed since {@code from}.
+     */
     @Query("""
-        SELECT new br.com.erickmarques.loan_manager.loan.CustomerLoanSummaryProjection(
-            SUM(CASE WHEN l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.OPEN THEN 1 ELSE 0 END),
-            SUM(CASE WHEN l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.CLOSED THEN 1 ELSE 0 END)
-        )
+        SELECT l.id
         FROM Loan l
-        WHERE l.customer.id = :customerId
+        WHERE l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.OPEN
+          AND l.paymentDate >= :from
+          AND l.paymentDate < :today
+        ORDER BY l.paymentDate ASC, l.id ASC
+    """)
+    List<UUID> findOpenDueBetween(@Param("from") LocalDate from,
+                                  @Param("today") LocalDate today,
+                                  Pageable pageable);
+
+    /**
+     * Marks the given loans overdue in one statement. Bumps the version, so a payment that read one of them before
+     * fails its optimistic check instead of writing the old status back, and skips loans closed in the meantime.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Loan l
+        SET l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.OVERDUE,
+            l.version = l.version + 1,
+            l.updatedAt = :now
+        WHERE l.id IN :ids
+          AND l.status = br.com.erickmarques.loan_manager.loan.LoanStatus.OPEN
     """)
-    CustomerLoanSummaryProjection countLoansByCustomer(@Param("customerId") UUID customerId);
+    int markOverdue(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
 
+    /**
+     * Forward-only read of every loan for exports; read-only and bypassing the second-level cache, so streamed
+     * rows leave nothing behind but what the caller keeps.
+     */
+    @Query("""
+        SELECT l
+        FROM Loan l
+        JOIN FETCH l.customer
+        ORDER BY l.id ASC
+    """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Loan> streamAll();
 }
@@ -0,0 +1,45 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import lombok.Builder;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Optional, combinable filters of GET /api/v1/loans/search. Every bound is inclusive; a missing field does not
+ * restrict the result.
+ */
+@Builder
+public record LoanSearchFilter(
+        LoanStatus status,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate paymentDateFrom,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate paymentDateTo,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate loanDateFrom,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate loanDateTo,
+
+        BigDecimal minAmount,
+
+        BigDecimal maxAmount,
+
+        Boolean negotiation,
+
+        UUID customerId
+) {
+
+    /**
+     * Loans without a payment date can never match a payment date range, so the search skips them entirely.
+     */
+    public boolean restrictsPaymentDate() {
+        return paymentDateFrom != null || paymentDateTo != null;
+    }
+}
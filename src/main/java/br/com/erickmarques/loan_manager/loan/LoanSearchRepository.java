@@ -0,0 +1,14 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface LoanSearchRepository {
+
+    /**
+     * Loans matching {@code specification}, projected into {@link LoanResponse} like the other list queries.
+     */
+    List<LoanResponse> findResponses(Specification<Loan> specification, Sort sort, int limit);
+}
@@ -0,0 +1,47 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class LoanSearchRepositoryImpl implements LoanSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<LoanResponse> findResponses(Specification<Loan> specification, Sort sort, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(LoanResponse.class);
+        var loan = query.from(Loan.class);
+        var customer = loan.join("customer");
+
+        query.select(cb.construct(LoanResponse.class,
+                loan.get("id"),
+                loan.get("loanDate"),
+                loan.get("paymentDate"),
+                loan.get("amount"),
+                loan.get("percentage"),
+                loan.get("totalAmountToPay"),
+                loan.get("negotiation"),
+                loan.get("notes"),
+                loan.get("status"),
+                customer.get("name"),
+                loan.get("createdAt"),
+                loan.get("updatedAt")));
+
+        var predicate = specification.toPredicate(loan, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, loan, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,5 +1,9 @@
 package br.com.erickmarques.loan_manager.loan;
 
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
+
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,9 +15,13 @@ public interface LoanService {
 
     LoanResponse findById(UUID id);
 
-    List<LoanResponse> findAll();
+    CursorPage<LoanResponse> findPage(String cursor, Integer size);
+
+    CursorPage<LoanResponse> search(LoanSearchFilter filter, String cursor, Integer size);
 
     List<LoanResponse> findAllByCustomerId(UUID customerId);
 
+    void export(ExportFormat format, OutputStream out);
+
     void deleteById(UUID id);
 }
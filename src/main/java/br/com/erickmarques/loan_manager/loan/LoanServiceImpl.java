@@ -1,27 +1,64 @@
 package br.com.erickmarques.loan_manager.loan;
 
+import br.com.erickmarques.loan_manager.cache.ReadCaches;
 import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.customer.CustomerLoanCounterService;
 import br.com.erickmarques.loan_manager.customer.CustomerNotFoundException;
 import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.export.CsvColumn;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.export.StreamingExporter;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
+import br.com.erickmarques.loan_manager.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LoanServiceImpl implements LoanService {
 
+    private static final List<CsvColumn<LoanResponse>> CSV_COLUMNS = List.of(
+            CsvColumn.of("id", LoanResponse::id),
+            CsvColumn.of("loanDate", LoanResponse::loanDate),
+            CsvColumn.of("paymentDate", LoanResponse::paymentDate),
+            CsvColumn.of("amount", LoanResponse::amount),
+            CsvColumn.of("percentage", LoanResponse::percentage),
+            CsvColumn.of("totalAmountToPay", LoanResponse::totalAmountToPay),
+            CsvColumn.of("negotiation", LoanResponse::negotiation),
+            CsvColumn.of("notes", LoanResponse::notes),
+            CsvColumn.of("status", LoanResponse::status),
+            CsvColumn.of("customerName", LoanResponse::customerName),
+            CsvColumn.of("createdAt", LoanResponse::createdAt),
+            CsvColumn.of("updatedAt", LoanResponse::updatedAt)
+    );
+
+    private static final Sort BY_PAYMENT_DATE_AND_ID = Sort.by("paymentDate", "id");
+    private static final Sort BY_ID = Sort.by("id");
+
     private final LoanRepository loanRepository;
     private final LoanMapper loanMapper;
     private final CustomerRepository customerRepository;
+    private final CustomerLoanCounterService customerLoanCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamingExporter streamingExporter;
 
     @Override
+    @Transactional
     public LoanResponse create(LoanRequestCreate request) {
         var customer = findCustomerById(request.customerId());
         var loan = loanMapper.toEntity(request, customer);
@@ -33,6 +70,7 @@ public class LoanServiceImpl implements LoanService {
         log.info("Creating loan of {} for customer ID {}.", request.totalAmountToPay(), customer.getId());
 
         loanRepository.save(loan);
+        customerLoanCounterService.loanAdded(customer.getId(), loan.getStatus());
 
         log.info("Loan registered with ID {}.", loan.getId());
 
@@ -47,6 +85,7 @@ public class LoanServiceImpl implements LoanService {
         var updated = loanMapper.updateEntity(existing, request, existing.getCustomer());
 
         loanRepository.save(updated);
+        eventPublisher.publishEvent(new LoanChangedEvent(id));
 
         log.info("Updated loan with ID {}.", id);
 
@@ -54,6 +93,7 @@ public class LoanServiceImpl implements LoanService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReadCaches.LOANS, key = "#id", sync = true)
     public LoanResponse findById(UUID id) {
         log.info("Finding loan by ID {}.", id);
 
@@ -63,39 +103,124 @@ public class LoanServiceImpl implements LoanService {
     }
 
     @Override
-    public List<LoanResponse> findAll() {
-        log.info("Finding all loans.");
+    @Transactional(readOnly = true)
+    public CursorPage<LoanResponse> findPage(String cursor, Integer size) {
+        log.info("Finding loans page after cursor {}.", cursor);
+
+        var pageSize = CursorPage.resolvePageSize(size);
+        var rows = findLoansAfter(KeysetCursor.decode(cursor), pageSize + 1);
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                loan -> new KeysetCursor(loan.paymentDate(), loan.id()),
+                Function.identity()
+        );
+    }
 
-        return loanRepository.findAllByOrderByPaymentDateAsc()
-                .stream()
-                .map(loanMapper::toResponse)
-                .toList();
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LoanResponse> search(LoanSearchFilter filter, String cursor, Integer size) {
+        log.info("Searching loans matching {} after cursor {}.", filter, cursor);
+
+        requireOrderedRange(filter.paymentDateFrom(), filter.paymentDateTo(), "payment date");
+        requireOrderedRange(filter.loanDateFrom(), filter.loanDateTo(), "loan date");
+        requireOrderedRange(filter.minAmount(), filter.maxAmount(), "amount");
+
+        var pageSize = CursorPage.resolvePageSize(size);
+        var rows = searchLoansAfter(filter, KeysetCursor.decode(cursor), pageSize + 1);
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                loan -> new KeysetCursor(loan.paymentDate(), loan.id()),
+                Function.identity()
+        );
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanResponse> findAllByCustomerId(UUID customerId) {
         log.info("Finding all loans for customerId {}.", customerId);
 
-        return loanRepository.findAllByCustomerIdOrderByPaymentDateAsc(customerId)
-                .stream()
-                .map(loanMapper::toResponse)
-                .toList();
+        return loanRepository.findAllByCustomerIdOrderByPaymentDateAsc(customerId);
     }
 
 
     @Override
+    public void export(ExportFormat format, OutputStream out) {
+        log.info("Exporting loans as {}.", format);
+
+        streamingExporter.export(out, format, LoanResponse.class, CSV_COLUMNS,
+                loanRepository::streamAll, loanMapper::toResponse);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(UUID id) {
         log.info("Requesting loan deletion with ID {}.", id);
 
-        if (!loanRepository.existsById(id)) {
-            throw new LoanNotFoundException(id);
-        }
+        var loan = findLoanById(id);
 
-        loanRepository.deleteById(id);
+        loanRepository.delete(loan);
+        customerLoanCounterService.loanRemoved(loan.getCustomer().getId(), loan.getStatus());
+        eventPublisher.publishEvent(new LoanChangedEvent(id));
 
         log.info("Loan deleted.");
     }
 
+    private List<LoanResponse> findLoansAfter(KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return loanRepository.findFirstPage(PageRequest.ofSize(limit));
+        }
+
+        if (cursor.paymentDate() == null) {
+            return loanRepository.findUndatedPageAfter(cursor.id(), PageRequest.ofSize(limit));
+        }
+
+        var rows = loanRepository.findPageAfter(cursor.paymentDate(), cursor.id(), PageRequest.ofSize(limit));
+
+        if (rows.size() == limit) {
+            return rows;
+        }
+
+        // Dated rows are exhausted; undated ones sort last and continue the same page.
+        var page = new ArrayList<>(rows);
+        page.addAll(loanRepository.findUndatedFirstPage(PageRequest.ofSize(limit - rows.size())));
+
+        return page;
+    }
+
+    private List<LoanResponse> searchLoansAfter(LoanSearchFilter filter, KeysetCursor cursor, int limit) {
+        var matching = LoanSpecifications.matching(filter);
+
+        if (cursor != null && cursor.paymentDate() == null) {
+            return loanRepository.findResponses(matching.and(LoanSpecifications.undatedAfter(cursor.id())),
+                    BY_ID, limit);
+        }
+
+        var position = cursor == null ? LoanSpecifications.dated() : LoanSpecifications.datedAfter(cursor);
+        var rows = loanRepository.findResponses(matching.and(position), BY_PAYMENT_DATE_AND_ID, limit);
+
+        if (rows.size() == limit || filter.restrictsPaymentDate()) {
+            return rows;
+        }
+
+        // Dated rows are exhausted; undated ones sort last and continue the same page.
+        var page = new ArrayList<>(rows);
+        page.addAll(loanRepository.findResponses(matching.and(LoanSpecifications.undated()),
+                BY_ID, limit - rows.size()));
+
+        return page;
+    }
+
+    private static <T extends Comparable<? super T>> void requireOrderedRange(T from, T to, String field) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The " + field + " range starts after it ends!");
+        }
+    }
+
     private Loan findLoanById(UUID id){
         return loanRepository.findById(id)
                 .orElseThrow(() -> new LoanNotFoundException(id));
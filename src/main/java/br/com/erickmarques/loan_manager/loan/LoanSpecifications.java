@@ -0,0 +1,95 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.pagination.KeysetCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Predicates of the loan search. Each filter maps onto a leading index column (see V8__create_loan_search_indexes),
+ * and the keyset conditions mirror the ones of {@link LoanRepository#findPageAfter}.
+ */
+final class LoanSpecifications {
+
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String PAYMENT_DATE = "paymentDate";
+    private static final String LOAN_DATE = "loanDate";
+    private static final String AMOUNT = "amount";
+    private static final String NEGOTIATION = "negotiation";
+    private static final String CUSTOMER = "customer";
+
+    private LoanSpecifications() {
+    }
+
+    static Specification<Loan> matching(LoanSearchFilter filter) {
+        var specifications = new ArrayList<Specification<Loan>>();
+
+        if (filter.status() != null) {
+            specifications.add((loan, query, cb) -> cb.equal(loan.get(STATUS), filter.status()));
+        }
+        if (filter.restrictsPaymentDate()) {
+            specifications.add(within(PAYMENT_DATE, filter.paymentDateFrom(), filter.paymentDateTo()));
+        }
+        if (filter.loanDateFrom() != null || filter.loanDateTo() != null) {
+            specifications.add(within(LOAN_DATE, filter.loanDateFrom(), filter.loanDateTo()));
+        }
+        if (filter.minAmount() != null || filter.maxAmount() != null) {
+            specifications.add(within(AMOUNT, filter.minAmount(), filter.maxAmount()));
+        }
+        if (filter.negotiation() != null) {
+            // Rendered as a literal, not a bind parameter: a generic plan can only match the partial index
+            // idx_loans_negotiation_payment_date when the predicate itself says "negotiation".
+            specifications.add((loan, query, cb) -> filter.negotiation()
+                    ? cb.isTrue(loan.get(NEGOTIATION))
+                    : cb.isFalse(loan.get(NEGOTIATION)));
+        }
+        if (filter.customerId() != null) {
+            specifications.add((loan, query, cb) -> cb.equal(loan.get(CUSTOMER).get(ID), filter.customerId()));
+        }
+
+        return Specification.allOf(specifications);
+    }
+
+    static Specification<Loan> dated() {
+        return (loan, query, cb) -> cb.isNotNull(loan.get(PAYMENT_DATE));
+    }
+
+    static Specification<Loan> datedAfter(KeysetCursor cursor) {
+        return (loan, query, cb) -> {
+            var paymentDate = loan.<LocalDate>get(PAYMENT_DATE);
+
+            return cb.and(
+                    cb.greaterThanOrEqualTo(paymentDate, cursor.paymentDate()),
+                    cb.or(
+                            cb.greaterThan(paymentDate, cursor.paymentDate()),
+                            cb.greaterThan(loan.<UUID>get(ID), cursor.id())
+                    )
+            );
+        };
+    }
+
+    static Specification<Loan> undated() {
+        return (loan, query, cb) -> cb.isNull(loan.get(PAYMENT_DATE));
+    }
+
+    static Specification<Loan> undatedAfter(UUID id) {
+        return undated().and((loan, query, cb) -> cb.greaterThan(loan.<UUID>get(ID), id));
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<Loan> within(String attribute, Y from, Y to) {
+        return (loan, query, cb) -> {
+            var path = loan.<Y>get(attribute);
+
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.between(path, from, to);
+        };
+    }
+}
@@ -2,5 +2,9 @@ package br.com.erickmarques.loan_manager.loan;
 
 public enum LoanStatus {
     OPEN,
+    /**
+     * Still open, past its payment date; set by {@link OverdueLoanService}.
+     */
+    OVERDUE,
     CLOSED
 }
@@ -0,0 +1,19 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Detection of loans past their payment date.
+ *
+ * @param chunkSize     loans marked overdue per transaction
+ * @param leaseDuration how long a node keeps the job without renewing; must outlast the slowest chunk
+ */
+@ConfigurationProperties(prefix = "loan-manager.loan.overdue")
+public record OverdueLoanProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("5m") Duration leaseDuration
+) {
+}
@@ -0,0 +1,23 @@
+package br.com.erickmarques.loan_manager.loan;
+
+/**
+ * Moves open loans past their payment date to {@link LoanStatus#OVERDUE}. Runs on one node at a time; a node that
+ * cannot take the job lease skips the run.
+ */
+public interface OverdueLoanService {
+
+    /**
+     * Marks the loans that fell due since the last completed run.
+     *
+     * @return number of loans marked overdue, {@code 0} when another node holds the job
+     */
+    long markNewlyOverdue();
+
+    /**
+     * Marks every open loan past its payment date, regardless of the last run. Catches loans created or re-dated
+     * with a payment date the incremental run had already passed.
+     *
+     * @return number of loans marked overdue, {@code 0} when another node holds the job
+     */
+    long markAllOverdue();
+}
@@ -0,0 +1,122 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.lease.JobLeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+@Slf4j
+public class OverdueLoanServiceImpl implements OverdueLoanService {
+
+    static final String JOB_NAME = "overdue-loans";
+
+    private final LoanRepository loanRepository;
+    private final JobLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final OverdueLoanProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter marked;
+
+    public OverdueLoanServiceImpl(LoanRepository loanRepository,
+                                  JobLeaseManager leaseManager,
+                                  TransactionTemplate transactionTemplate,
+                                  OverdueLoanProperties properties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.loanRepository = loanRepository;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.marked = Counter.builder("loans.overdue.marked")
+                .description("Loans moved to OVERDUE by the overdue detection job")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(cron = "${loan-manager.loan.overdue.cron:0 5 0 * * *}")
+    public long markNewlyOverdue() {
+        return run(false);
+    }
+
+    @Override
+    @Scheduled(cron = "${loan-manager.loan.overdue.sweep-cron:0 30 3 * * SUN}")
+    public long markAllOverdue() {
+        return run(true);
+    }
+
+    private long run(boolean sweep) {
+        var acquired = leaseManager.tryAcquire(JOB_NAME, properties.leaseDuration());
+        if (acquired.isEmpty()) {
+            return 0;
+        }
+
+        var lease = acquired.get();
+        var today = LocalDate.now();
+        // Loans due before the mark were seen by an earlier run, while they were still open.
+        var from = sweep ? null : lease.highWaterMark();
+        long total = 0;
+
+        try {
+            while (true) {
+                var chunk = markChunk(lease, from, today);
+                if (chunk == null) {
+                    log.warn("[LOAN] Lost the lease of {} after marking {} loans overdue.", JOB_NAME, total);
+                    return total;
+                }
+
+                total += chunk.marked();
+                if (chunk.selected() < properties.chunkSize()) {
+                    break;
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> leaseManager.advance(lease, today));
+        } finally {
+            marked.increment(total);
+            leaseManager.release(lease);
+        }
+
+        log.info("[LOAN] Marked {} loans overdue (due before {}{}).",
+                total, today, from == null ? "" : ", since " + from);
+
+        return total;
+    }
+
+    /**
+     * Renews the lease first, in the same transaction: a node that stalled past its lease commits nothing more. Marked
+     * loans leave the open slice, so every chunk reads from its head.
+     */
+    private Chunk markChunk(JobLeaseManager.Lease lease, LocalDate from, LocalDate today) {
+        return transactionTemplate.execute(status -> {
+            if (!leaseManager.renew(lease)) {
+                return null;
+            }
+
+            var page = PageRequest.ofSize(properties.chunkSize());
+            var ids = from == null
+                    ? loanRepository.findOpenDueBefore(today, page)
+                    : loanRepository.findOpenDueBetween(from, today, page);
+            if (ids.isEmpty()) {
+                return new Chunk(0, 0);
+            }
+
+            var updated = loanRepository.markOverdue(ids, LocalDateTime.now());
+            ids.forEach(id -> eventPublisher.publishEvent(new LoanChangedEvent(id)));
+
+            return new Chunk(ids.size(), updated);
+        });
+    }
+
+    private record Chunk(int selected, int marked) {
+    }
+}
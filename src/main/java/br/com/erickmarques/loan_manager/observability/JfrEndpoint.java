@@ -0,0 +1,41 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code GET /actuator/jfr} downloads the continuous recording as a {@code .jfr} file, ready for JDK Mission
+ * Control or {@code jfr print}. The temporary dump is deleted once streamed, or right away when the dump fails.
+ * Not exposed by default: the {@code diagnostics} profile turns it on, and only on the management port.
+ */
+@Component
+@Endpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "loan-manager.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final JfrRecorder jfrRecorder;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        var file = Files.createTempFile("loan-manager-", ".jfr");
+
+        try {
+            jfrRecorder.dump(file);
+            return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException | RuntimeException ex) {
+            // Nothing was opened, so DELETE_ON_CLOSE will not clean this one up.
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+    }
+}
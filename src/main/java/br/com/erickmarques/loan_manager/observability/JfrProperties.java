@@ -0,0 +1,27 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Always-on Flight Recorder recording, dumped on demand by the {@code jfr} actuator endpoint.
+ *
+ * @param enabled             starts the recording with the application
+ * @param settings            JFR configuration to start from ({@code default} is meant for production); the
+ *                            redactions of {@link JfrRecorder} always apply on top
+ * @param maxAge              how far back a dump reaches
+ * @param maxSize             disk cap of the recording
+ * @param repositoryThreshold repository calls faster than this are not recorded
+ */
+@ConfigurationProperties(prefix = "loan-manager.jfr")
+public record JfrProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("default") String settings,
+        @DefaultValue("30m") Duration maxAge,
+        @DefaultValue("256MB") DataSize maxSize,
+        @DefaultValue("10ms") Duration repositoryThreshold
+) {
+}
@@ -0,0 +1,68 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps a continuous recording of the last {@code max-age} of JVM and application events on disk, so a latency
+ * spike can be looked at after the fact without attaching an agent. Whatever {@code settings} names,
+ * {@value #REDACTIONS} is applied on top, so the recording never holds the environment or system properties.
+ */
+@Component
+@ConditionalOnProperty(prefix = "loan-manager.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class JfrRecorder implements AutoCloseable {
+
+    static final String REDACTIONS = "jfr/redactions.jfc";
+
+    private final Recording recording;
+
+    public JfrRecorder(JfrProperties properties) throws IOException, ParseException {
+        recording = new Recording(settings(properties.settings()));
+        recording.setName("loan-manager");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.maxAge());
+        recording.setMaxSize(properties.maxSize().toBytes());
+        recording.enable("loanmanager.PaymentCreate");
+        recording.enable("loanmanager.PaymentProcess");
+        recording.enable(RepositoryCallJfrEvent.class).withThreshold(properties.repositoryThreshold());
+        recording.start();
+
+        log.info("Flight recording started with '{}' settings, keeping {}.", properties.settings(), properties.maxAge());
+    }
+
+    /**
+     * Writes what the recording holds so far to {@code target}; the recording keeps running.
+     */
+    public void dump(Path target) throws IOException {
+        recording.dump(target);
+    }
+
+    private static Map<String, String> settings(String name) throws IOException, ParseException {
+        var settings = new HashMap<>(Configuration.getConfiguration(name).getSettings());
+
+        try (var reader = new InputStreamReader(
+                new ClassPathResource(REDACTIONS).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        return settings;
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("loanmanager.RepositoryCall")
+@Label("Repository Call")
+@Category({"Loan Manager", "Persistence"})
+@Description("Invocation of a Spring Data repository method")
+class RepositoryCallJfrEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,50 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Wraps every repository call in a {@link RepositoryCallJfrEvent}. When no recording asks for the event the
+ * check is a field read, so the interceptor stays on in production.
+ */
+public class RepositoryCallJfrInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    private RepositoryCallJfrInterceptor(String repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Adds the interceptor to the repository built by the given factory bean.
+     */
+    public static void install(RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+        factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, information) -> proxyFactory.addAdvice(
+                        new RepositoryCallJfrInterceptor(information.getRepositoryInterface().getSimpleName()))));
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var event = new RepositoryCallJfrEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            event.exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is being served. The count
+ * is opened and closed by {@link StatementCountFilter}; statements outside a request (jobs, workers) are ignored.
+ * A request runs on a single thread, platform or virtual, so a thread-local is enough.
+ */
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        var count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static int stop() {
+        var count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
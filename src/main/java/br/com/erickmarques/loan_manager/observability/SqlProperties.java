@@ -0,0 +1,19 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * JDBC statement tracking.
+ *
+ * @param slowThreshold         statements slower than this are logged, with parameter shape, rows and caller
+ * @param maxTrackedStatements  distinct normalized statements kept in the statistics; the rest share one entry
+ */
+@ConfigurationProperties(prefix = "loan-manager.sql")
+public record SqlProperties(
+        @DefaultValue("200ms") Duration slowThreshold,
+        @DefaultValue("1000") int maxTrackedStatements
+) {
+}
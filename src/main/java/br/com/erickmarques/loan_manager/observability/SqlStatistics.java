@@ -0,0 +1,98 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Calls, time and rows per normalized statement, since startup or the last reset. Statements differing only in
+ * literals or in the length of an {@code IN} list are counted together.
+ */
+@Component
+public class SqlStatistics {
+
+    static final String OTHER_STATEMENTS = "<other statements>";
+    /**
+     * Key of executions whose SQL the driver never saw, such as an empty batch of a plain statement.
+     */
+    static final String UNKNOWN_STATEMENT = "<batch>";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxTrackedStatements;
+
+    public SqlStatistics(SqlProperties properties) {
+        this.maxTrackedStatements = properties.maxTrackedStatements();
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) {
+            return UNKNOWN_STATEMENT;
+        }
+
+        var normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        return IN_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    void record(String sql, long nanos, long rows) {
+        var key = normalize(sql);
+        var entry = entries.get(key);
+
+        if (entry == null) {
+            entry = entries.size() < maxTrackedStatements
+                    ? entries.computeIfAbsent(key, ignored -> new Entry())
+                    : entries.computeIfAbsent(OTHER_STATEMENTS, ignored -> new Entry());
+        }
+
+        entry.calls.increment();
+        entry.totalNanos.add(nanos);
+        entry.maxNanos.accumulate(nanos);
+        entry.rows.add(Math.max(rows, 0));
+    }
+
+    /**
+     * Statistics ordered by total time, the statements worth looking at first.
+     */
+    public List<StatementStatistics> snapshot() {
+        return entries.entrySet().stream()
+                .map(entry -> entry.getValue().toStatistics(entry.getKey()))
+                .sorted(Comparator.comparingDouble(StatementStatistics::totalMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    public record StatementStatistics(String sql, long calls, double totalMillis, double meanMillis,
+                                      double maxMillis, long rows) {
+    }
+
+    private static final class Entry {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+
+        private StatementStatistics toStatistics(String sql) {
+            var count = calls.sum();
+            var total = totalNanos.sum() / 1e6;
+
+            return new StatementStatistics(sql, count, total, count == 0 ? 0 : total / count,
+                    maxNanos.get() / 1e6, rows.sum());
+        }
+    }
+}
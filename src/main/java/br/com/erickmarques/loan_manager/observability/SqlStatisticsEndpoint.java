@@ -0,0 +1,32 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/sqlstats} lists the statement statistics, most expensive first;
+ * {@code DELETE /actuator/sqlstats} starts them over, e.g. before a load test. Exposed by the {@code diagnostics}
+ * profile only, on the management port.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatisticsEndpoint {
+
+    private final SqlStatistics sqlStatistics;
+
+    @ReadOperation
+    public List<SqlStatistics.StatementStatistics> statements() {
+        return sqlStatistics.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatistics.reset();
+    }
+}
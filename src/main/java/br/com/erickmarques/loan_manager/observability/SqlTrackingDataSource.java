@@ -0,0 +1,242 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Times every statement executed through the pool, feeds {@link SqlStatistics} and logs the slow ones.
+ * <p>
+ * A statement's rows are known when its result set closes (queries) or when it returns (updates), so that is when
+ * it is recorded. The slow-query line carries the shape of the bind parameters (their types, never their values),
+ * the rows and the application method that issued it:
+ * <pre>
+ * slow-query millis=312 rows=1200 params=[UUID, LocalDate] caller=LoanServiceImpl.findAllByCustomerId sql=select ...
+ * </pre>
+ */
+@Slf4j
+public class SqlTrackingDataSource extends DelegatingDataSource {
+
+    private static final String APPLICATION_PACKAGE = "br.com.erickmarques.loan_manager.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SqlStatistics statistics;
+    private final long slowThresholdNanos;
+
+    public SqlTrackingDataSource(DataSource target, SqlStatistics statistics, Duration slowThreshold) {
+        super(target);
+        this.statistics = statistics;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(APPLICATION_PACKAGE + "observability.")
+                        && !frame.getClassName().contains("$$"))
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .findFirst()
+                .orElse("unknown"));
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var result = SqlTrackingDataSource.invoke(target, method, args);
+
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                var sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return Proxy.newProxyInstance(method.getReturnType().getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sql));
+            }
+
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        // Normalized statements of a plain Statement batch, which executeBatch() does not repeat.
+        private final Set<String> batchedSql = new LinkedHashSet<>();
+
+        private Execution pending;
+        private int batchSize;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") || args[1] == null
+                        ? "null"
+                        : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length > 0 && args[0] instanceof String text) {
+                    batchedSql.add(SqlStatistics.normalize(text));
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+                batchedSql.clear();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            } else if (name.equals("getResultSet") && pending != null) {
+                return countingResultSet((ResultSet) SqlTrackingDataSource.invoke(target, method, args));
+            } else if (name.equals("close")) {
+                finish(0);
+            }
+
+            return SqlTrackingDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finish(0);
+
+            var sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (sql == null && !batchedSql.isEmpty()) {
+                sql = String.join("; ", batchedSql);
+            }
+            var start = System.nanoTime();
+            var result = SqlTrackingDataSource.invoke(target, method, args);
+            var elapsed = System.nanoTime() - start;
+
+            var slow = elapsed > slowThresholdNanos;
+
+            pending = new Execution(sql, elapsed, slow ? describeParameters() : null, slow ? caller() : null);
+            batchSize = 0;
+            batchedSql.clear();
+
+            return switch (result) {
+                case ResultSet resultSet -> countingResultSet(resultSet);
+                case Integer rows -> finish(rows, result);
+                case Long rows -> finish(rows, result);
+                case int[] rows -> finish(Arrays.stream(rows).filter(row -> row > 0).sum(), result);
+                case long[] rows -> finish(Arrays.stream(rows).filter(row -> row > 0).sum(), result);
+                // execute(): a result set, if any, is fetched through getResultSet.
+                case Boolean hasResultSet when !hasResultSet -> finish(target.getUpdateCount(), result);
+                default -> result;
+            };
+        }
+
+        private String describeParameters() {
+            var shape = new StringJoiner(", ", "[", "]");
+            parameters.values().forEach(shape::add);
+            return batchSize > 0 ? shape + " x" + batchSize : shape.toString();
+        }
+
+        private ResultSet countingResultSet(ResultSet resultSet) {
+            return resultSet == null ? null : proxy(ResultSet.class, new ResultSetHandler(resultSet, this));
+        }
+
+        private Object finish(long rows, Object result) {
+            finish(rows);
+            return result;
+        }
+
+        private void finish(long rows) {
+            if (pending == null) {
+                return;
+            }
+
+            var execution = pending;
+            pending = null;
+
+            statistics.record(execution.sql(), execution.nanos(), rows);
+
+            if (execution.caller() != null) {
+                log.warn("slow-query millis={} rows={} params={} caller={} sql={}",
+                        execution.nanos() / 1_000_000, rows, execution.parameters(), execution.caller(),
+                        SqlStatistics.normalize(execution.sql()));
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final StatementHandler statement;
+        private long rows;
+
+        private ResultSetHandler(ResultSet target, StatementHandler statement) {
+            this.target = target;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var result = SqlTrackingDataSource.invoke(target, method, args);
+
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                }
+                case "close" -> statement.finish(rows);
+                default -> {
+                }
+            }
+
+            return result;
+        }
+    }
+
+    private record Execution(String sql, long nanos, String parameters, String caller) {
+    }
+}
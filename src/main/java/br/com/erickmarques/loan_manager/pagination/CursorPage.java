@@ -0,0 +1,43 @@
+package br.com.erickmarques.loan_manager.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public static int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}: the extra row only
+     * signals that another page exists and is never mapped.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows,
+                                          int pageSize,
+                                          Function<E, KeysetCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        var hasNext = rows.size() > pageSize;
+        var pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        var items = pageRows.stream()
+                .map(mapper)
+                .toList();
+
+        var nextCursor = hasNext
+                ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode()
+                : null;
+
+        return new CursorPage<>(items, nextCursor);
+    }
+}
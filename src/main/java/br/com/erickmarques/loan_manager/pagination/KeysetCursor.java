@@ -0,0 +1,47 @@
+package br.com.erickmarques.loan_manager.pagination;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page ordered by (payment_date ASC NULLS LAST, id ASC).
+ * Clients only see it as an opaque token.
+ */
+public record KeysetCursor(
+        LocalDate paymentDate,
+        UUID id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        var raw = (paymentDate == null ? "" : paymentDate.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(SEPARATOR);
+            var paymentDate = raw.substring(0, separator);
+
+            return new KeysetCursor(
+                    paymentDate.isEmpty() ? null : LocalDate.parse(paymentDate),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor!");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes payments of the same loan inside this instance when running in {@link PaymentConcurrencyMode#STRIPED} mode.
+ * <p>
+ * Loan ids are hashed onto a fixed set of fair locks, so payments for one loan run one at a time in arrival order
+ * while payments for loans on other stripes run in parallel. Batches (the batch endpoints, CNAB chunks, PIX
+ * confirmations) hold the stripes of all their loans at once. In {@link PaymentConcurrencyMode#OPTIMISTIC} mode the
+ * work runs straight away and conflicts are left to the version check.
+ */
+@Component
+@Slf4j
+public class LoanLockManager {
+
+    private final PaymentProperties properties;
+    private final Stripe[] stripes;
+
+    public LoanLockManager(PaymentProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stripes = new Stripe[properties.concurrencyMode() == PaymentConcurrencyMode.STRIPED
+                ? properties.lockStripes()
+                : 0];
+
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(i, meterRegistry);
+        }
+    }
+
+    public <T> T withLock(UUID loanId, Supplier<T> work) {
+        if (stripes.length == 0) {
+            return work.get();
+        }
+
+        var stripe = stripes[stripeOf(loanId)];
+        stripe.acquire(loanId, properties.lockTimeout().toNanos());
+
+        try {
+            return work.get();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code work} holding the stripes of every given loan. Stripes are taken in index order, so two batches
+     * sharing loans cannot deadlock; a single payment holds one stripe and never waits while holding it. The work
+     * must open its transaction inside, so the stripes are released only after the commit.
+     */
+    public <T> T withLocks(Collection<UUID> loanIds, Supplier<T> work) {
+        if (stripes.length == 0) {
+            return work.get();
+        }
+
+        var byStripe = new TreeMap<Integer, UUID>();
+        loanIds.stream()
+                .filter(Objects::nonNull)
+                .forEach(loanId -> byStripe.putIfAbsent(stripeOf(loanId), loanId));
+
+        var held = new ArrayDeque<Stripe>(byStripe.size());
+
+        try {
+            byStripe.forEach((index, loanId) -> {
+                stripes[index].acquire(loanId, properties.lockTimeout().toNanos());
+                held.push(stripes[index]);
+            });
+
+            return work.get();
+        } finally {
+            held.forEach(stripe -> stripe.lock.unlock());
+        }
+    }
+
+    private int stripeOf(UUID loanId) {
+        return Math.floorMod(loanId.hashCode(), stripes.length);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Counter contention;
+        private final Timer wait;
+
+        private Stripe(int index, MeterRegistry meterRegistry) {
+            var tag = String.valueOf(index);
+
+            this.contention = Counter.builder("payments.lock.contention")
+                    .description("Payments that found their loan stripe already locked")
+                    .tag("stripe", tag)
+                    .register(meterRegistry);
+            this.wait = Timer.builder("payments.lock.wait")
+                    .description("Time spent waiting for the loan stripe")
+                    .tag("stripe", tag)
+                    .register(meterRegistry);
+            Gauge.builder("payments.lock.queue", lock, ReentrantLock::getQueueLength)
+                    .description("Payments currently waiting for the loan stripe")
+                    .tag("stripe", tag)
+                    .register(meterRegistry);
+        }
+
+        private void acquire(UUID loanId, long timeoutNanos) {
+            try {
+                // The timed form keeps the fairness; a plain tryLock() would jump ahead of the payments queued.
+                if (lock.tryLock(0, TimeUnit.NANOSECONDS)) {
+                    wait.record(0, TimeUnit.NANOSECONDS);
+                    return;
+                }
+
+                contention.increment();
+                var start = System.nanoTime();
+
+                try {
+                    if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                        log.warn("[PAYMENT] Timed out waiting for the lock of loan {}.", loanId);
+                        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                "Too many payments queued for this loan, please try again!");
+                    }
+                } finally {
+                    wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Payment registration interrupted!", ex);
+            }
+        }
+    }
+}
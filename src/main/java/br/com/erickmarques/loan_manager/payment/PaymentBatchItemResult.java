@@ -0,0 +1,25 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of one entry of a payment batch; {@code index} is the zero-based position of the entry in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PaymentBatchItemResult(
+        int index,
+        PaymentBatchItemStatus status,
+        PaymentResponse payment,
+        List<String> errors
+) {
+
+    public static PaymentBatchItemResult accepted(int index, PaymentResponse payment) {
+        return new PaymentBatchItemResult(index, PaymentBatchItemStatus.ACCEPTED, payment, null);
+    }
+
+    public static PaymentBatchItemResult rejected(int index, List<String> errors) {
+        return new PaymentBatchItemResult(index, PaymentBatchItemStatus.REJECTED, null, errors);
+    }
+}
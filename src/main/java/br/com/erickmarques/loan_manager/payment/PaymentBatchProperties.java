@@ -0,0 +1,19 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Limits of {@code POST /api/v1/payments/batch}.
+ *
+ * @param maxSize largest number of entries accepted in one request; every entry is kept in memory and written in
+ *                a single transaction
+ */
+@Validated
+@ConfigurationProperties(prefix = "loan-manager.payment.batch")
+public record PaymentBatchProperties(
+        @DefaultValue("5000") @Positive int maxSize
+) {
+}
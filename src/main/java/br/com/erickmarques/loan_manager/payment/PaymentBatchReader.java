@@ -0,0 +1,76 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads payment entries one at a time, from a JSON array or newline-delimited JSON, stopping as soon as the batch
+ * grows past its limit instead of buffering the whole body first.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentBatchReader {
+
+    private final ObjectMapper objectMapper;
+    private final PaymentBatchProperties properties;
+
+    public List<PaymentRequest> readJson(InputStream body) {
+        var requests = new ArrayList<PaymentRequest>();
+
+        try (var parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The payment batch must be a JSON array!");
+            }
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (requests.size() == properties.maxSize()) {
+                    throw tooLarge();
+                }
+                requests.add(objectMapper.readValue(parser, PaymentRequest.class));
+            }
+        } catch (IOException | RuntimeException ex) {
+            if (ex instanceof ResponseStatusException responseStatusException) {
+                throw responseStatusException;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid JSON entry at position " + requests.size() + "!", ex);
+        }
+
+        return requests;
+    }
+
+    public List<PaymentRequest> readNdjson(InputStream body) {
+        var requests = new ArrayList<PaymentRequest>();
+
+        try (var entries = objectMapper.readerFor(PaymentRequest.class).<PaymentRequest>readValues(body)) {
+            while (entries.hasNextValue()) {
+                if (requests.size() == properties.maxSize()) {
+                    throw tooLarge();
+                }
+                requests.add(entries.nextValue());
+            }
+        } catch (IOException | RuntimeException ex) {
+            if (ex instanceof ResponseStatusException responseStatusException) {
+                throw responseStatusException;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid NDJSON entry at position " + requests.size() + "!", ex);
+        }
+
+        return requests;
+    }
+
+    public ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "A payment batch accepts at most " + properties.maxSize() + " entries!");
+    }
+}
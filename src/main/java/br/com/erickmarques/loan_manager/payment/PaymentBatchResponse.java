@@ -0,0 +1,18 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import java.util.List;
+
+public record PaymentBatchResponse(
+        long accepted,
+        long rejected,
+        List<PaymentBatchItemResult> items
+) {
+
+    public static PaymentBatchResponse of(List<PaymentBatchItemResult> items) {
+        var accepted = items.stream()
+                .filter(item -> item.status() == PaymentBatchItemStatus.ACCEPTED)
+                .count();
+
+        return new PaymentBatchResponse(accepted, items.size() - accepted, items);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import java.util.List;
+
+public interface PaymentBatchService {
+
+    /**
+     * Registers every valid entry in one transaction and reports the entries that were rejected.
+     * An unexpected failure rolls back the whole batch.
+     */
+    PaymentBatchResponse register(List<PaymentRequest> requests);
+
+    /**
+     * Registers settlements as {@link #register(List)} does, deciding each payment type against the loans the batch
+     * loads anyway, so no extra query is spent on it. Items keep the index of their settlement.
+     */
+    PaymentBatchResponse settle(List<PaymentSettlement> settlements);
+}
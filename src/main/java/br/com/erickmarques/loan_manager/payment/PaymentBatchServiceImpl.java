@@ -0,0 +1,162 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanNotFoundException;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentBatchServiceImpl implements PaymentBatchService {
+
+    private final LoanRepository loanRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentMapper paymentMapper;
+    private final PaymentSettlementMapper paymentSettlementMapper;
+    private final ProcessPaymentService processPaymentService;
+    private final PaymentTransactionRunner paymentTransactionRunner;
+    private final LoanLockManager loanLockManager;
+    private final PaymentBatchReader paymentBatchReader;
+    private final PaymentBatchProperties properties;
+    private final Validator validator;
+
+    @Override
+    public PaymentBatchResponse register(List<PaymentRequest> requests) {
+        return register(requests, (index, loan) -> requests.get(index));
+    }
+
+    @Override
+    public PaymentBatchResponse settle(List<PaymentSettlement> settlements) {
+        // Validated without a loan; the type is decided once apply has loaded the loans.
+        var requests = settlements == null ? null : settlements.stream()
+                .map(settlement -> settlement == null ? null : paymentSettlementMapper.toRequest(settlement, null))
+                .toList();
+
+        return register(requests, (index, loan) -> paymentSettlementMapper.toRequest(settlements.get(index), loan));
+    }
+
+    private PaymentBatchResponse register(List<PaymentRequest> requests,
+                                          BiFunction<Integer, Loan, PaymentRequest> resolver) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The payment batch is empty!");
+        }
+
+        if (requests.size() > properties.maxSize()) {
+            throw paymentBatchReader.tooLarge();
+        }
+
+        log.info("Receives batch of {} payments.", requests.size());
+
+        var invalid = validate(requests);
+        var loanIds = new ArrayList<UUID>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (!invalid.containsKey(i)) {
+                loanIds.add(requests.get(i).loanId());
+            }
+        }
+
+        var items = loanLockManager.withLocks(loanIds,
+                () -> paymentTransactionRunner.execute(() -> apply(requests, invalid, loanIds, resolver)));
+        var response = PaymentBatchResponse.of(items);
+
+        log.info("Payment batch registered: {} accepted, {} rejected.", response.accepted(), response.rejected());
+
+        return response;
+    }
+
+    private List<PaymentBatchItemResult> apply(List<PaymentRequest> requests,
+                                               Map<Integer, List<String>> invalid,
+                                               List<UUID> loanIds,
+                                               BiFunction<Integer, Loan, PaymentRequest> resolver) {
+        // One IN query for the whole batch; entries of the same loan then share the managed instance.
+        var loans = loanRepository.findAllById(loanIds.stream().distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Loan::getId, Function.identity()));
+
+        var items = new ArrayList<PaymentBatchItemResult>(requests.size());
+        var accepted = new LinkedHashMap<Integer, Payment>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+
+            if (invalid.containsKey(i)) {
+                items.add(PaymentBatchItemResult.rejected(i, invalid.get(i)));
+                continue;
+            }
+
+            var loan = loans.get(request.loanId());
+            if (loan == null) {
+                items.add(PaymentBatchItemResult.rejected(i,
+                        List.of(new LoanNotFoundException(request.loanId()).getMessage())));
+                continue;
+            }
+
+            Payment payment;
+
+            try {
+                payment = paymentMapper.toEntity(resolver.apply(i, loan), loan);
+                processPaymentService.process(payment);
+            } catch (ResponseStatusException ex) {
+                items.add(PaymentBatchItemResult.rejected(i, List.of(Objects.requireNonNullElse(ex.getReason(),
+                        "Payment rejected."))));
+                continue;
+            }
+
+            accepted.put(i, payment);
+            items.add(null);
+        }
+
+        // Inserts and loan updates go out as JDBC batches on this flush.
+        paymentRepository.saveAll(List.copyOf(accepted.values()));
+        paymentRepository.flush();
+
+        accepted.forEach((index, payment) ->
+                items.set(index, PaymentBatchItemResult.accepted(index, paymentMapper.toResponse(payment))));
+
+        return items;
+    }
+
+    private Map<Integer, List<String>> validate(List<PaymentRequest> requests) {
+        var invalid = new HashMap<Integer, List<String>>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+
+            if (request == null) {
+                invalid.put(i, List.of("The payment entry is empty."));
+                continue;
+            }
+
+            var errors = validator.validate(request)
+                    .stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+
+            if (!errors.isEmpty()) {
+                invalid.put(i, errors);
+            }
+        }
+
+        return invalid;
+    }
+}
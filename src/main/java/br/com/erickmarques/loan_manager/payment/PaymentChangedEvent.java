@@ -0,0 +1,10 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import java.util.UUID;
+
+/**
+ * Published when a payment row is updated or deleted.
+ */
+public record PaymentChangedEvent(
+        UUID paymentId
+) {}
@@ -0,0 +1,6 @@
+package br.com.erickmarques.loan_manager.payment;
+
+public enum PaymentConcurrencyMode {
+    OPTIMISTIC,
+    STRIPED
+}
@@ -1,14 +1,20 @@
 package br.com.erickmarques.loan_manager.payment;
 
 import br.com.erickmarques.loan_manager.exception.ApiErrors;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,9 +23,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,25 +43,73 @@ import java.util.UUID;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentBatchService paymentBatchService;
+    private final PaymentBatchReader paymentBatchReader;
 
     @Operation(
             summary = "Create a new payment",
-            description = "Registers a new payment linked to a loan.",
+            description = "Registers a new payment linked to a loan. "
+                    + "Retries sending the same Idempotency-Key get the original payment back instead of a new one.",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Payment created successfully",
                             content = @Content(schema = @Schema(implementation = PaymentResponse.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid request payload",
                             content = @Content(schema = @Schema(implementation = ApiErrors.class))),
                     @ApiResponse(responseCode = "404", description = "Loan not found",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class))),
+                    @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for another payment",
                             content = @Content(schema = @Schema(implementation = ApiErrors.class)))
             }
     )
     @PostMapping
-    public ResponseEntity<PaymentResponse> create(@RequestBody @Validated PaymentRequest request) {
-        var response = paymentService.create(request);
+    public ResponseEntity<PaymentResponse> create(
+            @RequestBody @Validated PaymentRequest request,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        var response = paymentService.create(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            summary = "Register a batch of payments",
+            description = "Registers a JSON array of payments. Each entry is validated on its own: "
+                    + "valid entries are committed together and rejected ones are reported with their errors. "
+                    + "An unexpected failure rolls back the whole batch.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PaymentRequest.class)))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed; see the result of each entry",
+                            content = @Content(schema = @Schema(implementation = PaymentBatchResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty or unreadable batch",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class))),
+                    @ApiResponse(responseCode = "413", description = "Batch larger than the configured limit",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class)))
+            }
+    )
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PaymentBatchResponse> createBatch(InputStream body) {
+        var response = paymentBatchService.register(paymentBatchReader.readJson(body));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Register a batch of payments from NDJSON",
+            description = "Same as the JSON array version, with one payment JSON object per line.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed; see the result of each entry",
+                            content = @Content(schema = @Schema(implementation = PaymentBatchResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty batch or malformed line",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class))),
+                    @ApiResponse(responseCode = "413", description = "Batch larger than the configured limit",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class)))
+            }
+    )
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<PaymentBatchResponse> createBatchFromNdjson(InputStream body) {
+        var response = paymentBatchService.register(paymentBatchReader.readNdjson(body));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Update an existing payment",
             description = "Updates payment details using the provided ID.",
@@ -90,16 +148,22 @@ public class PaymentController {
     }
 
     @Operation(
-            summary = "List all payments",
-            description = "Returns an ordered list of all payments.",
+            summary = "List payments page by page",
+            description = "Returns a page of payments ordered by payment date. "
+                    + "Pass the returned nextCursor to fetch the following page.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "List returned successfully")
+                    @ApiResponse(responseCode = "200", description = "Page returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid page cursor",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class)))
             }
     )
     @GetMapping
-    public ResponseEntity<List<PaymentResponse>> findAll() {
-        var payments = paymentService.findAll();
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<CursorPage<PaymentResponse>> findPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        var page = paymentService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @Operation(
@@ -115,6 +179,28 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @Operation(
+            summary = "Export all payments",
+            description = "Streams every payment as NDJSON (one JSON object per line) or CSV. "
+                    + "Rows are sent as they are read, so large exports start at once and use constant memory.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed"),
+                    @ApiResponse(responseCode = "400", description = "Unknown export format")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> paymentService.export(format, out);
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName("payments"))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @Operation(
             summary = "Delete a payment",
             description = "Deletes a payment using the provided ID.",
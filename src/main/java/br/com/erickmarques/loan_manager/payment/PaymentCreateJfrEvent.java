@@ -0,0 +1,30 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning {@link PaymentService#create}: lock wait, retries and commit included.
+ */
+@Name("loanmanager.PaymentCreate")
+@Label("Payment Create")
+@Category({"Loan Manager", "Payment"})
+@Description("Registration of a payment, from the loan lock to the commit")
+class PaymentCreateJfrEvent extends Event {
+
+    @Label("Loan Id")
+    String loanId;
+
+    @Label("Payment Type")
+    String paymentType;
+
+    @Label("Idempotent")
+    @Description("Whether the request carried an Idempotency-Key")
+    boolean idempotent;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,73 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Durable record of a payment created with an {@code Idempotency-Key}, written in the same transaction as the payment.
+ * The key is assigned by the client, so {@link Persistable} tells Spring Data to insert it without a lookup first.
+ */
+@Entity
+@Table(name = "payment_idempotency_keys")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(exclude = "responseBody")
+public class PaymentIdempotencyKey implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", nullable = false, updatable = false, length = 100)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "payment_id", nullable = false, updatable = false, columnDefinition = "uuid")
+    private UUID paymentId;
+
+    @Column(name = "response_body", nullable = false, updatable = false, columnDefinition = "text")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markStored() {
+        this.stored = true;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key handling for payment creation.
+ *
+ * @param cacheSize maximum number of responses kept in memory for fast replays
+ * @param cacheTtl  how long a response stays in memory after it was stored
+ * @param retention how long keys are kept in the database; a retry after that creates a new payment
+ */
+@ConfigurationProperties(prefix = "loan-manager.payment.idempotency")
+public record PaymentIdempotencyProperties(
+        @DefaultValue("10000") long cacheSize,
+        @DefaultValue("10m") Duration cacheTtl,
+        @DefaultValue("7d") Duration retention
+) {
+}
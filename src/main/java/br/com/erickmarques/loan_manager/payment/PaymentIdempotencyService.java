@@ -0,0 +1,19 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import java.util.Optional;
+
+public interface PaymentIdempotencyService {
+
+    /**
+     * Returns the response stored for the key, or empty when the key was never used.
+     * Fails with 422 when the key was used for a different request.
+     */
+    Optional<PaymentResponse> findReplay(String idempotencyKey, PaymentRequest request);
+
+    /**
+     * Stores the response under the key. Must run in the transaction that created the payment.
+     */
+    void remember(String idempotencyKey, PaymentRequest request, PaymentResponse response);
+
+    void purgeExpired();
+}
@@ -0,0 +1,145 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class PaymentIdempotencyServiceImpl implements PaymentIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final PaymentIdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final PaymentIdempotencyProperties properties;
+    private final Cache<String, StoredResponse> responses;
+
+    public PaymentIdempotencyServiceImpl(PaymentIdempotencyKeyRepository repository,
+                                         ObjectMapper objectMapper,
+                                         PaymentIdempotencyProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.cacheTtl())
+                .build();
+    }
+
+    @Override
+    public Optional<PaymentResponse> findReplay(String idempotencyKey, PaymentRequest request) {
+        validate(idempotencyKey);
+
+        var requestHash = hash(request);
+        var stored = responses.getIfPresent(idempotencyKey);
+
+        if (stored == null) {
+            stored = repository.findById(idempotencyKey)
+                    .map(key -> new StoredResponse(key.getRequestHash(), read(key.getResponseBody())))
+                    .orElse(null);
+
+            if (stored == null) {
+                return Optional.empty();
+            }
+
+            responses.put(idempotencyKey, stored);
+        }
+
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different payment!");
+        }
+
+        log.info("Replaying payment {} for Idempotency-Key {}.", stored.response().id(), idempotencyKey);
+
+        return Optional.of(stored.response());
+    }
+
+    @Override
+    public void remember(String idempotencyKey, PaymentRequest request, PaymentResponse response) {
+        var stored = new StoredResponse(hash(request), response);
+
+        repository.saveAndFlush(PaymentIdempotencyKey.builder()
+                .key(idempotencyKey)
+                .requestHash(stored.requestHash())
+                .paymentId(response.id())
+                .responseBody(write(response))
+                .build());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            responses.put(idempotencyKey, stored);
+            return;
+        }
+
+        // A rolled back payment must not be replayed, so the cache only learns about committed keys.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responses.put(idempotencyKey, stored);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${loan-manager.payment.idempotency.purge-interval:PT1H}",
+            initialDelayString = "${loan-manager.payment.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        var removed = repository.deleteCreatedBefore(LocalDateTime.now().minus(properties.retention()));
+
+        log.info("Purged {} expired payment idempotency keys.", removed);
+    }
+
+    private void validate(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters!");
+        }
+    }
+
+    private String hash(PaymentRequest request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not hash payment request", ex);
+        }
+    }
+
+    private String write(PaymentResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize payment response", ex);
+        }
+    }
+
+    private PaymentResponse read(String body) {
+        try {
+            return objectMapper.readValue(body, PaymentResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored payment response", ex);
+        }
+    }
+
+    private record StoredResponse(String requestHash, PaymentResponse response) {
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning {@link ProcessPaymentService#process}.
+ */
+@Name("loanmanager.PaymentProcess")
+@Label("Payment Process")
+@Category({"Loan Manager", "Payment"})
+@Description("Application of a payment to its loan")
+class PaymentProcessJfrEvent extends Event {
+
+    @Label("Loan Id")
+    String loanId;
+
+    @Label("Payment Type")
+    String paymentType;
+
+    @Label("Exception")
+    String exception;
+}
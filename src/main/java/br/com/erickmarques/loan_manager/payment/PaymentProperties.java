@@ -0,0 +1,26 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the payment registration path.
+ *
+ * @param maxAttempts     how many times a registration is attempted when it loses an optimistic lock race on its loan
+ * @param retryBackoff    base pause between attempts; it grows linearly with the attempt number and gets some jitter
+ * @param concurrencyMode {@code OPTIMISTIC} lets payments of one loan race and retry, {@code STRIPED} queues them
+ *                        in-process behind a per-loan lock first
+ * @param lockStripes     number of locks loan ids are hashed onto in {@code STRIPED} mode
+ * @param lockTimeout     how long a payment waits for its loan stripe before being rejected
+ */
+@ConfigurationProperties(prefix = "loan-manager.payment")
+public record PaymentProperties(
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("25ms") Duration retryBackoff,
+        @DefaultValue("OPTIMISTIC") PaymentConcurrencyMode concurrencyMode,
+        @DefaultValue("64") int lockStripes,
+        @DefaultValue("5s") Duration lockTimeout
+) {
+}
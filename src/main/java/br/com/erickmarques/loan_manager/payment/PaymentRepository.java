@@ -1,14 +1,78 @@
 package br.com.erickmarques.loan_manager.payment;
 
+import br.com.erickmarques.loan_manager.export.StreamingExporter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
-    List<Payment> findAllByLoanIdOrderByPaymentDateAsc(UUID loanId);
 
-    List<Payment> findAllByOrderByPaymentDateAsc();
+    /**
+     * Rows of the list endpoints, projected straight into {@link PaymentResponse}. The loan id is the foreign key
+     * column itself, so no join is needed.
+     */
+    String RESPONSE_PROJECTION = """
+        SELECT new br.com.erickmarques.loan_manager.payment.PaymentResponse(
+            p.id, p.paymentDate, p.amount, p.notes, p.type, p.loan.id, p.createdAt, p.updatedAt)
+        FROM Payment p
+    """;
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE p.loan.id = :loanId
+        ORDER BY p.paymentDate ASC
+    """)
+    List<PaymentResponse> findAllByLoanIdOrderByPaymentDateAsc(@Param("loanId") UUID loanId);
+
+    @Query(RESPONSE_PROJECTION + """
+        ORDER BY p.paymentDate ASC NULLS LAST, p.id ASC
+    """)
+    List<PaymentResponse> findFirstPage(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE p.paymentDate >= :paymentDate
+          AND (p.paymentDate > :paymentDate OR p.id > :id)
+        ORDER BY p.paymentDate ASC, p.id ASC
+    """)
+    List<PaymentResponse> findPageAfter(@Param("paymentDate") LocalDate paymentDate,
+                                        @Param("id") UUID id,
+                                        Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE p.paymentDate IS NULL
+        ORDER BY p.id ASC
+    """)
+    List<PaymentResponse> findUndatedFirstPage(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + """
+        WHERE p.paymentDate IS NULL
+          AND p.id > :id
+        ORDER BY p.id ASC
+    """)
+    List<PaymentResponse> findUndatedPageAfter(@Param("id") UUID id, Pageable pageable);
+
+    /**
+     * Forward-only read of every payment for exports. The loan stays an uninitialized proxy: only its id is read.
+     */
+    @Query("""
+        SELECT p
+        FROM Payment p
+        ORDER BY p.id ASC
+    """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Payment> streamAll();
 }
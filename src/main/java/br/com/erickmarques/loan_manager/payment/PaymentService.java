@@ -1,5 +1,9 @@
 package br.com.erickmarques.loan_manager.payment;
 
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
+
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -7,13 +11,17 @@ public interface PaymentService {
 
     PaymentResponse create(PaymentRequest request);
 
+    PaymentResponse create(PaymentRequest request, String idempotencyKey);
+
     PaymentResponse update(UUID id, PaymentRequest request);
 
     PaymentResponse findById(UUID id);
 
-    List<PaymentResponse> findAll();
+    CursorPage<PaymentResponse> findPage(String cursor, Integer size);
 
     List<PaymentResponse> findAllByLoanId(UUID loanId);
 
+    void export(ExportFormat format, OutputStream out);
+
     void deleteById(UUID id);
 }
@@ -1,42 +1,74 @@
 package br.com.erickmarques.loan_manager.payment;
 
+import br.com.erickmarques.loan_manager.cache.ReadCaches;
+import br.com.erickmarques.loan_manager.export.CsvColumn;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.export.StreamingExporter;
 import br.com.erickmarques.loan_manager.loan.Loan;
 import br.com.erickmarques.loan_manager.loan.LoanNotFoundException;
 import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
+import br.com.erickmarques.loan_manager.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final List<CsvColumn<PaymentResponse>> CSV_COLUMNS = List.of(
+            CsvColumn.of("id", PaymentResponse::id),
+            CsvColumn.of("paymentDate", PaymentResponse::paymentDate),
+            CsvColumn.of("amount", PaymentResponse::amount),
+            CsvColumn.of("type", PaymentResponse::type),
+            CsvColumn.of("notes", PaymentResponse::notes),
+            CsvColumn.of("loanId", PaymentResponse::loanId),
+            CsvColumn.of("createdAt", PaymentResponse::createdAt),
+            CsvColumn.of("updatedAt", PaymentResponse::updatedAt)
+    );
+
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
     private final LoanRepository loanRepository;
     private final ProcessPaymentService processPaymentService;
+    private final PaymentTransactionRunner paymentTransactionRunner;
+    private final LoanLockManager loanLockManager;
+    private final PaymentIdempotencyService paymentIdempotencyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamingExporter streamingExporter;
 
     @Override
     public PaymentResponse create(PaymentRequest request) {
-        var loan = findLoanById(request.loanId());
-        var payment = paymentMapper.toEntity(request, loan);
-
-        log.info("Receives payment of {} for loan ID {}.", request.amount(), loan.getId());
-
-        paymentRepository.save(payment);
-
-        processPaymentService.process(payment);
+        // The loan lock spans the whole transaction: the loan is read and committed while it is held.
+        return recorded(request, false, () -> loanLockManager.withLock(request.loanId(),
+                () -> paymentTransactionRunner.execute(() -> register(request))));
+    }
 
-        log.info("Payment registered with ID {}.", payment.getId());
+    @Override
+    public PaymentResponse create(PaymentRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(request);
+        }
 
-        return paymentMapper.toResponse(payment);
+        return recorded(request, true, () -> createIdempotent(request, idempotencyKey));
     }
 
     @Override
+    @Transactional
     public PaymentResponse update(UUID id, PaymentRequest request) {
         log.info("Requesting payment update with ID {}.", id);
 
@@ -45,6 +77,7 @@ public class PaymentServiceImpl implements PaymentService {
         var updated = paymentMapper.updateEntity(existing, request, loan);
 
         paymentRepository.save(updated);
+        eventPublisher.publishEvent(new PaymentChangedEvent(id));
 
         log.info("Updated payment with ID {}.", id);
 
@@ -52,6 +85,7 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReadCaches.PAYMENTS, key = "#id", sync = true)
     public PaymentResponse findById(UUID id) {
         log.info("Finding payment by ID {}.", id);
 
@@ -61,26 +95,39 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    public List<PaymentResponse> findAll() {
-        log.info("Finding all payments.");
-
-        return paymentRepository.findAllByOrderByPaymentDateAsc()
-                .stream()
-                .map(paymentMapper::toResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponse> findPage(String cursor, Integer size) {
+        log.info("Finding payments page after cursor {}.", cursor);
+
+        var pageSize = CursorPage.resolvePageSize(size);
+        var rows = findPaymentsAfter(KeysetCursor.decode(cursor), pageSize + 1);
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                payment -> new KeysetCursor(payment.paymentDate(), payment.id()),
+                Function.identity()
+        );
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> findAllByLoanId(UUID loanId) {
         log.info("Finding all payments for loanId {}.", loanId);
 
-        return paymentRepository.findAllByLoanIdOrderByPaymentDateAsc(loanId)
-                .stream()
-                .map(paymentMapper::toResponse)
-                .toList();
+        return paymentRepository.findAllByLoanIdOrderByPaymentDateAsc(loanId);
     }
 
     @Override
+    public void export(ExportFormat format, OutputStream out) {
+        log.info("Exporting payments as {}.", format);
+
+        streamingExporter.export(out, format, PaymentResponse.class, CSV_COLUMNS,
+                paymentRepository::streamAll, paymentMapper::toResponse);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(UUID id) {
         log.info("Requesting payment deletion with ID {}.", id);
 
@@ -89,10 +136,87 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         paymentRepository.deleteById(id);
+        eventPublisher.publishEvent(new PaymentChangedEvent(id));
 
         log.info("Payment deleted.");
     }
 
+    private PaymentResponse createIdempotent(PaymentRequest request, String idempotencyKey) {
+        var replay = paymentIdempotencyService.findReplay(idempotencyKey, request);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        try {
+            return loanLockManager.withLock(request.loanId(), () -> paymentTransactionRunner.execute(() -> {
+                var response = register(request);
+                paymentIdempotencyService.remember(idempotencyKey, request, response);
+                return response;
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent retry with the same key committed first; answer with its payment.
+            return paymentIdempotencyService.findReplay(idempotencyKey, request)
+                    .orElseThrow(() -> ex);
+        }
+    }
+
+    private PaymentResponse recorded(PaymentRequest request, boolean idempotent, Supplier<PaymentResponse> create) {
+        var event = new PaymentCreateJfrEvent();
+
+        event.begin();
+        try {
+            return create.get();
+        } catch (RuntimeException ex) {
+            event.exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.loanId = String.valueOf(request.loanId());
+            event.paymentType = String.valueOf(request.type());
+            event.idempotent = idempotent;
+            event.commit();
+        }
+    }
+
+    private PaymentResponse register(PaymentRequest request) {
+        var loan = findLoanById(request.loanId());
+        var payment = paymentMapper.toEntity(request, loan);
+
+        log.info("Receives payment of {} for loan ID {}.", request.amount(), loan.getId());
+
+        paymentRepository.save(payment);
+
+        processPaymentService.process(payment);
+
+        // Surfaces a lost race on the loan version here, where the runner can retry it.
+        paymentRepository.flush();
+
+        log.info("Payment registered with ID {}.", payment.getId());
+
+        return paymentMapper.toResponse(payment);
+    }
+
+    private List<PaymentResponse> findPaymentsAfter(KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return paymentRepository.findFirstPage(PageRequest.ofSize(limit));
+        }
+
+        if (cursor.paymentDate() == null) {
+            return paymentRepository.findUndatedPageAfter(cursor.id(), PageRequest.ofSize(limit));
+        }
+
+        var rows = paymentRepository.findPageAfter(cursor.paymentDate(), cursor.id(), PageRequest.ofSize(limit));
+
+        if (rows.size() == limit) {
+            return rows;
+        }
+
+        // Dated rows are exhausted; undated ones sort last and continue the same page.
+        var page = new ArrayList<>(rows);
+        page.addAll(paymentRepository.findUndatedFirstPage(PageRequest.ofSize(limit - rows.size())));
+
+        return page;
+    }
+
     private Payment findPaymentById(UUID id) {
         return paymentRepository.findById(id)
                 .orElseThrow(() -> new PaymentNotFoundException(id));
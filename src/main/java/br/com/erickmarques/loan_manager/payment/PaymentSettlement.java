@@ -0,0 +1,15 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Money received for a loan through an external channel (bank return file, PIX), before it becomes a payment.
+ */
+public record PaymentSettlement(
+        UUID loanId,
+        LocalDate paymentDate,
+        BigDecimal amount,
+        String notes
+) {}
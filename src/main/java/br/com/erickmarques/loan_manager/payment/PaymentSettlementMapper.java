@@ -0,0 +1,16 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.loan.Loan;
+
+public interface PaymentSettlementMapper {
+
+    /**
+     * Maps a settlement to a payment request for the loan it pays. A settlement that covers the loan total closes it
+     * ({@link PaymentType#FINISHED}); one that covers at least the interest due, or is for an unknown loan, is taken
+     * as interest ({@link PaymentType#INTEREST}).
+     *
+     * @throws org.springframework.web.server.ResponseStatusException when the settlement does not even cover the
+     *         interest due, so someone can decide what it was for
+     */
+    PaymentRequest toRequest(PaymentSettlement settlement, Loan loan);
+}
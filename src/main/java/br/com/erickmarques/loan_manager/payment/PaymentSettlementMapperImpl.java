@@ -0,0 +1,41 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.loan.Loan;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+public class PaymentSettlementMapperImpl implements PaymentSettlementMapper {
+
+    @Override
+    public PaymentRequest toRequest(PaymentSettlement settlement, Loan loan) {
+        return PaymentRequest.builder()
+                .paymentDate(settlement.paymentDate())
+                .amount(settlement.amount())
+                .notes(settlement.notes())
+                .type(typeOf(settlement, loan))
+                .loanId(settlement.loanId())
+                .build();
+    }
+
+    private PaymentType typeOf(PaymentSettlement settlement, Loan loan) {
+        if (loan == null || settlement.amount() == null) {
+            return PaymentType.INTEREST;
+        }
+
+        if (settlement.amount().compareTo(loan.getTotalAmountToPay()) >= 0) {
+            return PaymentType.FINISHED;
+        }
+
+        var interestDue = loan.getTotalAmountToPay().subtract(loan.getAmount());
+
+        if (settlement.amount().compareTo(interestDue) < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The settlement of " + settlement.amount() + " does not cover the interest due of " + interestDue
+                            + "; register it manually.");
+        }
+
+        return PaymentType.INTEREST;
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of payment work in its own transaction and replays it when the loan it touches was
+ * changed concurrently (the loan {@code @Version} check failed).
+ * <p>
+ * Each attempt starts from a fresh transaction, so the work must reload whatever it reads.
+ * When a transaction is already active the work simply joins it and the outermost caller owns the retry.
+ */
+@Component
+@Slf4j
+public class PaymentTransactionRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentProperties properties;
+    private final Counter attempts;
+    private final Counter conflicts;
+    private final Counter exhausted;
+
+    public PaymentTransactionRunner(PlatformTransactionManager transactionManager,
+                                    PaymentProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.attempts = Counter.builder("payments.registration.attempts")
+                .description("Transactions started to register payments, retries included")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("payments.registration.conflicts")
+                .description("Attempts rolled back because the loan was changed concurrently")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("payments.registration.retries.exhausted")
+                .description("Registrations rejected after using every attempt")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException ex) {
+                conflicts.increment();
+
+                if (attempt >= properties.maxAttempts()) {
+                    exhausted.increment();
+                    log.warn("[PAYMENT] Giving up after {} concurrent update conflicts.", attempt);
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "The loan is being updated by another payment, please try again!", ex);
+                }
+
+                log.info("[PAYMENT] Concurrent update on attempt {}, retrying.", attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        var base = properties.retryBackoff().toMillis() * attempt;
+
+        if (base <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(base));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Payment registration interrupted!", ex);
+        }
+    }
+}
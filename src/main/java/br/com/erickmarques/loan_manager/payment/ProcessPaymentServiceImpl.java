@@ -1,15 +1,21 @@
 package br.com.erickmarques.loan_manager.payment;
 
+import br.com.erickmarques.loan_manager.customer.CustomerLoanCounterService;
 import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanChangedEvent;
 import br.com.erickmarques.loan_manager.loan.LoanRepository;
 import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Service
 @RequiredArgsConstructor
@@ -17,10 +23,37 @@ import java.math.BigDecimal;
 public class ProcessPaymentServiceImpl implements ProcessPaymentService {
 
     private final LoanRepository loanRepository;
+    private final CustomerLoanCounterService customerLoanCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void process(Payment payment) {
+        var sample = Timer.start(meterRegistry);
+        var event = new PaymentProcessJfrEvent();
+        var exception = "none";
+
+        event.begin();
+        try {
+            apply(payment);
+        } catch (RuntimeException ex) {
+            exception = ex.getClass().getSimpleName();
+            event.exception = exception;
+            throw ex;
+        } finally {
+            event.loanId = String.valueOf(payment.getLoan().getId());
+            event.paymentType = String.valueOf(payment.getType());
+            event.commit();
+
+            sample.stop(Timer.builder("payment.process")
+                    .description("Time to apply a payment to its loan")
+                    .tag("type", String.valueOf(payment.getType()))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
 
+    private void apply(Payment payment) {
         var loan = payment.getLoan();
 
         log.info("[PAYMENT] Processing payment of {} for Loan {}",
@@ -37,13 +70,17 @@ public class ProcessPaymentServiceImpl implements ProcessPaymentService {
         }
 
         loanRepository.save(loan);
+        eventPublisher.publishEvent(new LoanChangedEvent(loan.getId()));
     }
 
     private void closeLoan(Loan loan, Payment payment) {
         log.info("[PAYMENT] Closing Loan {}. Payment {} >= total {}",
                 loan.getId(), payment.getAmount(), loan.getTotalAmountToPay());
 
-        loan.setStatus(LoanStatus.CLOSED);
+        if (loan.getStatus() != LoanStatus.CLOSED) {
+            loan.setStatus(LoanStatus.CLOSED);
+            customerLoanCounterService.loanClosed(loan.getCustomer().getId());
+        }
 
         log.info("[PAYMENT] Loan {} successfully closed", loan.getId());
     }
@@ -52,16 +89,16 @@ public class ProcessPaymentServiceImpl implements ProcessPaymentService {
 
         log.info("[PAYMENT] Applying negotiation rules for Loan {}", loan.getId());
 
+        if (payment.getNotes() == null || payment.getNotes().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "For payment agreements, please provide some notes!");
+        }
+
         var newAmount = loan.getAmount().subtract(payment.getAmount());
         var newTotal = loan.getTotalAmountToPay().subtract(payment.getAmount());
 
         loan.setAmount(newAmount.max(BigDecimal.ZERO));
         loan.setTotalAmountToPay(newTotal.max(BigDecimal.ZERO));
 
-        if (payment.getNotes() == null || payment.getNotes().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "For payment agreements, please provide some notes!");
-        }
-
         log.info("[PAYMENT] Negotiation updated Loan {}: newAmount = {}, newTotalToPay = {}",
                 loan.getId(),
                 loan.getAmount(),
@@ -72,8 +109,16 @@ public class ProcessPaymentServiceImpl implements ProcessPaymentService {
     private void postponeLoanDueDate(Loan loan) {
         log.info("[PAYMENT] Postponing payment date for Loan {} (no negotiation)", loan.getId());
 
+        if (loan.getPaymentDate() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The loan has no payment date to postpone!");
+        }
+
         loan.setPaymentDate(loan.getPaymentDate().plusMonths(1));
 
+        if (loan.getStatus() == LoanStatus.OVERDUE && !loan.getPaymentDate().isBefore(LocalDate.now())) {
+            loan.setStatus(LoanStatus.OPEN);
+        }
+
         log.info("[PAYMENT] Loan {} new paymentDate= {}", loan.getId(), loan.getPaymentDate());
     }
 }
@@ -0,0 +1,38 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * One received PIX, as sent by the PSP webhook. The {@code txid} is the loan id without dashes.
+ */
+@Builder
+public record PixConfirmation(
+        @NotBlank(message = "The field endToEndId is required.")
+        @Size(max = 32, message = "The field endToEndId must have at most 32 characters.")
+        String endToEndId,
+
+        @NotNull(message = "The field txid is required.")
+        @Pattern(regexp = "[0-9a-fA-F]{32}", message = "The field txid must be a loan id without dashes.")
+        String txid,
+
+        @NotNull(message = "The field valor is required.")
+        @Positive(message = "The field valor must be greater than zero.")
+        @JsonProperty("valor")
+        BigDecimal amount,
+
+        @NotNull(message = "The field horario is required.")
+        @JsonProperty("horario")
+        OffsetDateTime paidAt,
+
+        @JsonProperty("infoPagador")
+        String payerInfo
+) {}
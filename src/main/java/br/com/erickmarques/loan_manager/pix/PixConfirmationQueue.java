@@ -0,0 +1,76 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off between the webhook and the workers. Offering never blocks, so the webhook answers right away:
+ * either the confirmations were queued or the caller must retry later.
+ */
+@Component
+public class PixConfirmationQueue {
+
+    private final BlockingQueue<PixConfirmation> queue;
+    private final Counter accepted;
+    private final Counter throttled;
+
+    public PixConfirmationQueue(PixProperties properties, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.accepted = Counter.builder("pix.confirmations.accepted")
+                .description("PIX confirmations acknowledged by the webhook")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("pix.confirmations.throttled")
+                .description("PIX confirmations refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("pix.queue.size", queue, BlockingQueue::size)
+                .description("PIX confirmations waiting to be registered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues every confirmation or none of them, so a PSP retry never mixes queued and refused entries.
+     */
+    public synchronized boolean offerAll(List<PixConfirmation> confirmations) {
+        if (queue.remainingCapacity() < confirmations.size()) {
+            throttled.increment(confirmations.size());
+            return false;
+        }
+
+        queue.addAll(confirmations);
+        accepted.increment(confirmations.size());
+        return true;
+    }
+
+    /**
+     * Puts back a confirmation already acknowledged, without counting it as accepted again. Returns {@code false}
+     * when the queue is full.
+     */
+    public boolean requeue(PixConfirmation confirmation) {
+        return queue.offer(confirmation);
+    }
+
+    /**
+     * Waits up to {@code timeout} for a first confirmation, then takes whatever else is ready up to {@code max}.
+     */
+    public int drain(Collection<PixConfirmation> batch, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        var first = queue.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+
+        batch.add(first);
+        return 1 + queue.drainTo(batch, max - 1);
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Every PIX already handled, keyed by its end-to-end id, so a confirmation delivered twice is registered once.
+ */
+@Entity
+@Table(name = "pix_confirmations")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PixConfirmationRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "end_to_end_id", nullable = false, updatable = false, length = 32)
+    private String endToEndId;
+
+    @Column(name = "txid", nullable = false, updatable = false, length = 35)
+    private String txid;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, updatable = false, length = 20)
+    private PixConfirmationStatus status;
+
+    @Column(name = "payment_id", updatable = false, columnDefinition = "uuid")
+    private UUID paymentId;
+
+    @Column(name = "reason", updatable = false, length = 4000)
+    private String reason;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return endToEndId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markStored() {
+        this.stored = true;
+    }
+}
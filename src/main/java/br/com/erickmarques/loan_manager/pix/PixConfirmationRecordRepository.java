@@ -0,0 +1,14 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface PixConfirmationRecordRepository extends JpaRepository<PixConfirmationRecord, String> {
+
+    @Query("SELECT p.endToEndId FROM PixConfirmationRecord p WHERE p.endToEndId IN :endToEndIds")
+    Set<String> findHandledIds(@Param("endToEndIds") Collection<String> endToEndIds);
+}
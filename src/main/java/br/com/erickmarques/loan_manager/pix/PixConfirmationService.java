@@ -0,0 +1,11 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import java.util.List;
+
+public interface PixConfirmationService {
+
+    /**
+     * Registers a micro-batch of confirmations in one transaction, skipping the ones already handled.
+     */
+    void register(List<PixConfirmation> confirmations);
+}
@@ -0,0 +1,109 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.payment.LoanLockManager;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchItemStatus;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchService;
+import br.com.erickmarques.loan_manager.payment.PaymentSettlement;
+import br.com.erickmarques.loan_manager.payment.PaymentTransactionRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PixConfirmationServiceImpl implements PixConfirmationService {
+
+    private final PixConfirmationRecordRepository pixConfirmationRecordRepository;
+    private final PaymentBatchService paymentBatchService;
+    private final LoanLockManager loanLockManager;
+    private final PaymentTransactionRunner paymentTransactionRunner;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void register(List<PixConfirmation> confirmations) {
+        // Stripes are taken outside the transaction so they are released only after it commits.
+        var loanIds = confirmations.stream()
+                .map(confirmation -> PixTxid.toLoanId(confirmation.txid()))
+                .toList();
+        Outcome outcome;
+
+        try {
+            outcome = loanLockManager.withLocks(loanIds,
+                    () -> paymentTransactionRunner.execute(() -> registerNew(confirmations)));
+        } catch (DataIntegrityViolationException ex) {
+            // Another worker committed one of these end-to-end ids first; the second pass skips it.
+            log.info("[PIX] Duplicate confirmation committed concurrently, registering the batch again.");
+            outcome = loanLockManager.withLocks(loanIds,
+                    () -> paymentTransactionRunner.execute(() -> registerNew(confirmations)));
+        }
+
+        count("duplicate", outcome.duplicates());
+        count("accepted", outcome.accepted());
+        count("rejected", outcome.rejected());
+    }
+
+    private Outcome registerNew(List<PixConfirmation> confirmations) {
+        var unique = new LinkedHashMap<String, PixConfirmation>();
+        confirmations.forEach(confirmation -> unique.putIfAbsent(confirmation.endToEndId(), confirmation));
+
+        var handled = pixConfirmationRecordRepository.findHandledIds(unique.keySet());
+        handled.forEach(unique::remove);
+
+        var duplicates = confirmations.size() - unique.size();
+        if (unique.isEmpty()) {
+            return new Outcome(duplicates, 0, 0);
+        }
+
+        var fresh = new ArrayList<>(unique.values());
+        var settlements = fresh.stream()
+                .map(confirmation -> new PaymentSettlement(
+                        PixTxid.toLoanId(confirmation.txid()),
+                        confirmation.paidAt().toLocalDate(),
+                        confirmation.amount(),
+                        "PIX " + confirmation.endToEndId()
+                ))
+                .toList();
+
+        var result = paymentBatchService.settle(settlements);
+        var records = new ArrayList<PixConfirmationRecord>(fresh.size());
+
+        for (var item : result.items()) {
+            var confirmation = fresh.get(item.index());
+            var accepted = item.status() == PaymentBatchItemStatus.ACCEPTED;
+
+            if (!accepted) {
+                log.warn("[PIX] Confirmation {} rejected: {}", confirmation.endToEndId(), item.errors());
+            }
+
+            records.add(PixConfirmationRecord.builder()
+                    .endToEndId(confirmation.endToEndId())
+                    .txid(confirmation.txid())
+                    .amount(confirmation.amount())
+                    .status(accepted ? PixConfirmationStatus.ACCEPTED : PixConfirmationStatus.REJECTED)
+                    .paymentId(accepted ? item.payment().id() : null)
+                    .reason(accepted ? null : String.join(" ", item.errors()))
+                    .build());
+        }
+
+        pixConfirmationRecordRepository.saveAll(records);
+        pixConfirmationRecordRepository.flush();
+
+        return new Outcome(duplicates, result.accepted(), result.rejected());
+    }
+
+    private void count(String outcome, long amount) {
+        if (amount > 0) {
+            meterRegistry.counter("pix.confirmations.processed", "outcome", outcome).increment(amount);
+        }
+    }
+
+    private record Outcome(long duplicates, long accepted, long rejected) {
+    }
+}
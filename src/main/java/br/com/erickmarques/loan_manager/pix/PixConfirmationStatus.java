@@ -0,0 +1,6 @@
+package br.com.erickmarques.loan_manager.pix;
+
+public enum PixConfirmationStatus {
+    ACCEPTED,
+    REJECTED
+}
@@ -0,0 +1,155 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the PIX queue in micro-batches. Starts before and stops after the web server, so on shutdown the webhook
+ * stops taking confirmations first and the workers then finish what is already queued, up to the configured timeout.
+ * <p>
+ * The webhook has already acknowledged whatever is queued, so a batch that fails is registered again one
+ * confirmation at a time; one that still fails goes to the dead letters, or back to the queue when even those
+ * cannot be written.
+ */
+@Component
+@Slf4j
+public class PixConfirmationWorker implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 200;
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final PixConfirmationQueue queue;
+    private final PixConfirmationService pixConfirmationService;
+    private final PixDeadLetterRepository pixDeadLetterRepository;
+    private final PixProperties properties;
+    private final Timer batchTimer;
+    private final Counter deadLettered;
+    private final Counter requeued;
+    private final Counter failed;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public PixConfirmationWorker(PixConfirmationQueue queue,
+                                 PixConfirmationService pixConfirmationService,
+                                 PixDeadLetterRepository pixDeadLetterRepository,
+                                 PixProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.pixConfirmationService = pixConfirmationService;
+        this.pixDeadLetterRepository = pixDeadLetterRepository;
+        this.properties = properties;
+        this.batchTimer = Timer.builder("pix.batch.duration")
+                .description("Time to register one micro-batch of PIX confirmations")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("pix.confirmations.dead.lettered")
+                .description("PIX confirmations that could not be registered and were kept for manual review")
+                .register(meterRegistry);
+        this.requeued = Counter.builder("pix.confirmations.requeued")
+                .description("PIX confirmations put back on the queue because not even a dead letter could be written")
+                .register(meterRegistry);
+        this.failed = Counter.builder("pix.confirmations.failed")
+                .description("PIX confirmations lost to unexpected errors while registering")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // Workers spend most of their time waiting on the queue or the database, which is what virtual threads are for.
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pix-worker-", 1).factory());
+
+        for (int i = 0; i < properties.workers(); i++) {
+            executor.submit(this::drainLoop);
+        }
+
+        log.info("[PIX] Started {} queue workers.", properties.workers());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("[PIX] Queue not drained within {}, stopping workers.", properties.shutdownTimeout());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        var batch = new ArrayList<PixConfirmation>(properties.maxBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                if (queue.drain(batch, properties.maxBatchSize(), POLL_MILLIS, TimeUnit.MILLISECONDS) > 0) {
+                    registerBatch(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void registerBatch(List<PixConfirmation> batch) {
+        try {
+            batchTimer.record(() -> pixConfirmationService.register(batch));
+        } catch (RuntimeException ex) {
+            // One bad confirmation rolls back the whole batch; alone, the others still go through.
+            log.warn("[PIX] Could not register {} confirmations together, retrying one at a time.", batch.size(), ex);
+            batch.forEach(this::registerAlone);
+        }
+    }
+
+    private void registerAlone(PixConfirmation confirmation) {
+        try {
+            pixConfirmationService.register(List.of(confirmation));
+        } catch (RuntimeException ex) {
+            deadLetter(confirmation, ex);
+        }
+    }
+
+    private void deadLetter(PixConfirmation confirmation, RuntimeException cause) {
+        try {
+            pixDeadLetterRepository.save(PixDeadLetter.of(confirmation, cause));
+            deadLettered.increment();
+            log.error("[PIX] Confirmation {} moved to the dead letters.", confirmation.endToEndId(), cause);
+        } catch (RuntimeException ex) {
+            if (queue.requeue(confirmation)) {
+                requeued.increment();
+                log.warn("[PIX] Could not store confirmation {}, queued again.", confirmation.endToEndId(), ex);
+            } else {
+                failed.increment();
+                log.error("[PIX] Confirmation {} lost: {}", confirmation.endToEndId(), confirmation, cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/**
+ * A PIX confirmation the webhook acknowledged but the workers could not register, not even on its own. The PSP
+ * will not send it again, so it is kept whole until someone registers or discards it. Failing again on a later
+ * delivery overwrites the row with the latest error.
+ */
+@Entity
+@Table(name = "pix_dead_letters")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PixDeadLetter {
+
+    private static final int MAX_TEXT = 4000;
+
+    @Id
+    @Column(name = "end_to_end_id", nullable = false, updatable = false, length = 32)
+    private String endToEndId;
+
+    @Column(name = "txid", nullable = false, length = 35)
+    private String txid;
+
+    @Column(name = "amount", nullable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "paid_at", nullable = false)
+    private OffsetDateTime paidAt;
+
+    @Column(name = "payer_info", length = MAX_TEXT)
+    private String payerInfo;
+
+    @Column(name = "error", length = MAX_TEXT)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static PixDeadLetter of(PixConfirmation confirmation, Exception cause) {
+        return PixDeadLetter.builder()
+                .endToEndId(confirmation.endToEndId())
+                .txid(confirmation.txid())
+                .amount(confirmation.amount())
+                .paidAt(confirmation.paidAt())
+                .payerInfo(truncate(confirmation.payerInfo()))
+                .error(truncate(String.valueOf(cause)))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String truncate(String text) {
+        return text == null || text.length() <= MAX_TEXT ? text : text.substring(0, MAX_TEXT);
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PixDeadLetterRepository extends JpaRepository<PixDeadLetter, String> {
+}
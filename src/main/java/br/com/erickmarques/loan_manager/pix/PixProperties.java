@@ -0,0 +1,23 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * PIX webhook intake.
+ *
+ * @param queueCapacity   confirmations acknowledged but not yet registered; a full queue answers 429
+ * @param workers         threads draining the queue
+ * @param maxBatchSize    confirmations registered per transaction
+ * @param shutdownTimeout how long shutdown waits for the queue to drain
+ */
+@ConfigurationProperties(prefix = "loan-manager.pix")
+public record PixProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("2") int workers,
+        @DefaultValue("200") int maxBatchSize,
+        @DefaultValue("10s") Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+
+/**
+ * Local PIX sender used for load tests, active with the {@code pix-stub} profile.
+ *
+ * @param targetUrl     webhook the stub posts to
+ * @param ratePerSecond confirmations sent per second
+ * @param amount        amount of every confirmation
+ */
+@ConfigurationProperties(prefix = "loan-manager.pix.stub")
+public record PixStubProperties(
+        @DefaultValue("http://localhost:8080/api/v1/pix/webhook") String targetUrl,
+        @DefaultValue("50") int ratePerSecond,
+        @DefaultValue("1.00") BigDecimal amount
+) {
+}
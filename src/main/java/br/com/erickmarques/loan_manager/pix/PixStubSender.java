@@ -0,0 +1,87 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays the PSP for load tests: every second posts {@code rate-per-second} confirmations for random loans to the
+ * webhook, the same way the real provider would.
+ */
+@Component
+@Profile("pix-stub")
+@Slf4j
+public class PixStubSender {
+
+    private static final int LOAN_SAMPLE = 1_000;
+
+    private final RestClient restClient;
+    private final LoanRepository loanRepository;
+    private final PixStubProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private List<UUID> loanIds = List.of();
+
+    public PixStubSender(RestClient.Builder restClientBuilder,
+                         LoanRepository loanRepository,
+                         PixStubProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.restClient = restClientBuilder.baseUrl(properties.targetUrl()).build();
+        this.loanRepository = loanRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedRate = 1_000, initialDelay = 5_000)
+    public void send() {
+        if (loanIds.isEmpty()) {
+            loanIds = loanRepository.findFirstPage(PageRequest.ofSize(LOAN_SAMPLE)).stream()
+                    .map(LoanResponse::id)
+                    .toList();
+
+            if (loanIds.isEmpty()) {
+                log.info("[PIX STUB] No loans to pay yet.");
+                return;
+            }
+        }
+
+        var confirmations = new ArrayList<PixConfirmation>(properties.ratePerSecond());
+        for (int i = 0; i < properties.ratePerSecond(); i++) {
+            var loanId = loanIds.get(ThreadLocalRandom.current().nextInt(loanIds.size()));
+
+            confirmations.add(PixConfirmation.builder()
+                    .endToEndId("E" + UUID.randomUUID().toString().replace("-", "").substring(0, 31))
+                    .txid(PixTxid.of(loanId))
+                    .amount(properties.amount())
+                    .paidAt(OffsetDateTime.now())
+                    .payerInfo("Load test")
+                    .build());
+        }
+
+        try {
+            restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new PixWebhookRequest(confirmations))
+                    .retrieve()
+                    .toBodilessEntity();
+            meterRegistry.counter("pix.stub.sent", "outcome", "accepted").increment(confirmations.size());
+        } catch (RestClientResponseException ex) {
+            meterRegistry.counter("pix.stub.sent", "outcome", String.valueOf(ex.getStatusCode().value()))
+                    .increment(confirmations.size());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import java.util.UUID;
+
+/**
+ * The charge txid is the loan id without dashes, which fits the 26 to 35 characters the PIX spec allows.
+ */
+public final class PixTxid {
+
+    private PixTxid() {
+    }
+
+    public static String of(UUID loanId) {
+        return loanId.toString().replace("-", "");
+    }
+
+    public static UUID toLoanId(String txid) {
+        return UUID.fromString(txid.substring(0, 8) + "-" + txid.substring(8, 12) + "-" + txid.substring(12, 16)
+                + "-" + txid.substring(16, 20) + "-" + txid.substring(20, 32));
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.exception.ApiErrors;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/pix/webhook")
+@RequiredArgsConstructor
+@Tag(
+        name = "PIX Webhook API",
+        description = "Receives PIX confirmations from the payment service provider."
+)
+public class PixWebhookController {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final PixConfirmationQueue pixConfirmationQueue;
+
+    @Operation(
+            summary = "Receive PIX confirmations",
+            description = "Queues the confirmations and answers right away; payments are registered shortly after. "
+                    + "The txid of each PIX must be the loan id without dashes.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Confirmations queued"),
+                    @ApiResponse(responseCode = "400", description = "Invalid notification payload",
+                            content = @Content(schema = @Schema(implementation = ApiErrors.class))),
+                    @ApiResponse(responseCode = "429", description = "Queue full, retry after the given delay")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody @Validated PixWebhookRequest request) {
+        if (!pixConfirmationQueue.offerAll(request.pix())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record PixWebhookRequest(
+        @NotEmpty(message = "The field pix is required.")
+        List<@Valid PixConfirmation> pix
+) {}
@@ -0,0 +1,25 @@
+package br.com.erickmarques.loan_manager.report;
+
+import java.math.BigDecimal;
+
+/**
+ * Open loans in one days-past-due range and what they still owe.
+ */
+public record AgingBucket(
+        long loans,
+        BigDecimal amount
+) {
+
+    public static final AgingBucket EMPTY = new AgingBucket(0, BigDecimal.ZERO);
+
+    /**
+     * Reads one pivoted column pair of the aging query, where SUM yields {@code null} for an empty bucket.
+     */
+    static AgingBucket of(Long loans, BigDecimal amount) {
+        return new AgingBucket(loans == null ? 0 : loans, amount == null ? BigDecimal.ZERO : amount);
+    }
+
+    AgingBucket plus(AgingBucket other) {
+        return new AgingBucket(loans + other.loans, amount.add(other.amount));
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.erickmarques.loan_manager.report;
+
+/**
+ * Open exposure by days past due. Loans without a payment date, or due today or later, are current.
+ */
+public record AgingBuckets(
+        AgingBucket current,
+        AgingBucket days1To30,
+        AgingBucket days31To60,
+        AgingBucket days61To90,
+        AgingBucket over90Days
+) {
+
+    public static final AgingBuckets EMPTY = new AgingBuckets(
+            AgingBucket.EMPTY, AgingBucket.EMPTY, AgingBucket.EMPTY, AgingBucket.EMPTY, AgingBucket.EMPTY);
+
+    AgingBuckets plus(AgingBuckets other) {
+        return new AgingBuckets(
+                current.plus(other.current),
+                days1To30.plus(other.days1To30),
+                days31To60.plus(other.days31To60),
+                days61To90.plus(other.days61To90),
+                over90Days.plus(other.over90Days)
+        );
+    }
+}
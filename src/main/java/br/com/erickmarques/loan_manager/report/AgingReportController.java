@@ -0,0 +1,42 @@
+package br.com.erickmarques.loan_manager.report;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@Tag(
+        name = "Report API",
+        description = "Management reports over the loan book."
+)
+public class AgingReportController {
+
+    private final AgingReportService agingReportService;
+
+    @Operation(
+            summary = "Delinquency aging report",
+            description = "Returns the amount still owed on open loans, bucketed by days past due "
+                    + "(current, 1-30, 31-60, 61-90, over 90), per customer and overall. "
+                    + "Cached for a configurable interval and refreshed whenever a loan changes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Report returned successfully",
+                            content = @Content(schema = @Schema(implementation = AgingReportResponse.class)))
+            }
+    )
+    @GetMapping("/aging")
+    public ResponseEntity<AgingReportResponse> aging() {
+        var report = agingReportService.agingReport(LocalDate.now());
+        return ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.erickmarques.loan_manager.report;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Caching of the delinquency aging report.
+ *
+ * @param timeToLive longest a computed report is served; loan changes drop it earlier
+ */
+@ConfigurationProperties(prefix = "loan-manager.report.aging")
+public record AgingReportProperties(
+        @DefaultValue("5m") Duration timeToLive
+) {
+}
@@ -0,0 +1,42 @@
+package br.com.erickmarques.loan_manager.report;
+
+import br.com.erickmarques.loan_manager.loan.Loan;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface AgingReportRepository extends Repository<Loan, UUID> {
+
+    /**
+     * Every customer's open exposure in one grouped pass over {@code loans}: each bucket is a conditional COUNT and
+     * SUM over the same rows, so the database returns one narrow row per customer and no loan is hydrated. The
+     * bucket bounds are dates rather than date arithmetic on the column, which keeps the query portable.
+     */
+    @Query("""
+        SELECT new br.com.erickmarques.loan_manager.report.CustomerAgingRow(
+            c.id, c.name,
+            COUNT(CASE WHEN l.paymentDate IS NULL OR l.paymentDate >= :asOf THEN 1 END),
+            SUM(CASE WHEN l.paymentDate IS NULL OR l.paymentDate >= :asOf THEN l.totalAmountToPay END),
+            COUNT(CASE WHEN l.paymentDate < :asOf AND l.paymentDate >= :due30 THEN 1 END),
+            SUM(CASE WHEN l.paymentDate < :asOf AND l.paymentDate >= :due30 THEN l.totalAmountToPay END),
+            COUNT(CASE WHEN l.paymentDate < :due30 AND l.paymentDate >= :due60 THEN 1 END),
+            SUM(CASE WHEN l.paymentDate < :due30 AND l.paymentDate >= :due60 THEN l.totalAmountToPay END),
+            COUNT(CASE WHEN l.paymentDate < :due60 AND l.paymentDate >= :due90 THEN 1 END),
+            SUM(CASE WHEN l.paymentDate < :due60 AND l.paymentDate >= :due90 THEN l.totalAmountToPay END),
+            COUNT(CASE WHEN l.paymentDate < :due90 THEN 1 END),
+            SUM(CASE WHEN l.paymentDate < :due90 THEN l.totalAmountToPay END))
+        FROM Loan l
+        JOIN l.customer c
+        WHERE l.status <> br.com.erickmarques.loan_manager.loan.LoanStatus.CLOSED
+        GROUP BY c.id, c.name
+        ORDER BY c.name ASC, c.id ASC
+    """)
+    List<CustomerAgingRow> findCustomerAging(@Param("asOf") LocalDate asOf,
+                                             @Param("due30") LocalDate due30,
+                                             @Param("due60") LocalDate due60,
+                                             @Param("due90") LocalDate due90);
+}
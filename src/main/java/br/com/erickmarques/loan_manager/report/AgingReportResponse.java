@@ -0,0 +1,15 @@
+package br.com.erickmarques.loan_manager.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param asOf      day the days past due are counted from
+ * @param overall   sum of the customer rows
+ * @param customers customers with at least one open loan, by name
+ */
+public record AgingReportResponse(
+        LocalDate asOf,
+        AgingBuckets overall,
+        List<CustomerAgingResponse> customers
+) {}
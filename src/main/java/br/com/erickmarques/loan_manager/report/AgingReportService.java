@@ -0,0 +1,11 @@
+package br.com.erickmarques.loan_manager.report;
+
+import java.time.LocalDate;
+
+public interface AgingReportService {
+
+    /**
+     * Open exposure bucketed by days past due on {@code asOf}, per customer and overall.
+     */
+    AgingReportResponse agingReport(LocalDate asOf);
+}
@@ -0,0 +1,37 @@
+package br.com.erickmarques.loan_manager.report;
+
+import br.com.erickmarques.loan_manager.cache.ReadCaches;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgingReportServiceImpl implements AgingReportService {
+
+    private final AgingReportRepository agingReportRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = ReadCaches.AGING_REPORT, key = "#asOf", sync = true)
+    public AgingReportResponse agingReport(LocalDate asOf) {
+        log.info("Computing aging report as of {}.", asOf);
+
+        var customers = agingReportRepository.findCustomerAging(
+                        asOf, asOf.minusDays(30), asOf.minusDays(60), asOf.minusDays(90))
+                .stream()
+                .map(CustomerAgingRow::toResponse)
+                .toList();
+
+        var overall = customers.stream()
+                .map(CustomerAgingResponse::buckets)
+                .reduce(AgingBuckets.EMPTY, AgingBuckets::plus);
+
+        return new AgingReportResponse(asOf, overall, customers);
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.erickmarques.loan_manager.report;
+
+import java.util.UUID;
+
+public record CustomerAgingResponse(
+        UUID customerId,
+        String customerName,
+        AgingBuckets buckets
+) {}
@@ -0,0 +1,34 @@
+package br.com.erickmarques.loan_manager.report;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One row of {@link AgingReportRepository#findCustomerAging}: a customer's open loans pivoted into the aging buckets,
+ * as a count and a sum of {@code total_amount} per bucket.
+ */
+public record CustomerAgingRow(
+        UUID customerId,
+        String customerName,
+        Long currentLoans,
+        BigDecimal currentAmount,
+        Long days1To30Loans,
+        BigDecimal days1To30Amount,
+        Long days31To60Loans,
+        BigDecimal days31To60Amount,
+        Long days61To90Loans,
+        BigDecimal days61To90Amount,
+        Long over90DaysLoans,
+        BigDecimal over90DaysAmount
+) {
+
+    CustomerAgingResponse toResponse() {
+        return new CustomerAgingResponse(customerId, customerName, new AgingBuckets(
+                AgingBucket.of(currentLoans, currentAmount),
+                AgingBucket.of(days1To30Loans, days1To30Amount),
+                AgingBucket.of(days31To60Loans, days31To60Amount),
+                AgingBucket.of(days61To90Loans, days61To90Amount),
+                AgingBucket.of(over90DaysLoans, over90DaysAmount)
+        ));
+    }
+}
@@ -0,0 +1,11 @@
+-- PIX confirmations acknowledged to the PSP that could not be registered even one at a time, kept for manual review.
+CREATE TABLE IF NOT EXISTS pix_dead_letters (
+    end_to_end_id  VARCHAR(32)                  NOT NULL,
+    txid           VARCHAR(35)                  NOT NULL,
+    amount         NUMERIC(18, 2)               NOT NULL,
+    paid_at        TIMESTAMP(6) WITH TIME ZONE  NOT NULL,
+    payer_info     VARCHAR(4000),
+    error          VARCHAR(4000),
+    created_at     TIMESTAMP(6)                 NOT NULL,
+    CONSTRAINT pk_pix_dead_letters PRIMARY KEY (end_to_end_id)
+);
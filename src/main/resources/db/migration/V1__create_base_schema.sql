@@ -0,0 +1,39 @@
+CREATE TABLE IF NOT EXISTS customers (
+    id          UUID          NOT NULL,
+    name        VARCHAR(150)  NOT NULL,
+    phone       VARCHAR(20),
+    notes       VARCHAR(4000),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_customers PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS loans (
+    id            UUID           NOT NULL,
+    loan_date     DATE           NOT NULL,
+    payment_date  DATE,
+    amount        NUMERIC(18, 2) NOT NULL,
+    percentage    NUMERIC(5, 2),
+    total_amount  NUMERIC(18, 2) NOT NULL,
+    negotiation   BOOLEAN        NOT NULL,
+    notes         VARCHAR(4000),
+    status        VARCHAR(20)    NOT NULL,
+    customer_id   UUID           NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL,
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT pk_loans PRIMARY KEY (id),
+    CONSTRAINT fk_loans_customer FOREIGN KEY (customer_id) REFERENCES customers (id)
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id            UUID           NOT NULL,
+    payment_date  DATE,
+    amount        NUMERIC(18, 2) NOT NULL,
+    type          VARCHAR(20)    NOT NULL,
+    notes         VARCHAR(4000),
+    loan_id       UUID           NOT NULL,
+    created_at    TIMESTAMP(6)   NOT NULL,
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT pk_payments PRIMARY KEY (id),
+    CONSTRAINT fk_payments_loan FOREIGN KEY (loan_id) REFERENCES loans (id)
+);
@@ -0,0 +1,17 @@
+-- LoanRepository.findAllByCustomerIdOrderByPaymentDateAsc and the per-customer loan counts.
+CREATE INDEX IF NOT EXISTS idx_loans_customer_id_payment_date ON loans (customer_id, payment_date);
+
+-- Keyset pagination of GET /api/v1/loans, ordered by (payment_date, id).
+CREATE INDEX IF NOT EXISTS idx_loans_payment_date_id ON loans (payment_date, id);
+
+-- Loans filtered by status and ordered by due date.
+CREATE INDEX IF NOT EXISTS idx_loans_status_payment_date ON loans (status, payment_date);
+
+-- Open loans ordered by due date: the collection queue only ever looks at this slice.
+CREATE INDEX IF NOT EXISTS idx_loans_open_payment_date ON loans (payment_date, id) WHERE status = 'OPEN';
+
+-- PaymentRepository.findAllByLoanIdOrderByPaymentDateAsc.
+CREATE INDEX IF NOT EXISTS idx_payments_loan_id_payment_date ON payments (loan_id, payment_date);
+
+-- Keyset pagination of GET /api/v1/payments, ordered by (payment_date, id).
+CREATE INDEX IF NOT EXISTS idx_payments_payment_date_id ON payments (payment_date, id);
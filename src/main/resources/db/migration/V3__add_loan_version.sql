@@ -0,0 +1,2 @@
+-- Optimistic locking for concurrent payments on the same loan.
+ALTER TABLE loans ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Keys sent by clients in the Idempotency-Key header of POST /api/v1/payments.
+CREATE TABLE IF NOT EXISTS payment_idempotency_keys (
+    idempotency_key  VARCHAR(100)  NOT NULL,
+    request_hash     VARCHAR(64)   NOT NULL,
+    payment_id       UUID          NOT NULL,
+    response_body    TEXT          NOT NULL,
+    created_at       TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_payment_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+-- Supports the retention purge.
+CREATE INDEX IF NOT EXISTS idx_payment_idempotency_keys_created_at
+    ON payment_idempotency_keys (created_at);
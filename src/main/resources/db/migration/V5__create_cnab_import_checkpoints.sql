@@ -0,0 +1,13 @@
+-- Progress of CNAB return file imports, one row per distinct file.
+CREATE TABLE IF NOT EXISTS cnab_import_checkpoints (
+    file_hash   VARCHAR(64)   NOT NULL,
+    file_name   VARCHAR(255),
+    layout      VARCHAR(20)   NOT NULL,
+    status      VARCHAR(20)   NOT NULL,
+    last_line   BIGINT        NOT NULL,
+    accepted    BIGINT        NOT NULL,
+    rejected    BIGINT        NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_cnab_import_checkpoints PRIMARY KEY (file_hash)
+);
@@ -0,0 +1,11 @@
+-- PIX confirmations already handled, used to ignore repeated webhook deliveries.
+CREATE TABLE IF NOT EXISTS pix_confirmations (
+    end_to_end_id  VARCHAR(32)     NOT NULL,
+    txid           VARCHAR(35)     NOT NULL,
+    amount         NUMERIC(18, 2)  NOT NULL,
+    status         VARCHAR(20)     NOT NULL,
+    payment_id     UUID,
+    reason         VARCHAR(4000),
+    created_at     TIMESTAMP(6)    NOT NULL,
+    CONSTRAINT pk_pix_confirmations PRIMARY KEY (end_to_end_id)
+);
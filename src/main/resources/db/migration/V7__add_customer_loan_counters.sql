@@ -0,0 +1,7 @@
+-- Denormalized loan counters read by every customer response; kept in step by the loan and payment services.
+ALTER TABLE customers ADD COLUMN open_loans BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customers ADD COLUMN closed_loans BIGINT NOT NULL DEFAULT 0;
+
+UPDATE customers c
+SET open_loans   = (SELECT COUNT(*) FROM loans l WHERE l.customer_id = c.id AND l.status = 'OPEN'),
+    closed_loans = (SELECT COUNT(*) FROM loans l WHERE l.customer_id = c.id AND l.status = 'CLOSED');
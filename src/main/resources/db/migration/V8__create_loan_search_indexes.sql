@@ -0,0 +1,10 @@
+-- GET /api/v1/loans/search. Status, customer and payment date filters reuse the V2 indexes; these cover the rest.
+
+-- Loans filtered by a loan date range.
+CREATE INDEX IF NOT EXISTS idx_loans_loan_date ON loans (loan_date);
+
+-- Loans filtered by an amount range.
+CREATE INDEX IF NOT EXISTS idx_loans_amount ON loans (amount);
+
+-- Negotiated loans in keyset order: a small slice, so a partial index keeps the flag filter cheap.
+CREATE INDEX IF NOT EXISTS idx_loans_negotiation_payment_date ON loans (payment_date, id) WHERE negotiation;
@@ -0,0 +1,9 @@
+-- Leases of scheduled jobs that must run on one node at a time, with each job's high-water mark.
+CREATE TABLE IF NOT EXISTS job_leases (
+    name             VARCHAR(64)   NOT NULL,
+    owner            VARCHAR(128),
+    leased_until     TIMESTAMP(6)  NOT NULL,
+    high_water_mark  DATE,
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT pk_job_leases PRIMARY KEY (name)
+);
@@ -0,0 +1,87 @@
+package br.com.erickmarques.loan_manager.benchmark;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Turns the in-memory database into a stand-in for a remote one: every statement execution blocks for a fixed
+ * round trip before running. Connections still come from Hikari, so the pool bounds concurrency as in production.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LatencyInjectingDataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor latencyInjectingDataSource(
+            @Value("${loan-manager.benchmark.query-latency:20ms}") Duration latency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? new LatencyDataSource(dataSource, latency) : bean;
+            }
+        };
+    }
+
+    private static final class LatencyDataSource extends DelegatingDataSource {
+
+        private final Duration latency;
+
+        private LatencyDataSource(DataSource target, Duration latency) {
+            super(target);
+            this.latency = latency;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return proxy(Connection.class, super.getConnection(), latency);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return proxy(Connection.class, super.getConnection(username, password), latency);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Duration latency) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new LatencyHandler(target, latency)));
+    }
+
+    private record LatencyHandler(Object target, Duration latency) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                Thread.sleep(latency);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+
+            // Statements created by the connection get the latency; everything else passes through.
+            if (target instanceof Connection && result instanceof Statement
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return Proxy.newProxyInstance(method.getReturnType().getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new LatencyHandler(result, latency));
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.erickmarques.loan_manager.benchmark;
+
+import br.com.erickmarques.loan_manager.LoanManagerApplication;
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the servlet stack on platform and virtual threads when the database is slow. Each simulated client
+ * alternates a query that waits on the latency-injected database with a read served from the cache.
+ * On platform threads the slow queries hold every Tomcat thread and the cached reads queue behind them; on virtual
+ * threads only the database work waits, for a Hikari connection.
+ * <p>
+ * Tomcat and Hikari are scaled down (50 threads / 50 connections against 400 clients) to reproduce a saturated
+ * 200-thread pool quickly. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ServletThroughputBenchmarkTest {
+
+    private static final int CLIENTS = 400;
+    private static final int ROUNDS_PER_CLIENT = 10;
+    private static final int POOL_SIZE = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void shouldServeMoreRequestsOnVirtualThreadsUnderSlowQueries(TestReporter reporter) throws Exception {
+        var platform = run("platform", new String[0],
+                "spring.threads.virtual.enabled=false",
+                "server.tomcat.threads.max=" + POOL_SIZE);
+        var virtual = run("virtual", new String[]{"virtual-threads"});
+
+        reporter.publishEntry(platform.mode(), platform.toString());
+        reporter.publishEntry(virtual.mode(), virtual.toString());
+
+        assertEquals(0, platform.failures());
+        assertEquals(0, virtual.failures());
+        assertTrue(virtual.requestsPerSecond() > platform.requestsPerSecond(),
+                () -> "virtual threads were not faster: " + virtual + " vs " + platform);
+    }
+
+    private Result run(String mode, String[] profiles, String... properties) throws Exception {
+        var common = new String[]{
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "logging.level.root=WARN",
+                "loan-manager.pix.workers=0",
+                "loan-manager.benchmark.query-latency=20ms"
+        };
+
+        try (var context = new SpringApplicationBuilder(LoanManagerApplication.class, LatencyInjectingDataSourceConfig.class)
+                .profiles(profiles)
+                .properties(common)
+                .properties(properties)
+                .run();
+             var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newBuilder().executor(executor).build()) {
+
+            var baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            var customerId = post(client, baseUrl + "/api/v1/customers", CustomerRequestBuilder.createDefault());
+            var loanId = post(client, baseUrl + "/api/v1/loans", LoanRequestBuilder.createWithCostumer(customerId));
+
+            var slow = URI.create(baseUrl + "/api/v1/loans/customer/" + customerId);
+            var cached = URI.create(baseUrl + "/api/v1/loans/" + loanId);
+
+            // Warm-up: JIT, connection pool and the cached loan.
+            load(client, executor, slow, cached, 50, 2);
+
+            return load(client, executor, slow, cached, CLIENTS, ROUNDS_PER_CLIENT).named(mode);
+        }
+    }
+
+    private Result load(HttpClient client, ExecutorService executor,
+                        URI slow, URI cached, int clients, int rounds) throws Exception {
+        var cachedLatencies = new ConcurrentLinkedQueue<Long>();
+        var failures = new AtomicInteger();
+        var tasks = new ArrayList<Future<?>>();
+
+        var start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            tasks.add(executor.submit(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    send(client, slow, failures);
+
+                    var requestStart = System.nanoTime();
+                    send(client, cached, failures);
+                    cachedLatencies.add(System.nanoTime() - requestStart);
+                }
+                return null;
+            }));
+        }
+        for (var task : tasks) {
+            task.get();
+        }
+        var elapsedNanos = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(cachedLatencies);
+        Collections.sort(sorted);
+        var p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+
+        return new Result("", clients * rounds * 2 * 1e9 / elapsedNanos, p99 / 1_000_000.0, failures.get());
+    }
+
+    private void send(HttpClient client, URI uri, AtomicInteger failures) {
+        try {
+            var response = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                failures.incrementAndGet();
+            }
+        } catch (Exception ex) {
+            failures.incrementAndGet();
+        }
+    }
+
+    private UUID post(HttpClient client, String url, Object body) throws Exception {
+        var response = client.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, response.statusCode(), response.body());
+        return UUID.fromString(objectMapper.readTree(response.body()).get("id").asText());
+    }
+
+    private record Result(String mode, double requestsPerSecond, double cachedReadP99Millis, int failures) {
+
+        Result named(String name) {
+            return new Result(name, requestsPerSecond, cachedReadP99Millis, failures);
+        }
+
+        @Override
+        public String toString() {
+            return "%-8s %8.0f req/s, cached read p99 %7.1f ms, %d failures"
+                    .formatted(mode, requestsPerSecond, cachedReadP99Millis, failures);
+        }
+    }
+}
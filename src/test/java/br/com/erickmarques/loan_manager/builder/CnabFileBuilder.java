@@ -0,0 +1,90 @@
+package br.com.erickmarques.loan_manager.builder;
+
+import br.com.erickmarques.loan_manager.cnab.CnabLoanReference;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.UUID;
+
+public class CnabFileBuilder {
+
+    public static String cnab400Header() {
+        return line(400, 1, "02RETORNO01COBRANCA");
+    }
+
+    public static String cnab400Detail(UUID loanId, LocalDate paymentDate, BigDecimal amount) {
+        return cnab400Detail(CnabLoanReference.encode(loanId), "06", paymentDate, amount);
+    }
+
+    public static String cnab400Detail(String reference, String occurrence, LocalDate paymentDate, BigDecimal amount) {
+        var line = blank(400);
+        put(line, 1, "1");
+        put(line, 38, reference);
+        put(line, 109, occurrence);
+        put(line, 111, paymentDate.format(DateTimeFormatter.ofPattern("ddMMyy")));
+        put(line, 254, cents(amount, 13));
+        return new String(line);
+    }
+
+    public static String cnab400Trailer() {
+        return line(400, 1, "9");
+    }
+
+    public static String cnab240FileHeader() {
+        return line(240, 8, "0");
+    }
+
+    public static String cnab240BatchHeader() {
+        return line(240, 8, "1");
+    }
+
+    public static String cnab240SegmentT(UUID loanId) {
+        var line = blank(240);
+        put(line, 8, "3");
+        put(line, 14, "T");
+        put(line, 16, "06");
+        put(line, 106, CnabLoanReference.encode(loanId));
+        return new String(line);
+    }
+
+    public static String cnab240SegmentU(LocalDate paymentDate, BigDecimal amount) {
+        var line = blank(240);
+        put(line, 8, "3");
+        put(line, 14, "U");
+        put(line, 16, "06");
+        put(line, 78, cents(amount, 15));
+        put(line, 138, paymentDate.format(DateTimeFormatter.ofPattern("ddMMyyyy")));
+        return new String(line);
+    }
+
+    public static String cnab240BatchTrailer() {
+        return line(240, 8, "5");
+    }
+
+    public static String cnab240FileTrailer() {
+        return line(240, 8, "9");
+    }
+
+    private static String line(int length, int position, String value) {
+        var line = blank(length);
+        put(line, position, value);
+        return new String(line);
+    }
+
+    private static char[] blank(int length) {
+        var line = new char[length];
+        Arrays.fill(line, ' ');
+        return line;
+    }
+
+    private static void put(char[] line, int position, String value) {
+        value.getChars(0, value.length(), line, position - 1);
+    }
+
+    private static String cents(BigDecimal amount, int width) {
+        var digits = amount.movePointRight(2).toBigInteger().toString();
+        return "0".repeat(width - digits.length()) + digits;
+    }
+}
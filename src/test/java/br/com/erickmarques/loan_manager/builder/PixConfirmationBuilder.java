@@ -0,0 +1,25 @@
+package br.com.erickmarques.loan_manager.builder;
+
+import br.com.erickmarques.loan_manager.pix.PixConfirmation;
+import br.com.erickmarques.loan_manager.pix.PixTxid;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public class PixConfirmationBuilder {
+
+    public static PixConfirmation createDefault() {
+        return createWithLoan(UUID.fromString("7e9a7b5c-3f4e-4a7d-9e8f-123456789abc"));
+    }
+
+    public static PixConfirmation createWithLoan(UUID loanId) {
+        return PixConfirmation.builder()
+                .endToEndId("E" + UUID.randomUUID().toString().replace("-", "").substring(0, 31))
+                .txid(PixTxid.of(loanId))
+                .amount(BigDecimal.valueOf(150.75))
+                .paidAt(OffsetDateTime.now())
+                .payerInfo("Default PIX confirmation")
+                .build();
+    }
+}
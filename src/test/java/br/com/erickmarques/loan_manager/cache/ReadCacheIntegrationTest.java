@@ -0,0 +1,122 @@
+package br.com.erickmarques.loan_manager.cache;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.PaymentRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerRequest;
+import br.com.erickmarques.loan_manager.customer.CustomerService;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import br.com.erickmarques.loan_manager.loan.LoanService;
+import br.com.erickmarques.loan_manager.payment.PaymentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReadCacheIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private LoanResponse loan;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+        loan = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+    }
+
+    @Test
+    void shouldServeRepeatedReadFromCache() {
+        // Arrange
+        loanService.findById(loan.id());
+        var hitsBefore = hits(ReadCaches.LOANS);
+        statistics.clear();
+
+        // Act
+        var cached = loanService.findById(loan.id());
+
+        // Assert
+        assertEquals(loan.id(), cached.id());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hitsBefore + 1, hits(ReadCaches.LOANS));
+    }
+
+    @Test
+    void shouldEvictLoanChangedByPaymentProcessing() {
+        // Arrange
+        var before = loanService.findById(loan.id());
+
+        // Act
+        paymentService.create(PaymentRequestBuilder.createWithLoan(loan.id()));
+
+        // Assert
+        var after = loanService.findById(loan.id());
+        assertEquals(before.paymentDate().plusMonths(1), after.paymentDate());
+    }
+
+    @Test
+    void shouldEvictCustomerWhenLoanCountersChange() {
+        // Arrange
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+        assertEquals(0L, customerService.findById(customer.id()).quantityOpenLoans());
+
+        // Act
+        loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+
+        // Assert
+        assertEquals(1L, customerService.findById(customer.id()).quantityOpenLoans());
+    }
+
+    @Test
+    void shouldEvictLoansShowingRenamedCustomer() {
+        // Arrange
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+        var customerLoan = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+        loanService.findById(customerLoan.id());
+
+        var current = CustomerRequestBuilder.createDefault();
+        var renamed = CustomerRequest.builder()
+                .name("Renamed customer")
+                .phone(current.phone())
+                .notes(current.notes())
+                .build();
+
+        // Act
+        customerService.update(customer.id(), renamed);
+
+        // Assert
+        assertEquals("Renamed customer", loanService.findById(customerLoan.id()).customerName());
+    }
+
+    private double hits(String cacheName) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.erickmarques.loan_manager.cache;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.customer.CustomerService;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("l2-cache")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customerId = customerService.create(CustomerRequestBuilder.createDefault()).id();
+    }
+
+    @Test
+    void shouldLoadLoanAndCustomerFromSecondLevelCache() {
+        // Arrange
+        var loanId = loanService.create(LoanRequestBuilder.createWithCostumer(customerId)).id();
+        find(loanId);
+        statistics.clear();
+
+        // Act
+        var loan = find(loanId);
+
+        // Assert
+        assertEquals(loanId, loan.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Loan.CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Customer.CACHE_REGION).getHitCount());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", Loan.CACHE_REGION)
+                .functionCounter());
+    }
+
+    @Test
+    void shouldServeLoansByCustomerFromQueryCacheUntilLoansChange() {
+        // Arrange
+        loanService.create(LoanRequestBuilder.createWithCostumer(customerId));
+        loanRepository.findAllByCustomerIdOrderByPaymentDateAsc(customerId);
+        var queryHits = statistics.getQueryRegionStatistics(Loan.BY_CUSTOMER_QUERY_REGION).getHitCount();
+
+        // Act
+        var cached = loanRepository.findAllByCustomerIdOrderByPaymentDateAsc(customerId);
+        loanService.create(LoanRequestBuilder.createWithCostumer(customerId));
+        var afterInsert = loanRepository.findAllByCustomerIdOrderByPaymentDateAsc(customerId);
+
+        // Assert
+        assertEquals(queryHits + 1, statistics.getQueryRegionStatistics(Loan.BY_CUSTOMER_QUERY_REGION).getHitCount());
+        assertEquals(1, cached.size());
+        assertEquals(2, afterInsert.size());
+    }
+
+    private Loan find(UUID loanId) {
+        try (var entityManager = entityManagerFactory.createEntityManager()) {
+            var loan = entityManager.find(Loan.class, loanId);
+            loan.getCustomer().getName();
+            return loan;
+        }
+    }
+}
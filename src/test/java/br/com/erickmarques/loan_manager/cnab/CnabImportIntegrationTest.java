@@ -0,0 +1,130 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import br.com.erickmarques.loan_manager.builder.CnabFileBuilder;
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerResponse;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "loan-manager.cnab.chunk-size=2")
+@AutoConfigureMockMvc
+class CnabImportIntegrationTest {
+
+    private static final String PATH = "/api/v1/payments/cnab";
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LoanResponse firstLoan;
+    private LoanResponse secondLoan;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var customerResult = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CustomerRequestBuilder.createDefault())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        var customer = objectMapper.readValue(customerResult.getResponse().getContentAsString(), CustomerResponse.class);
+
+        firstLoan = createLoan(customer.id());
+        secondLoan = createLoan(customer.id());
+    }
+
+    @Test
+    void shouldRegisterSettlementsOfCnab400File() throws Exception {
+        var content = String.join("\r\n",
+                CnabFileBuilder.cnab400Header(),
+                CnabFileBuilder.cnab400Detail(firstLoan.id(), PAYMENT_DATE, firstLoan.totalAmountToPay()),
+                CnabFileBuilder.cnab400Detail(secondLoan.id(), PAYMENT_DATE, interestDue(secondLoan)),
+                CnabFileBuilder.cnab400Detail(UUID.randomUUID(), PAYMENT_DATE, BigDecimal.TEN),
+                CnabFileBuilder.cnab400Trailer());
+
+        mockMvc.perform(multipart(PATH).file(file(content)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.layout").value("CNAB_400"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(4));
+
+        mockMvc.perform(get("/api/v1/loans/{id}", firstLoan.id()))
+                .andExpect(jsonPath("$.status").value("CLOSED"));
+
+        mockMvc.perform(get("/api/v1/payments/loan/{loanId}", secondLoan.id()))
+                .andExpect(jsonPath("$[0].type").value("INTEREST"));
+    }
+
+    @Test
+    void shouldNotRegisterPaymentsAgainWhenFileIsSentTwice() throws Exception {
+        var content = String.join("\n",
+                CnabFileBuilder.cnab240FileHeader(),
+                CnabFileBuilder.cnab240BatchHeader(),
+                CnabFileBuilder.cnab240SegmentT(secondLoan.id()),
+                CnabFileBuilder.cnab240SegmentU(PAYMENT_DATE, interestDue(secondLoan)),
+                CnabFileBuilder.cnab240BatchTrailer(),
+                CnabFileBuilder.cnab240FileTrailer());
+
+        mockMvc.perform(multipart(PATH).file(file(content)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.layout").value("CNAB_240"))
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        mockMvc.perform(multipart(PATH).file(file(content)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        mockMvc.perform(get("/api/v1/payments/loan/{loanId}", secondLoan.id()))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldRejectFileWithUnknownLayout() throws Exception {
+        mockMvc.perform(multipart(PATH).file(file("not a return file")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private LoanResponse createLoan(UUID customerId) throws Exception {
+        var result = mockMvc.perform(post("/api/v1/loans")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoanRequestBuilder.createWithCostumer(customerId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), LoanResponse.class);
+    }
+
+    private static BigDecimal interestDue(LoanResponse loan) {
+        return loan.totalAmountToPay().subtract(loan.amount());
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "retorno.ret", MediaType.TEXT_PLAIN_VALUE,
+                content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
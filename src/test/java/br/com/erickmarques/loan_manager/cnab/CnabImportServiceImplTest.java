@@ -0,0 +1,277 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import br.com.erickmarques.loan_manager.builder.CnabFileBuilder;
+import br.com.erickmarques.loan_manager.payment.LoanLockManager;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchItemResult;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchProperties;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchResponse;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchService;
+import br.com.erickmarques.loan_manager.payment.PaymentResponse;
+import br.com.erickmarques.loan_manager.payment.PaymentSettlement;
+import br.com.erickmarques.loan_manager.payment.PaymentTransactionRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CnabImportServiceImplTest {
+
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private CnabImportCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PaymentBatchService paymentBatchService;
+
+    @Mock
+    private LoanLockManager loanLockManager;
+
+    @Mock
+    private PaymentTransactionRunner paymentTransactionRunner;
+
+    private CnabImportServiceImpl service;
+
+    private final AtomicReference<CnabImportCheckpoint> checkpoint = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new CnabImportServiceImpl(
+                checkpointRepository,
+                paymentBatchService,
+                loanLockManager,
+                paymentTransactionRunner,
+                new CnabImportProperties(100, 5),
+                new PaymentBatchProperties(100)
+        );
+
+        lenient().when(paymentTransactionRunner.execute(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(loanLockManager.withLocks(any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(checkpointRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(checkpoint.get()));
+        lenient().when(checkpointRepository.findForUpdate(any())).thenAnswer(invocation ->
+                Optional.ofNullable(checkpoint.get()));
+        lenient().when(checkpointRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            checkpoint.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        lenient().when(paymentBatchService.settle(any())).thenAnswer(invocation ->
+                acceptAll(invocation.getArgument(0)));
+    }
+
+    @Test
+    void shouldRefuseChunkLargerThanPaymentBatch() {
+        // Act
+        var exception = assertThrows(IllegalStateException.class, () -> new CnabImportServiceImpl(
+                checkpointRepository,
+                paymentBatchService,
+                loanLockManager,
+                paymentTransactionRunner,
+                new CnabImportProperties(101, 5),
+                new PaymentBatchProperties(100)
+        ));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("loan-manager.cnab.chunk-size"));
+    }
+
+    @Test
+    void shouldImportLargeFileInBoundedChunks() {
+        // Arrange
+        var titles = 100_000;
+        var largestChunk = new AtomicInteger();
+        var chunks = new AtomicInteger();
+
+        when(paymentBatchService.settle(any())).thenAnswer(invocation -> {
+            List<PaymentSettlement> settlements = invocation.getArgument(0);
+            largestChunk.accumulateAndGet(settlements.size(), Math::max);
+            chunks.incrementAndGet();
+            return acceptAll(settlements);
+        });
+
+        // Act
+        var response = service.importFile("big.ret", cnab400File(titles));
+
+        // Assert
+        assertEquals(CnabLayout.CNAB_400, response.layout());
+        assertEquals(CnabImportStatus.COMPLETED, response.status());
+        assertEquals(titles, response.accepted());
+        assertEquals(titles + 2, response.lastLine());
+        assertEquals(100, largestChunk.get());
+        assertEquals(titles / 100, chunks.get());
+    }
+
+    @Test
+    void shouldResumeAfterLastCommittedLine() {
+        // Arrange
+        var content = cnab400Text(10);
+        checkpoint.set(CnabImportCheckpoint.builder()
+                .fileHash("hash")
+                .layout(CnabLayout.CNAB_400)
+                .status(CnabImportStatus.RUNNING)
+                .lastLine(7)
+                .accepted(6)
+                .stored(true)
+                .build());
+
+        // Act
+        var response = service.importFile("resume.ret", stream(content));
+
+        // Assert
+        assertTrue(response.resumed());
+        assertEquals(10, response.accepted());
+        verify(paymentBatchService).settle(argThat(settlements -> settlements.size() == 4));
+        verify(checkpointRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldReportTotalsOfCompletedFileWithoutImportingAgain() {
+        // Arrange
+        checkpoint.set(CnabImportCheckpoint.builder()
+                .fileHash("hash")
+                .layout(CnabLayout.CNAB_400)
+                .status(CnabImportStatus.COMPLETED)
+                .lastLine(12)
+                .accepted(10)
+                .stored(true)
+                .build());
+
+        // Act
+        var response = service.importFile("again.ret", stream(cnab400Text(10)));
+
+        // Assert
+        assertEquals(CnabImportStatus.COMPLETED, response.status());
+        assertEquals(10, response.accepted());
+        assertFalse(response.resumed());
+        verify(paymentBatchService, never()).settle(any());
+    }
+
+    @Test
+    void shouldRejectLinesWithInvalidLoanReference() {
+        // Arrange
+        var content = String.join("\n",
+                CnabFileBuilder.cnab400Header(),
+                CnabFileBuilder.cnab400Detail("NOT-A-LOAN-REFERENCE", "06", PAYMENT_DATE, BigDecimal.TEN),
+                CnabFileBuilder.cnab400Detail(UUID.randomUUID(), PAYMENT_DATE, BigDecimal.TEN),
+                CnabFileBuilder.cnab400Trailer());
+
+        // Act
+        var response = service.importFile("mixed.ret", stream(content));
+
+        // Assert
+        assertEquals(1, response.accepted());
+        assertEquals(1, response.rejected());
+        assertEquals(2, response.rejections().get(0).line());
+        verify(loanLockManager).withLocks(argThat(loanIds -> loanIds.size() == 1), any());
+    }
+
+    @Test
+    void shouldRejectUnsupportedLayout() {
+        // Act
+        var exception = assertThrows(ResponseStatusException.class,
+                () -> service.importFile("notes.txt", stream("just some text\n")));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(checkpointRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldRefuseChunkWhenAnotherImportAdvancedTheFile() {
+        // Arrange
+        when(checkpointRepository.findForUpdate(any())).thenAnswer(invocation -> Optional.of(
+                checkpoint.get().toBuilder().lastLine(50).build()));
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class,
+                () -> service.importFile("race.ret", stream(cnab400Text(3))));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    private static PaymentBatchResponse acceptAll(List<PaymentSettlement> settlements) {
+        return PaymentBatchResponse.of(IntStream.range(0, settlements.size())
+                .mapToObj(index -> PaymentBatchItemResult.accepted(index,
+                        PaymentResponse.builder().loanId(settlements.get(index).loanId()).build()))
+                .toList());
+    }
+
+    private static String cnab400Text(int titles) {
+        var lines = new ArrayList<String>();
+        lines.add(CnabFileBuilder.cnab400Header());
+        for (int i = 0; i < titles; i++) {
+            lines.add(CnabFileBuilder.cnab400Detail(UUID.randomUUID(), PAYMENT_DATE, BigDecimal.TEN));
+        }
+        lines.add(CnabFileBuilder.cnab400Trailer());
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Generates the file lazily, so the test itself does not hold it in memory either.
+     */
+    private static InputStream cnab400File(int titles) {
+        var header = bytes(CnabFileBuilder.cnab400Header() + "\n");
+        var detail = bytes(CnabFileBuilder.cnab400Detail(UUID.randomUUID(), PAYMENT_DATE, BigDecimal.TEN) + "\n");
+        var trailer = bytes(CnabFileBuilder.cnab400Trailer() + "\n");
+
+        return new SequenceInputStream(new Enumeration<>() {
+            private int produced;
+
+            @Override
+            public boolean hasMoreElements() {
+                return produced < titles + 2;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                produced++;
+                if (produced == 1) {
+                    return new ByteArrayInputStream(header);
+                }
+                return new ByteArrayInputStream(produced == titles + 2 ? trailer : detail);
+            }
+        });
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(bytes(content));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
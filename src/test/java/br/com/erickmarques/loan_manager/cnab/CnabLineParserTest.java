@@ -0,0 +1,101 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import br.com.erickmarques.loan_manager.builder.CnabFileBuilder;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CnabLineParserTest {
+
+    private static final UUID LOAN_ID = UUID.fromString("7e9a7b5c-3f4e-4a7d-9e8f-123456789abc");
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void shouldDetectLayoutFromHeaderLength() {
+        assertEquals(CnabLayout.CNAB_400, CnabLayout.fromHeader(CnabFileBuilder.cnab400Header()).orElseThrow());
+        assertEquals(CnabLayout.CNAB_240, CnabLayout.fromHeader(CnabFileBuilder.cnab240FileHeader()).orElseThrow());
+        assertTrue(CnabLayout.fromHeader("short header").isEmpty());
+    }
+
+    @Nested
+    class Cnab400Tests {
+
+        private final CnabLineParser parser = CnabLayout.CNAB_400.newParser();
+
+        @Test
+        void shouldReadSettledTitle() {
+            // Arrange
+            var line = CnabFileBuilder.cnab400Detail(LOAN_ID, PAYMENT_DATE, new BigDecimal("1234.56"));
+
+            // Act
+            var record = parser.parse(line, 2).orElseThrow();
+
+            // Assert
+            assertEquals(2, record.lineNumber());
+            assertEquals(LOAN_ID, CnabLoanReference.decode(record.loanReference()));
+            assertEquals(PAYMENT_DATE, record.paymentDate());
+            assertEquals(new BigDecimal("1234.56"), record.amount());
+        }
+
+        @Test
+        void shouldIgnoreHeaderTrailerAndOtherOccurrences() {
+            var registered = CnabFileBuilder.cnab400Detail(
+                    CnabLoanReference.encode(LOAN_ID), "02", PAYMENT_DATE, BigDecimal.TEN);
+
+            assertTrue(parser.parse(CnabFileBuilder.cnab400Header(), 1).isEmpty());
+            assertTrue(parser.parse(registered, 2).isEmpty());
+            assertTrue(parser.parse(CnabFileBuilder.cnab400Trailer(), 3).isEmpty());
+        }
+
+        @Test
+        void shouldRejectSettlementWithInvalidAmount() {
+            // Arrange
+            var line = CnabFileBuilder.cnab400Detail(LOAN_ID, PAYMENT_DATE, BigDecimal.TEN);
+            var broken = line.substring(0, 253) + "ABCDEFGHIJKLM" + line.substring(266);
+
+            // Act + Assert
+            assertThrows(IllegalArgumentException.class, () -> parser.parse(broken, 2));
+        }
+    }
+
+    @Nested
+    class Cnab240Tests {
+
+        private final CnabLineParser parser = CnabLayout.CNAB_240.newParser();
+
+        @Test
+        void shouldJoinSegmentsTAndU() {
+            // Act
+            var afterT = parser.parse(CnabFileBuilder.cnab240SegmentT(LOAN_ID), 3);
+            var afterU = parser.parse(CnabFileBuilder.cnab240SegmentU(PAYMENT_DATE, new BigDecimal("99.90")), 4);
+
+            // Assert
+            assertTrue(afterT.isEmpty());
+            var record = afterU.orElseThrow();
+            assertEquals(3, record.lineNumber());
+            assertEquals(LOAN_ID, CnabLoanReference.decode(record.loanReference()));
+            assertEquals(PAYMENT_DATE, record.paymentDate());
+            assertEquals(new BigDecimal("99.90"), record.amount());
+        }
+
+        @Test
+        void shouldIgnoreSegmentUWithoutSegmentT() {
+            assertTrue(parser.parse(CnabFileBuilder.cnab240SegmentU(PAYMENT_DATE, BigDecimal.TEN), 3).isEmpty());
+        }
+
+        @Test
+        void shouldIgnoreHeadersAndTrailers() {
+            assertTrue(parser.parse(CnabFileBuilder.cnab240FileHeader(), 1).isEmpty());
+            assertTrue(parser.parse(CnabFileBuilder.cnab240BatchHeader(), 2).isEmpty());
+            assertTrue(parser.parse(CnabFileBuilder.cnab240BatchTrailer(), 3).isEmpty());
+            assertTrue(parser.parse(CnabFileBuilder.cnab240FileTrailer(), 4).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.erickmarques.loan_manager.cnab;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CnabLoanReferenceTest {
+
+    @Test
+    void shouldFitLoanIdInCompanyUseField() {
+        // Arrange
+        var loanId = UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff");
+
+        // Act
+        var reference = CnabLoanReference.encode(loanId);
+
+        // Assert
+        assertEquals(CnabLoanReference.LENGTH, reference.length());
+        assertEquals(loanId, CnabLoanReference.decode(reference));
+    }
+
+    @Test
+    void shouldRoundTripRandomLoanIds() {
+        for (int i = 0; i < 1_000; i++) {
+            var loanId = UUID.randomUUID();
+
+            assertEquals(loanId, CnabLoanReference.decode(CnabLoanReference.encode(loanId)));
+        }
+    }
+
+    @Test
+    void shouldRejectReferenceThatIsNotBase36() {
+        assertThrows(IllegalArgumentException.class, () -> CnabLoanReference.decode("NOT-A-LOAN"));
+    }
+
+    @Test
+    void shouldRejectBlankReference() {
+        assertThrows(IllegalArgumentException.class, () -> CnabLoanReference.decode(" ".repeat(25)));
+    }
+
+    @Test
+    void shouldRejectReferenceLargerThanUuid() {
+        assertThrows(IllegalArgumentException.class, () -> CnabLoanReference.decode("Z".repeat(25)));
+    }
+}
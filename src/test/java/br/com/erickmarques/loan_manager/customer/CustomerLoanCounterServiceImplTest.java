@@ -0,0 +1,144 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerLoanCounterServiceImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CustomerLoanCounterServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CustomerLoanCounterServiceImpl(
+                customerRepository,
+                transactionTemplate,
+                new CustomerLoanCounterProperties(2),
+                eventPublisher,
+                meterRegistry
+        );
+    }
+
+    @Nested
+    class IncrementalTests {
+
+        @Test
+        void shouldCountAddedLoanByStatus() {
+            // Arrange
+            var customerId = UUID.randomUUID();
+
+            // Act
+            service.loanAdded(customerId, LoanStatus.OPEN);
+            service.loanAdded(customerId, LoanStatus.CLOSED);
+
+            // Assert
+            verify(customerRepository).adjustLoanCounters(customerId, 1, 0);
+            verify(customerRepository).adjustLoanCounters(customerId, 0, 1);
+        }
+
+        @Test
+        void shouldDiscountRemovedLoanByStatus() {
+            // Arrange
+            var customerId = UUID.randomUUID();
+
+            // Act
+            service.loanRemoved(customerId, LoanStatus.OPEN);
+
+            // Assert
+            verify(customerRepository).adjustLoanCounters(customerId, -1, 0);
+        }
+
+        @Test
+        void shouldMoveLoanFromOpenToClosedWhenClosed() {
+            // Arrange
+            var customerId = UUID.randomUUID();
+
+            // Act
+            service.loanClosed(customerId);
+
+            // Assert
+            verify(customerRepository).adjustLoanCounters(customerId, -1, 1);
+            verify(eventPublisher).publishEvent(new CustomerChangedEvent(customerId, false));
+        }
+    }
+
+    @Nested
+    class ReconcileTests {
+
+        @BeforeEach
+        void setUp() {
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        }
+
+        @Test
+        void shouldFixOnlyDriftedCustomersPageByPage() {
+            // Arrange
+            var accurate = customer(2L, 1L);
+            var drifted = customer(5L, 0L);
+            var withoutLoans = customer(1L, 0L);
+            var page = PageRequest.ofSize(2);
+
+            when(customerRepository.lockFirstPage(page)).thenReturn(List.of(accurate, drifted));
+            when(customerRepository.lockPageAfter(drifted.getId(), page)).thenReturn(List.of(withoutLoans));
+            when(customerRepository.lockPageAfter(withoutLoans.getId(), page)).thenReturn(List.of());
+            when(customerRepository.countLoansByCustomers(List.of(accurate.getId(), drifted.getId()))).thenReturn(List.of(
+                    new CustomerLoanCounts(accurate.getId(), 2L, 1L),
+                    new CustomerLoanCounts(drifted.getId(), 3L, 1L)
+            ));
+            when(customerRepository.countLoansByCustomers(List.of(withoutLoans.getId()))).thenReturn(List.of());
+
+            // Act
+            var fixed = service.reconcile();
+
+            // Assert
+            assertEquals(2, fixed);
+            verify(customerRepository).setLoanCounters(drifted.getId(), 3L, 1L);
+            verify(customerRepository).setLoanCounters(withoutLoans.getId(), 0L, 0L);
+            verify(customerRepository, never()).setLoanCounters(eq(accurate.getId()), anyLong(), anyLong());
+            assertEquals(2.0, meterRegistry.get("customers.loan.counters.corrected").counter().count());
+        }
+    }
+
+    private static Customer customer(Long openLoans, Long closedLoans) {
+        return CustomerBuilder.createDefault().toBuilder()
+                .id(UUID.randomUUID())
+                .openLoans(openLoans)
+                .closedLoans(closedLoans)
+                .build();
+    }
+}
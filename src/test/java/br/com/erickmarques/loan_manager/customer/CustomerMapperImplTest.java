@@ -58,12 +58,13 @@ class CustomerMapperImplTest {
         @Test
         void shouldMapCustomerToResponseSuccessfully() {
             // Arrange
-            Customer customer = CustomerBuilder.createDefault();
-            Long quantityOpenLoans = 1L;
-            Long quantityClosedLoans = 2L;
+            Customer customer = CustomerBuilder.createDefault().toBuilder()
+                    .openLoans(1L)
+                    .closedLoans(2L)
+                    .build();
 
             // Act
-            CustomerResponse response = mapper.toResponse(customer, quantityOpenLoans, quantityClosedLoans);
+            CustomerResponse response = mapper.toResponse(customer);
 
             // Assert
             assertNotNull(response);
@@ -71,12 +72,14 @@ class CustomerMapperImplTest {
             assertEquals(customer.getName(), response.name());
             assertEquals(customer.getPhone(), response.phone());
             assertEquals(customer.getNotes(), response.notes());
+            assertEquals(1L, response.quantityOpenLoans());
+            assertEquals(2L, response.quantityClosedLoans());
         }
 
         @Test
         void shouldThrowExceptionWhenCustomerIsNull() {
             // Act & Assert
-            assertThrows(NullPointerException.class, () -> mapper.toResponse(null, null, null));
+            assertThrows(NullPointerException.class, () -> mapper.toResponse(null));
         }
     }
 
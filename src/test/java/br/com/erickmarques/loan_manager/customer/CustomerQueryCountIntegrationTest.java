@@ -0,0 +1,183 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanService;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import br.com.erickmarques.loan_manager.payment.PaymentRequest;
+import br.com.erickmarques.loan_manager.payment.PaymentService;
+import br.com.erickmarques.loan_manager.payment.PaymentType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CustomerQueryCountIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CustomerLoanCounterService customerLoanCounterService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldListCustomersWithConstantNumberOfStatements() {
+        // Arrange
+        seedCustomersWithLoans(2);
+        var statementsForFewCustomers = countStatementsOfFindAll();
+
+        seedCustomersWithLoans(25);
+
+        // Act
+        var statementsForManyCustomers = countStatementsOfFindAll();
+
+        // Assert
+        assertEquals(1, statementsForFewCustomers);
+        assertEquals(statementsForFewCustomers, statementsForManyCustomers);
+    }
+
+    @Test
+    void shouldListCustomersWithoutHydratingEntities() {
+        // Arrange
+        seedCustomersWithLoans(2);
+        statistics.clear();
+
+        // Act
+        var result = customerService.findAll();
+
+        // Assert
+        assertTrue(result.size() >= 2);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldFindCustomerByIdWithSingleStatement() {
+        // Arrange
+        var customer = seedCustomer();
+        seedLoan(customer, LoanStatus.OPEN);
+        statistics.clear();
+
+        // Act
+        customerService.findById(customer.getId());
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldKeepLoanCountersWhenLoansAreCreatedClosedAndDeleted() {
+        // Arrange
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+        var first = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+        var second = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+        var third = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+
+        // Act
+        paymentService.create(PaymentRequest.builder()
+                .paymentDate(LocalDate.now())
+                .amount(first.totalAmountToPay())
+                .type(PaymentType.FINISHED)
+                .loanId(first.id())
+                .build());
+        loanService.deleteById(third.id());
+
+        // Assert
+        var result = customerService.findById(customer.id());
+
+        assertEquals(1L, result.quantityOpenLoans());
+        assertEquals(1L, result.quantityClosedLoans());
+        assertEquals(LoanStatus.OPEN, loanService.findById(second.id()).status());
+    }
+
+    @Test
+    void shouldRebuildDriftedLoanCountersOnReconciliation() {
+        // Arrange
+        var customer = seedCustomer();
+        seedLoan(customer, LoanStatus.OPEN);
+        seedLoan(customer, LoanStatus.OVERDUE);
+        seedLoan(customer, LoanStatus.CLOSED);
+        var customerWithoutLoans = seedCustomer();
+
+        // Act
+        var fixed = customerLoanCounterService.reconcile();
+        var result = customerService.findAll();
+
+        // Assert
+        var summary = result.stream()
+                .filter(response -> response.id().equals(customer.getId()))
+                .findFirst()
+                .orElseThrow();
+        var emptySummary = result.stream()
+                .filter(response -> response.id().equals(customerWithoutLoans.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(fixed >= 1);
+        assertEquals(2L, summary.quantityOpenLoans());
+        assertEquals(1L, summary.quantityClosedLoans());
+        assertEquals(0L, emptySummary.quantityOpenLoans());
+        assertEquals(0L, emptySummary.quantityClosedLoans());
+    }
+
+    private long countStatementsOfFindAll() {
+        statistics.clear();
+        customerService.findAll();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedCustomersWithLoans(int quantity) {
+        for (int i = 0; i < quantity; i++) {
+            var customer = seedCustomer();
+            seedLoan(customer, LoanStatus.OPEN);
+            seedLoan(customer, LoanStatus.CLOSED);
+        }
+    }
+
+    private Customer seedCustomer() {
+        return customerRepository.save(CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build());
+    }
+
+    private void seedLoan(Customer customer, LoanStatus status) {
+        loanRepository.save(LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .customer(customer)
+                .status(status)
+                .build());
+    }
+}
@@ -1,17 +1,15 @@
 package br.com.erickmarques.loan_manager.customer;
 
 import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
-import br.com.erickmarques.loan_manager.builder.CustomerLoanSummaryProjectionBuilder;
 import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
 import br.com.erickmarques.loan_manager.builder.CustomerResponseBuilder;
-import br.com.erickmarques.loan_manager.loan.CustomerLoanSummaryProjection;
-import br.com.erickmarques.loan_manager.loan.LoanRepository;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,8 +18,8 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +32,7 @@ class CustomerServiceImplTest {
     private CustomerMapper customerMapper;
 
     @Mock
-    private LoanRepository loanRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CustomerServiceImpl service;
@@ -48,12 +46,9 @@ class CustomerServiceImplTest {
             var request = CustomerRequestBuilder.createDefault();
             var customer = CustomerBuilder.createDefault();
             var response = CustomerResponseBuilder.createDefault();
-            var quantityOpenLoans = 1L;
-            var quantityClosedLoans = 2L;
 
             when(customerMapper.toEntity(request)).thenReturn(customer);
-            when(customerMapper.toResponse(customer, quantityOpenLoans, quantityClosedLoans)).thenReturn(response);
-            when(loanRepository.countLoansByCustomer(any())).thenReturn(CustomerLoanSummaryProjectionBuilder.create());
+            when(customerMapper.toResponse(customer)).thenReturn(response);
 
             // Act
             var result = service.create(request);
@@ -62,7 +57,7 @@ class CustomerServiceImplTest {
             assertNotNull(result);
             verify(customerRepository).save(customer);
             verify(customerMapper).toEntity(request);
-            verify(customerMapper).toResponse(customer, quantityOpenLoans, quantityClosedLoans);
+            verify(customerMapper).toResponse(customer);
         }
     }
 
@@ -77,13 +72,10 @@ class CustomerServiceImplTest {
             var existing = CustomerBuilder.createDefault();
             var updated = CustomerBuilder.createDefault();
             var response = CustomerResponseBuilder.createDefault();
-            var quantityOpenLoans = 1L;
-            var quantityClosedLoans = 2L;
 
             when(customerRepository.findById(id)).thenReturn(Optional.of(existing));
             when(customerMapper.updateEntity(existing, request)).thenReturn(updated);
-            when(customerMapper.toResponse(updated, quantityOpenLoans, quantityClosedLoans)).thenReturn(response);
-            when(loanRepository.countLoansByCustomer(any())).thenReturn(CustomerLoanSummaryProjectionBuilder.create());
+            when(customerMapper.toResponse(updated)).thenReturn(response);
 
             // Act
             var result = service.update(id, request);
@@ -91,8 +83,9 @@ class CustomerServiceImplTest {
             // Assert
             assertNotNull(result);
             verify(customerRepository).save(updated);
+            verify(eventPublisher).publishEvent(new CustomerChangedEvent(id, false));
             verify(customerMapper).updateEntity(existing, request);
-            verify(customerMapper).toResponse(updated, quantityOpenLoans, quantityClosedLoans);
+            verify(customerMapper).toResponse(updated);
         }
 
         @Test
@@ -117,12 +110,9 @@ class CustomerServiceImplTest {
             UUID id = UUID.randomUUID();
             var customer = CustomerBuilder.createDefault();
             var response = CustomerResponseBuilder.createDefault();
-            var quantityOpenLoans = 1L;
-            var quantityClosedLoans = 2L;
 
             when(customerRepository.findById(id)).thenReturn(Optional.of(customer));
-            when(customerMapper.toResponse(customer, quantityOpenLoans, quantityClosedLoans)).thenReturn(response);
-            when(loanRepository.countLoansByCustomer(any())).thenReturn(CustomerLoanSummaryProjectionBuilder.create());
+            when(customerMapper.toResponse(customer)).thenReturn(response);
 
             // Act
             var result = service.findById(id);
@@ -149,28 +139,22 @@ class CustomerServiceImplTest {
         @Test
         void shouldReturnAllCustomersSuccessfully() {
             // Arrange
-            var customer1 = CustomerBuilder.createDefault();
-            var customer2 = CustomerBuilder.createDefault().toBuilder()
+            var response1 = CustomerResponseBuilder.createDefault();
+            var response2 = CustomerResponse.builder()
                     .id(UUID.randomUUID())
+                    .name("Jane Doe")
+                    .quantityOpenLoans(0L)
+                    .quantityClosedLoans(0L)
                     .build();
 
-            var response1 = CustomerResponseBuilder.createDefault();
-            var response2 = CustomerResponseBuilder.createDefault();
-            var quantityOpenLoans = 1L;
-            var quantityClosedLoans = 2L;
-
-            when(customerRepository.findAllByOrderByNameAsc()).thenReturn(List.of(customer1, customer2));
-            when(customerMapper.toResponse(customer1, quantityOpenLoans, quantityClosedLoans)).thenReturn(response1);
-            when(customerMapper.toResponse(customer2, quantityOpenLoans, quantityClosedLoans)).thenReturn(response2);
-            when(loanRepository.countLoansByCustomer(any())).thenReturn(CustomerLoanSummaryProjectionBuilder.create());
+            when(customerRepository.findAllResponses()).thenReturn(List.of(response1, response2));
 
             // Act
             var result = service.findAll();
 
             // Assert
-            assertEquals(2, result.size());
-            verify(customerMapper).toResponse(customer1, quantityOpenLoans, quantityClosedLoans);
-            verify(customerMapper).toResponse(customer2, quantityOpenLoans, quantityClosedLoans);
+            assertEquals(List.of(response1, response2), result);
+            verifyNoInteractions(customerMapper);
         }
     }
 
@@ -188,6 +172,7 @@ class CustomerServiceImplTest {
 
             // Assert
             verify(customerRepository).deleteById(id);
+            verify(eventPublisher).publishEvent(new CustomerChangedEvent(id, false));
         }
 
         @Test
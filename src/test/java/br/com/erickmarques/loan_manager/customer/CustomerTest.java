@@ -0,0 +1,49 @@
+package br.com.erickmarques.loan_manager.customer;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerTest {
+
+    @Test
+    void shouldCompareCustomersByIdOnly() {
+        // Arrange
+        var customer = CustomerBuilder.createDefault();
+        var sameRow = customer.toBuilder()
+                .name("Jane Doe")
+                .openLoans(customer.getOpenLoans() + 1)
+                .build();
+        var otherRow = customer.toBuilder()
+                .id(UUID.randomUUID())
+                .build();
+
+        // Act & Assert
+        assertEquals(customer, sameRow);
+        assertEquals(customer.hashCode(), sameRow.hashCode());
+        assertNotEquals(customer, otherRow);
+    }
+
+    @Test
+    void shouldKeepUnsavedCustomerInSetAfterIdIsAssigned() {
+        // Arrange
+        var customer = CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build();
+        var customers = new HashSet<Customer>();
+        customers.add(customer);
+
+        // Act
+        customer.setId(UUID.randomUUID());
+
+        // Assert
+        assertTrue(customers.contains(customer));
+        assertNotEquals(customer, CustomerBuilder.createDefault().toBuilder().id(null).build());
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.erickmarques.loan_manager.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvRowWriterTest {
+
+    private record Row(String name, Integer quantity) {
+    }
+
+    private static final List<CsvColumn<Row>> COLUMNS = List.of(
+            CsvColumn.of("name", Row::name),
+            CsvColumn.of("quantity", Row::quantity)
+    );
+
+    @Test
+    void shouldWriteHeaderAndRows() throws Exception {
+        // Arrange
+        var out = new ByteArrayOutputStream();
+
+        // Act
+        try (var writer = new CsvRowWriter<>(out, COLUMNS)) {
+            writer.write(new Row("Maria", 2));
+            writer.write(new Row("João", null));
+        }
+
+        // Assert
+        assertEquals("name,quantity\r\nMaria,2\r\nJoão,\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldQuoteCellsWithSeparatorsQuotesAndLineBreaks() {
+        // Act + Assert
+        assertEquals("plain", CsvRowWriter.escape("plain"));
+        assertEquals("\"Silva, Maria\"", CsvRowWriter.escape("Silva, Maria"));
+        assertEquals("\"says \"\"hi\"\"\"", CsvRowWriter.escape("says \"hi\""));
+        assertEquals("\"two\nlines\"", CsvRowWriter.escape("two\nlines"));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.erickmarques.loan_manager.lease;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JobLeaseManagerIntegrationTest {
+
+    private static final String JOB = "lease-test";
+
+    @Autowired
+    private JobLeaseManager leaseManager;
+
+    @Autowired
+    private JobLeaseRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Stands in for a second node: same table, different owner.
+     */
+    private JobLeaseManager otherNode;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        otherNode = new JobLeaseManager(repository, transactionTemplate);
+    }
+
+    @Test
+    void shouldGrantLeaseToOneNodeAtATime() {
+        // Act
+        var first = leaseManager.tryAcquire(JOB, Duration.ofMinutes(5));
+        var second = otherNode.tryAcquire(JOB, Duration.ofMinutes(5));
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void shouldHandLeaseOverOnceReleasedWithItsHighWaterMark() {
+        // Arrange
+        var mark = LocalDate.of(2025, 6, 1);
+        var lease = leaseManager.tryAcquire(JOB, Duration.ofMinutes(5)).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> leaseManager.advance(lease, mark));
+        leaseManager.release(lease);
+
+        // Act
+        var next = otherNode.tryAcquire(JOB, Duration.ofMinutes(5));
+
+        // Assert
+        assertTrue(next.isPresent());
+        assertEquals(mark, next.get().highWaterMark());
+        assertNotEquals(lease.owner(), next.get().owner());
+    }
+
+    @Test
+    void shouldFenceOffNodeWhoseLeaseExpired() {
+        // Arrange
+        var expired = leaseManager.tryAcquire(JOB, Duration.ofMillis(-1)).orElseThrow();
+        var successor = otherNode.tryAcquire(JOB, Duration.ofMinutes(5));
+
+        // Act
+        var renewed = transactionTemplate.execute(status -> leaseManager.renew(expired));
+        var advanced = transactionTemplate.execute(status -> leaseManager.advance(expired, LocalDate.now()));
+
+        // Assert
+        assertTrue(successor.isPresent());
+        assertFalse(renewed);
+        assertFalse(advanced);
+    }
+}
@@ -10,17 +10,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -127,8 +139,127 @@ class LoanControllerIntegrationTest {
 
         mockMvc.perform(get(PATH))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].amount").value(createRequest.amount().doubleValue()));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items[0].amount").value(createRequest.amount().doubleValue()));
+    }
+
+    @Test
+    void shouldWalkAllLoanPagesWithCursor() throws Exception {
+        var createdIds = new HashSet<String>();
+
+        for (var paymentDate : new LocalDate[]{LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1), null}) {
+            var request = LoanRequestCreate.builder()
+                    .loanDate(LocalDate.of(2025, 1, 10))
+                    .paymentDate(paymentDate)
+                    .amount(new BigDecimal("100.00"))
+                    .percentage(new BigDecimal("2.5"))
+                    .totalAmountToPay(new BigDecimal("110.00"))
+                    .customerId(customerId)
+                    .status(LoanStatus.OPEN)
+                    .build();
+
+            var result = mockMvc.perform(post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            createdIds.add(objectMapper.readValue(result.getResponse().getContentAsString(), LoanResponse.class)
+                    .id().toString());
+        }
+
+        var seenIds = new ArrayList<String>();
+        String cursor = null;
+
+        do {
+            var request = get(PATH).param("size", "2");
+            if (cursor != null) {
+                request = request.param("cursor", cursor);
+            }
+
+            var page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+
+            page.get("items").forEach(item -> seenIds.add(item.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(seenIds.size(), new HashSet<>(seenIds).size());
+        assertTrue(seenIds.containsAll(createdIds));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get(PATH).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchLoansCombiningFilters() throws Exception {
+        var cheapDated = createLoan(LocalDate.of(2025, 3, 1), new BigDecimal("100.00"));
+        createLoan(LocalDate.of(2025, 3, 5), new BigDecimal("5000.00"));
+        var cheapUndated = createLoan(null, new BigDecimal("120.00"));
+
+        mockMvc.perform(get(PATH + "/search")
+                        .param("customerId", customerId.toString())
+                        .param("maxAmount", "200.00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(cheapDated.id().toString()))
+                .andExpect(jsonPath("$.items[1].id").value(cheapUndated.id().toString()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        mockMvc.perform(get(PATH + "/search")
+                        .param("customerId", customerId.toString())
+                        .param("status", "OPEN")
+                        .param("maxAmount", "200.00")
+                        .param("paymentDateFrom", "2025-01-01")
+                        .param("negotiation", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(cheapDated.id().toString()));
+    }
+
+    @Test
+    void shouldWalkAllSearchPagesWithCursor() throws Exception {
+        var expectedIds = new ArrayList<String>();
+        expectedIds.add(createLoan(LocalDate.of(2025, 4, 1), new BigDecimal("100.00")).id().toString());
+        expectedIds.add(createLoan(LocalDate.of(2025, 4, 2), new BigDecimal("100.00")).id().toString());
+        expectedIds.add(createLoan(null, new BigDecimal("100.00")).id().toString());
+
+        var seenIds = new ArrayList<String>();
+        String cursor = null;
+
+        do {
+            var request = get(PATH + "/search")
+                    .param("customerId", customerId.toString())
+                    .param("size", "1");
+            if (cursor != null) {
+                request = request.param("cursor", cursor);
+            }
+
+            var page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+
+            page.get("items").forEach(item -> seenIds.add(item.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(expectedIds, seenIds);
+    }
+
+    @Test
+    void shouldRejectInvertedSearchRange() throws Exception {
+        mockMvc.perform(get(PATH + "/search")
+                        .param("minAmount", "500.00")
+                        .param("maxAmount", "100.00"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -166,4 +297,102 @@ class LoanControllerIntegrationTest {
         mockMvc.perform(get(PATH_ID, createdResponse.id()))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void shouldExportLoansAsNdjson() throws Exception {
+        var loanRequest = LoanRequestBuilder.createWithCostumer(customerId);
+
+        var created = objectMapper.readValue(mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loanRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), LoanResponse.class);
+
+        var started = mockMvc.perform(get(PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"loans.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var exported = body.lines()
+                .map(this::readLoan)
+                .filter(loan -> loan.id().equals(created.id()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(0, created.totalAmountToPay().compareTo(exported.totalAmountToPay()));
+        assertEquals(created.customerName(), exported.customerName());
+    }
+
+    @Test
+    void shouldExportLoansAsCsv() throws Exception {
+        var loanRequest = LoanRequestBuilder.createWithCostumer(customerId);
+
+        var created = objectMapper.readValue(mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loanRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), LoanResponse.class);
+
+        var started = mockMvc.perform(get(PATH + "/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .lines()
+                .toList();
+
+        assertEquals("id,loanDate,paymentDate,amount,percentage,totalAmountToPay,negotiation,notes,status,"
+                + "customerName,createdAt,updatedAt", lines.getFirst());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(created.id() + ",")));
+    }
+
+    @Test
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mockMvc.perform(get(PATH + "/export").param("format", "XML"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private LoanResponse createLoan(LocalDate paymentDate, BigDecimal amount) throws Exception {
+        var request = LoanRequestCreate.builder()
+                .loanDate(LocalDate.of(2025, 1, 10))
+                .paymentDate(paymentDate)
+                .amount(amount)
+                .percentage(new BigDecimal("2.5"))
+                .totalAmountToPay(amount.add(BigDecimal.TEN))
+                .customerId(customerId)
+                .status(LoanStatus.OPEN)
+                .build();
+
+        var result = mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), LoanResponse.class);
+    }
+
+    private LoanResponse readLoan(String line) {
+        try {
+            return objectMapper.readValue(line, LoanResponse.class);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
 }
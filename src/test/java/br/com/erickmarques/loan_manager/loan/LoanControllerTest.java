@@ -2,15 +2,19 @@ package br.com.erickmarques.loan_manager.loan;
 
 import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
 import br.com.erickmarques.loan_manager.builder.LoanResponseBuilder;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -91,19 +95,40 @@ class LoanControllerTest {
         }
 
         @Test
-        void shouldFindAllLoansSuccessfully() {
+        void shouldFindLoansPageSuccessfully() {
             // Arrange
             var loan1 = LoanResponseBuilder.createDefault();
             var loan2 = LoanResponseBuilder.createDefault();
-            when(loanService.findAll()).thenReturn(List.of(loan1, loan2));
+            var page = new CursorPage<>(List.of(loan1, loan2), "next");
+            when(loanService.findPage("cursor", 2)).thenReturn(page);
 
             // Act
-            ResponseEntity<List<LoanResponse>> result = loanController.findAll();
+            ResponseEntity<CursorPage<LoanResponse>> result = loanController.findPage("cursor", 2);
 
             // Assert
             assertEquals(HttpStatus.OK, result.getStatusCode());
-            assertEquals(2, result.getBody().size());
-            verify(loanService).findAll();
+            assertEquals(2, result.getBody().items().size());
+            assertEquals("next", result.getBody().nextCursor());
+            verify(loanService).findPage("cursor", 2);
+        }
+
+        @Test
+        void shouldSearchLoansSuccessfully() {
+            // Arrange
+            var filter = LoanSearchFilter.builder()
+                    .status(LoanStatus.OPEN)
+                    .customerId(UUID.randomUUID())
+                    .build();
+            var page = new CursorPage<>(List.of(LoanResponseBuilder.createDefault()), null);
+            when(loanService.search(filter, null, 10)).thenReturn(page);
+
+            // Act
+            ResponseEntity<CursorPage<LoanResponse>> result = loanController.search(filter, null, 10);
+
+            // Assert
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            assertEquals(page, result.getBody());
+            verify(loanService).search(filter, null, 10);
         }
 
         @Test
@@ -140,4 +165,24 @@ class LoanControllerTest {
             verify(loanService).deleteById(loanId);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class ExportLoansTests {
+
+        @Test
+        void shouldStreamExportAsAttachment() throws Exception {
+            // Arrange
+            var out = new ByteArrayOutputStream();
+
+            // Act
+            var result = loanController.export(ExportFormat.CSV);
+            result.getBody().writeTo(out);
+
+            // Assert
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            assertEquals("csv", result.getHeaders().getContentType().getSubtype());
+            assertEquals("attachment; filename=\"loans.csv\"", result.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+            verify(loanService).export(ExportFormat.CSV, out);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LoanQueryCountIntegrationTest {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldListLoanPageWithoutLoadingCustomersPerRow() {
+        // Arrange
+        seedLoansForDistinctCustomers(2);
+        var statementsForFewLoans = countStatements(() -> loanService.findPage(null, CursorPage.MAX_PAGE_SIZE));
+
+        seedLoansForDistinctCustomers(20);
+
+        // Act
+        var statementsForManyLoans = countStatements(() -> loanService.findPage(null, CursorPage.MAX_PAGE_SIZE));
+
+        // Assert
+        assertEquals(1, statementsForFewLoans);
+        assertEquals(statementsForFewLoans, statementsForManyLoans);
+    }
+
+    @Test
+    void shouldListLoansByCustomerWithSingleStatement() {
+        // Arrange
+        var customer = seedCustomer();
+        for (int i = 0; i < 10; i++) {
+            seedLoan(customer);
+        }
+
+        // Act
+        var statements = countStatements(() -> loanService.findAllByCustomerId(customer.getId()));
+
+        // Assert
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void shouldListLoansWithoutHydratingEntities() {
+        // Arrange
+        var customer = seedCustomer();
+        seedLoan(customer);
+        seedLoan(customer);
+        statistics.clear();
+
+        // Act
+        var page = loanService.findPage(null, CursorPage.MAX_PAGE_SIZE);
+        var byCustomer = loanService.findAllByCustomerId(customer.getId());
+
+        // Assert
+        assertEquals(2, byCustomer.size());
+        assertEquals(customer.getName(), byCustomer.get(0).customerName());
+        assertTrue(page.items().size() >= 2);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldFindLoanByIdWithSingleStatement() {
+        // Arrange
+        var loan = seedLoan(seedCustomer());
+
+        // Act
+        var statements = countStatements(() -> loanService.findById(loan.getId()));
+
+        // Assert
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedLoansForDistinctCustomers(int quantity) {
+        for (int i = 0; i < quantity; i++) {
+            seedLoan(seedCustomer());
+        }
+    }
+
+    private Customer seedCustomer() {
+        return customerRepository.save(CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build());
+    }
+
+    private Loan seedLoan(Customer customer) {
+        return loanRepository.save(LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .customer(customer)
+                .status(LoanStatus.OPEN)
+                .build());
+    }
+}
@@ -3,25 +3,43 @@ package br.com.erickmarques.loan_manager.loan;
 import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
 import br.com.erickmarques.loan_manager.builder.LoanBuilder;
 import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerLoanCounterService;
 import br.com.erickmarques.loan_manager.customer.CustomerNotFoundException;
 import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.export.StreamingExporter;
+import br.com.erickmarques.loan_manager.pagination.KeysetCursor;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +57,15 @@ class LoanServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerLoanCounterService customerLoanCounterService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StreamingExporter streamingExporter;
+
     @Nested
     class CreateTests {
 
@@ -48,6 +75,7 @@ class LoanServiceImplTest {
             var request = LoanRequestBuilder.createWithCostumer(UUID.randomUUID());
             var customer = CustomerBuilder.createDefault();
             var loan = LoanBuilder.createDefault();
+            loan.setStatus(LoanStatus.OPEN);
             var response = LoanResponse.builder().id(loan.getId()).build();
 
             when(customerRepository.findById(any())).thenReturn(Optional.of(customer));
@@ -61,6 +89,7 @@ class LoanServiceImplTest {
             assertNotNull(result);
             assertEquals(loan.getId(), result.id());
             verify(loanRepository).save(loan);
+            verify(customerLoanCounterService).loanAdded(customer.getId(), LoanStatus.OPEN);
         }
 
         @Test
@@ -72,6 +101,7 @@ class LoanServiceImplTest {
             // Act + Assert
             assertThrows(CustomerNotFoundException.class, () -> service.create(request));
             verify(loanRepository, never()).save(any());
+            verify(customerLoanCounterService, never()).loanAdded(any(), any());
         }
     }
 
@@ -99,6 +129,7 @@ class LoanServiceImplTest {
             assertNotNull(result);
             assertEquals(updatedLoan.getId(), result.id());
             verify(loanRepository).save(updatedLoan);
+            verify(eventPublisher).publishEvent(new LoanChangedEvent(loanId));
         }
 
         @Test
@@ -147,27 +178,155 @@ class LoanServiceImplTest {
     }
 
     @Nested
-    class FindAllTests {
+    class FindPageTests {
 
         @Test
-        void shouldReturnAllLoansSuccessfully() {
+        void shouldReturnFirstPageWithNextCursor() {
             // Arrange
-            var loan1 = LoanBuilder.createDefault();
-            var loan2 = LoanBuilder.createDefault().toBuilder().id(UUID.randomUUID()).build();
-            var response1 = LoanResponse.builder().id(loan1.getId()).build();
-            var response2 = LoanResponse.builder().id(loan2.getId()).build();
+            var response1 = loanResponse(LocalDate.now());
+            var response2 = loanResponse(LocalDate.now());
 
-            when(loanRepository.findAllByOrderByPaymentDateAsc()).thenReturn(List.of(loan1, loan2));
-            when(loanMapper.toResponse(loan1)).thenReturn(response1);
-            when(loanMapper.toResponse(loan2)).thenReturn(response2);
+            when(loanRepository.findFirstPage(PageRequest.ofSize(2))).thenReturn(List.of(response1, response2));
 
             // Act
-            var result = service.findAll();
+            var result = service.findPage(null, 1);
 
             // Assert
-            assertEquals(2, result.size());
-            verify(loanMapper).toResponse(loan1);
-            verify(loanMapper).toResponse(loan2);
+            assertEquals(List.of(response1), result.items());
+            assertEquals(new KeysetCursor(response1.paymentDate(), response1.id()),
+                    KeysetCursor.decode(result.nextCursor()));
+            verifyNoInteractions(loanMapper);
+        }
+
+        @Test
+        void shouldSeekAfterCursorWithoutNextCursorOnLastPage() {
+            // Arrange
+            var response = loanResponse(LocalDate.now());
+            var cursor = new KeysetCursor(response.paymentDate(), UUID.randomUUID());
+
+            when(loanRepository.findPageAfter(cursor.paymentDate(), cursor.id(), PageRequest.ofSize(3)))
+                    .thenReturn(List.of(response));
+
+            // Act
+            var result = service.findPage(cursor.encode(), 2);
+
+            // Assert
+            assertEquals(List.of(response), result.items());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        void shouldContinueWithUndatedLoansWhenDatedLoansAreExhausted() {
+            // Arrange
+            var datedResponse = loanResponse(LocalDate.now());
+            var undatedResponse = loanResponse(null);
+            var cursor = new KeysetCursor(datedResponse.paymentDate(), UUID.randomUUID());
+
+            when(loanRepository.findPageAfter(cursor.paymentDate(), cursor.id(), PageRequest.ofSize(3)))
+                    .thenReturn(List.of(datedResponse));
+            when(loanRepository.findUndatedFirstPage(PageRequest.ofSize(2))).thenReturn(List.of(undatedResponse));
+
+            // Act
+            var result = service.findPage(cursor.encode(), 2);
+
+            // Assert
+            assertEquals(List.of(datedResponse, undatedResponse), result.items());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        void shouldSeekAmongUndatedLoansWhenCursorHasNoPaymentDate() {
+            // Arrange
+            var cursor = new KeysetCursor(null, UUID.randomUUID());
+
+            when(loanRepository.findUndatedPageAfter(cursor.id(), PageRequest.ofSize(3))).thenReturn(List.of());
+
+            // Act
+            var result = service.findPage(cursor.encode(), 2);
+
+            // Assert
+            assertTrue(result.items().isEmpty());
+            verify(loanRepository, never()).findPageAfter(any(), any(), any());
+        }
+
+        private LoanResponse loanResponse(LocalDate paymentDate) {
+            return LoanResponse.builder()
+                    .id(UUID.randomUUID())
+                    .paymentDate(paymentDate)
+                    .build();
+        }
+    }
+
+    @Nested
+    class SearchTests {
+
+        private static final Sort BY_PAYMENT_DATE_AND_ID = Sort.by("paymentDate", "id");
+        private static final Sort BY_ID = Sort.by("id");
+
+        @Test
+        void shouldContinueWithUndatedLoansWhenDatedMatchesAreExhausted() {
+            // Arrange
+            var filter = LoanSearchFilter.builder().status(LoanStatus.OPEN).build();
+            var dated = LoanResponse.builder().id(UUID.randomUUID()).paymentDate(LocalDate.now()).build();
+            var undated = LoanResponse.builder().id(UUID.randomUUID()).build();
+
+            when(loanRepository.findResponses(any(), eq(BY_PAYMENT_DATE_AND_ID), eq(3))).thenReturn(List.of(dated));
+            when(loanRepository.findResponses(any(), eq(BY_ID), eq(2))).thenReturn(List.of(undated));
+
+            // Act
+            var result = service.search(filter, null, 2);
+
+            // Assert
+            assertEquals(List.of(dated, undated), result.items());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        void shouldSkipUndatedLoansWhenPaymentDateIsFiltered() {
+            // Arrange
+            var filter = LoanSearchFilter.builder().paymentDateFrom(LocalDate.of(2025, 1, 1)).build();
+
+            when(loanRepository.findResponses(any(), eq(BY_PAYMENT_DATE_AND_ID), eq(3))).thenReturn(List.of());
+
+            // Act
+            var result = service.search(filter, null, 2);
+
+            // Assert
+            assertTrue(result.items().isEmpty());
+            verify(loanRepository, never()).findResponses(any(), eq(BY_ID), anyInt());
+        }
+
+        @Test
+        void shouldSeekAmongUndatedLoansWhenCursorHasNoPaymentDate() {
+            // Arrange
+            var filter = LoanSearchFilter.builder().build();
+            var cursor = new KeysetCursor(null, UUID.randomUUID());
+            var undated = LoanResponse.builder().id(UUID.randomUUID()).build();
+
+            when(loanRepository.findResponses(any(), eq(BY_ID), eq(3))).thenReturn(List.of(undated));
+
+            // Act
+            var result = service.search(filter, cursor.encode(), 2);
+
+            // Assert
+            assertEquals(List.of(undated), result.items());
+            verify(loanRepository, never()).findResponses(any(), eq(BY_PAYMENT_DATE_AND_ID), anyInt());
+        }
+
+        @Test
+        void shouldRejectRangeThatStartsAfterItEnds() {
+            // Arrange
+            var filter = LoanSearchFilter.builder()
+                    .minAmount(new BigDecimal("500.00"))
+                    .maxAmount(new BigDecimal("100.00"))
+                    .build();
+
+            // Act
+            var ex = assertThrows(ResponseStatusException.class, () -> service.search(filter, null, 2));
+
+            // Assert
+            assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+            verifyNoInteractions(loanRepository);
         }
     }
 
@@ -175,26 +334,21 @@ class LoanServiceImplTest {
     class FindAllByCustomerIdTests {
 
         @Test
-        void shouldReturnAllLoansForCustomerSuccessfully() {
+        void shouldReturnProjectedLoansForCustomerWithoutMapping() {
             // Arrange
             var customerId = UUID.randomUUID();
-            var loan1 = LoanBuilder.createDefault();
-            var loan2 = LoanBuilder.createDefault().toBuilder().id(UUID.randomUUID()).build();
-            var response1 = LoanResponse.builder().id(loan1.getId()).build();
-            var response2 = LoanResponse.builder().id(loan2.getId()).build();
+            var response1 = LoanResponse.builder().id(UUID.randomUUID()).build();
+            var response2 = LoanResponse.builder().id(UUID.randomUUID()).build();
 
             when(loanRepository.findAllByCustomerIdOrderByPaymentDateAsc(customerId))
-                    .thenReturn(List.of(loan1, loan2));
-            when(loanMapper.toResponse(loan1)).thenReturn(response1);
-            when(loanMapper.toResponse(loan2)).thenReturn(response2);
+                    .thenReturn(List.of(response1, response2));
 
             // Act
             var result = service.findAllByCustomerId(customerId);
 
             // Assert
-            assertEquals(2, result.size());
-            verify(loanMapper).toResponse(loan1);
-            verify(loanMapper).toResponse(loan2);
+            assertEquals(List.of(response1, response2), result);
+            verifyNoInteractions(loanMapper);
         }
     }
 
@@ -204,25 +358,46 @@ class LoanServiceImplTest {
         @Test
         void shouldDeleteLoanSuccessfully() {
             // Arrange
-            var loanId = UUID.randomUUID();
-            when(loanRepository.existsById(loanId)).thenReturn(true);
+            var loan = LoanBuilder.createDefault();
+            loan.setStatus(LoanStatus.CLOSED);
+            when(loanRepository.findById(loan.getId())).thenReturn(Optional.of(loan));
 
             // Act
-            service.deleteById(loanId);
+            service.deleteById(loan.getId());
 
             // Assert
-            verify(loanRepository).deleteById(loanId);
+            verify(loanRepository).delete(loan);
+            verify(customerLoanCounterService).loanRemoved(loan.getCustomer().getId(), LoanStatus.CLOSED);
+            verify(eventPublisher).publishEvent(new LoanChangedEvent(loan.getId()));
         }
 
         @Test
         void shouldThrowWhenLoanDoesNotExistOnDelete() {
             // Arrange
             var loanId = UUID.randomUUID();
-            when(loanRepository.existsById(loanId)).thenReturn(false);
+            when(loanRepository.findById(loanId)).thenReturn(Optional.empty());
 
             // Act + Assert
             assertThrows(LoanNotFoundException.class, () -> service.deleteById(loanId));
-            verify(loanRepository, never()).deleteById(any());
+            verify(loanRepository, never()).delete(any());
+            verify(customerLoanCounterService, never()).loanRemoved(any(), any());
+        }
+    }
+
+    @Nested
+    class ExportTests {
+
+        @Test
+        void shouldStreamLoansThroughExporter() {
+            // Arrange
+            var out = new ByteArrayOutputStream();
+
+            // Act
+            service.export(ExportFormat.CSV, out);
+
+            // Assert
+            verify(streamingExporter).export(eq(out), eq(ExportFormat.CSV), eq(LoanResponse.class), anyList(),
+                    any(), any());
         }
     }
 }
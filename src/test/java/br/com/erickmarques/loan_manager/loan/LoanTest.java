@@ -0,0 +1,49 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoanTest {
+
+    @Test
+    void shouldCompareLoansByIdOnly() {
+        // Arrange
+        var loan = LoanBuilder.createDefault();
+        var sameRow = loan.toBuilder()
+                .amount(loan.getAmount().add(loan.getAmount()))
+                .customer(null)
+                .build();
+        var otherRow = loan.toBuilder()
+                .id(UUID.randomUUID())
+                .build();
+
+        // Act & Assert
+        assertEquals(loan, sameRow);
+        assertEquals(loan.hashCode(), sameRow.hashCode());
+        assertNotEquals(loan, otherRow);
+    }
+
+    @Test
+    void shouldKeepUnsavedLoanInSetAfterIdIsAssigned() {
+        // Arrange
+        var loan = LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .build();
+        var loans = new HashSet<Loan>();
+        loans.add(loan);
+
+        // Act
+        loan.setId(UUID.randomUUID());
+
+        // Assert
+        assertTrue(loans.contains(loan));
+        assertNotEquals(loan, LoanBuilder.createDefault().toBuilder().id(null).build());
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.lease.JobLease;
+import br.com.erickmarques.loan_manager.lease.JobLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "loan-manager.loan.overdue.chunk-size=2")
+class OverdueLoanIntegrationTest {
+
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseRepository.deleteAll();
+        customer = customerRepository.save(CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build());
+    }
+
+    @Test
+    void shouldMarkOpenLoansPastTheirPaymentDate() {
+        // Arrange
+        var today = LocalDate.now();
+        var pastDue = seedLoan(today.minusDays(1), LoanStatus.OPEN);
+        var longPastDue = seedLoan(today.minusMonths(2), LoanStatus.OPEN);
+        var alsoPastDue = seedLoan(today.minusDays(10), LoanStatus.OPEN);
+        var dueToday = seedLoan(today, LoanStatus.OPEN);
+        var closed = seedLoan(today.minusDays(1), LoanStatus.CLOSED);
+        loanService.findById(pastDue.getId());
+
+        // Act
+        var marked = overdueLoanService.markNewlyOverdue();
+
+        // Assert
+        assertTrue(marked >= 3);
+        assertEquals(LoanStatus.OVERDUE, loanService.findById(pastDue.getId()).status());
+        assertEquals(LoanStatus.OVERDUE, statusOf(longPastDue));
+        assertEquals(LoanStatus.OVERDUE, statusOf(alsoPastDue));
+        assertEquals(LoanStatus.OPEN, statusOf(dueToday));
+        assertEquals(LoanStatus.CLOSED, statusOf(closed));
+        assertEquals(today, jobLeaseRepository.findById(OverdueLoanServiceImpl.JOB_NAME)
+                .orElseThrow()
+                .getHighWaterMark());
+    }
+
+    @Test
+    void shouldLeaveLoansBehindTheMarkToTheSweep() {
+        // Arrange
+        overdueLoanService.markNewlyOverdue();
+        var backDated = seedLoan(LocalDate.now().minusDays(5), LoanStatus.OPEN);
+
+        // Act
+        var markedIncrementally = overdueLoanService.markNewlyOverdue();
+        var statusAfterIncremental = statusOf(backDated);
+        var markedBySweep = overdueLoanService.markAllOverdue();
+
+        // Assert
+        assertEquals(0, markedIncrementally);
+        assertEquals(LoanStatus.OPEN, statusAfterIncremental);
+        assertEquals(1, markedBySweep);
+        assertEquals(LoanStatus.OVERDUE, statusOf(backDated));
+    }
+
+    @Test
+    void shouldSkipRunWhileAnotherNodeHoldsTheLease() {
+        // Arrange
+        jobLeaseRepository.saveAndFlush(JobLease.builder()
+                .name(OverdueLoanServiceImpl.JOB_NAME)
+                .owner("another-node")
+                .leasedUntil(LocalDateTime.now().plusMinutes(5))
+                .build());
+        var pastDue = seedLoan(LocalDate.now().minusDays(1), LoanStatus.OPEN);
+
+        // Act
+        var marked = overdueLoanService.markAllOverdue();
+
+        // Assert
+        assertEquals(0, marked);
+        assertEquals(LoanStatus.OPEN, statusOf(pastDue));
+    }
+
+    private Loan seedLoan(LocalDate paymentDate, LoanStatus status) {
+        return loanRepository.save(LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .customer(customer)
+                .paymentDate(paymentDate)
+                .status(status)
+                .build());
+    }
+
+    private LoanStatus statusOf(Loan loan) {
+        return loanRepository.findById(loan.getId()).orElseThrow().getStatus();
+    }
+}
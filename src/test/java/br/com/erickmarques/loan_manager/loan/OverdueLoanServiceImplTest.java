@@ -0,0 +1,183 @@
+package br.com.erickmarques.loan_manager.loan;
+
+import br.com.erickmarques.loan_manager.lease.JobLeaseManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueLoanServiceImplTest {
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+    private static final PageRequest CHUNK = PageRequest.ofSize(2);
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private JobLeaseManager leaseManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OverdueLoanServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new OverdueLoanServiceImpl(
+                loanRepository,
+                leaseManager,
+                transactionTemplate,
+                new OverdueLoanProperties(2, LEASE_DURATION),
+                eventPublisher,
+                meterRegistry
+        );
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Nested
+    class LeaseTests {
+
+        @Test
+        void shouldSkipRunWhenAnotherNodeHoldsTheLease() {
+            // Arrange
+            when(leaseManager.tryAcquire(OverdueLoanServiceImpl.JOB_NAME, LEASE_DURATION)).thenReturn(Optional.empty());
+
+            // Act
+            var marked = service.markNewlyOverdue();
+
+            // Assert
+            assertEquals(0, marked);
+            verifyNoInteractions(loanRepository);
+            verify(leaseManager, never()).release(any());
+        }
+
+        @Test
+        void shouldStopWithoutAdvancingWhenLeaseIsLost() {
+            // Arrange
+            var lease = lease(null);
+            when(leaseManager.tryAcquire(OverdueLoanServiceImpl.JOB_NAME, LEASE_DURATION)).thenReturn(Optional.of(lease));
+            when(leaseManager.renew(lease)).thenReturn(false);
+
+            // Act
+            var marked = service.markNewlyOverdue();
+
+            // Assert
+            assertEquals(0, marked);
+            verifyNoInteractions(loanRepository);
+            verify(leaseManager, never()).advance(eq(lease), any());
+            verify(leaseManager).release(lease);
+        }
+    }
+
+    @Nested
+    class ChunkTests {
+
+        @Test
+        void shouldMarkInChunksUntilAShortOneAndAdvanceTheMark() {
+            // Arrange
+            var lease = lease(null);
+            var today = LocalDate.now();
+            var first = List.of(UUID.randomUUID(), UUID.randomUUID());
+            var last = List.of(UUID.randomUUID());
+
+            when(leaseManager.tryAcquire(OverdueLoanServiceImpl.JOB_NAME, LEASE_DURATION)).thenReturn(Optional.of(lease));
+            when(leaseManager.renew(lease)).thenReturn(true);
+            when(loanRepository.findOpenDueBefore(today, CHUNK)).thenReturn(first, last);
+            when(loanRepository.markOverdue(eq(first), any())).thenReturn(2);
+            when(loanRepository.markOverdue(eq(last), any())).thenReturn(1);
+
+            // Act
+            var marked = service.markNewlyOverdue();
+
+            // Assert
+            assertEquals(3, marked);
+            verify(leaseManager).advance(lease, today);
+            verify(leaseManager).release(lease);
+            first.forEach(id -> verify(eventPublisher).publishEvent(new LoanChangedEvent(id)));
+            last.forEach(id -> verify(eventPublisher).publishEvent(new LoanChangedEvent(id)));
+            assertEquals(3.0, meterRegistry.get("loans.overdue.marked").counter().count());
+        }
+
+        @Test
+        void shouldOnlyLookAtDueDatesPassedSinceTheMark() {
+            // Arrange
+            var today = LocalDate.now();
+            var mark = today.minusDays(1);
+            var lease = lease(mark);
+
+            when(leaseManager.tryAcquire(OverdueLoanServiceImpl.JOB_NAME, LEASE_DURATION)).thenReturn(Optional.of(lease));
+            when(leaseManager.renew(lease)).thenReturn(true);
+            when(loanRepository.findOpenDueBetween(mark, today, CHUNK)).thenReturn(List.of());
+
+            // Act
+            var marked = service.markNewlyOverdue();
+
+            // Assert
+            assertEquals(0, marked);
+            verify(loanRepository, never()).findOpenDueBefore(any(), any());
+            verify(loanRepository, never()).markOverdue(any(), any());
+            verify(leaseManager).advance(lease, today);
+        }
+
+        @Test
+        void shouldIgnoreTheMarkOnSweep() {
+            // Arrange
+            var today = LocalDate.now();
+            var lease = lease(today.minusDays(1));
+            var ids = List.of(UUID.randomUUID());
+
+            when(leaseManager.tryAcquire(OverdueLoanServiceImpl.JOB_NAME, LEASE_DURATION)).thenReturn(Optional.of(lease));
+            when(leaseManager.renew(lease)).thenReturn(true);
+            when(loanRepository.findOpenDueBefore(today, CHUNK)).thenReturn(ids);
+            when(loanRepository.markOverdue(eq(ids), any())).thenReturn(1);
+
+            // Act
+            var marked = service.markAllOverdue();
+
+            // Assert
+            assertEquals(1, marked);
+            verify(loanRepository, never()).findOpenDueBetween(any(), any(), any());
+        }
+    }
+
+    private static JobLeaseManager.Lease lease(LocalDate highWaterMark) {
+        return new JobLeaseManager.Lease(OverdueLoanServiceImpl.JOB_NAME, "node-1", LEASE_DURATION, highWaterMark);
+    }
+}
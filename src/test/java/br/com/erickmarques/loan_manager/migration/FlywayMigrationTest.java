@@ -0,0 +1,503 @@
+package br.com.erickmarques.loan_manager.migration;
+
+import br.com.erickmarques.loan_manager.loan.LoanSearchFilter;
+import br.com.erickmarques.loan_manager.loan.LoanService;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import br.com.erickmarques.loan_manager.observability.SqlStatistics;
+import br.com.erickmarques.loan_manager.pagination.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against a throwaway PostgreSQL (same version as docker-compose) and
+ * validates the entity mappings against the migrated schema. Skipped when Docker is not available.
+ * <p>
+ * One container and one context for every migration: each adds its assertions as a nested group here.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTest {
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.3");
+
+    private static final AtomicBoolean PLAN_DATASET_SEEDED = new AtomicBoolean();
+
+    private static final String CUSTOMER_ID = "md5('customer-42')::uuid";
+    private static final String LOAN_ID = "md5('loan-42')::uuid";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Nested
+    class V1BaseSchema {
+
+        @Test
+        void shouldCreateTablesMatchingEntityMappings() {
+            // The context only starts when ddl-auto=validate accepts the migrated schema.
+            var tables = jdbcTemplate.queryForList("""
+                SELECT table_name
+                FROM information_schema.tables
+                WHERE table_schema = 'public'
+            """, String.class);
+
+            assertTrue(tables.containsAll(List.of("customers", "loans", "payments")));
+        }
+
+        @Test
+        void shouldRecordMigrationInFlywayHistory() {
+            var applied = jdbcTemplate.queryForObject("""
+                SELECT count(*)
+                FROM flyway_schema_history
+                WHERE version = '1' AND success
+            """, Integer.class);
+
+            assertTrue(applied != null && applied == 1);
+        }
+    }
+
+    @Nested
+    class V2QueryIndexes {
+
+        @BeforeEach
+        void setUp() {
+            seedPlanDataset();
+        }
+
+        @Test
+        void shouldUseCustomerIndexForLoansByCustomer() {
+            assertPlanUsesIndex("""
+                SELECT * FROM loans
+                WHERE customer_id = %s
+                ORDER BY payment_date
+            """.formatted(CUSTOMER_ID), "idx_loans_customer_id_payment_date");
+        }
+
+        @Test
+        void shouldUseCustomerIndexForLoanCounts() {
+            assertPlanUsesIndex("""
+                SELECT count(*) FILTER (WHERE status = 'OPEN'), count(*) FILTER (WHERE status = 'CLOSED')
+                FROM loans
+                WHERE customer_id = %s
+            """.formatted(CUSTOMER_ID), "idx_loans_customer_id_payment_date");
+        }
+
+        @Test
+        void shouldUseKeysetIndexForFirstLoanPage() {
+            assertPlanUsesIndex("""
+                SELECT * FROM loans
+                ORDER BY payment_date ASC NULLS LAST, id ASC
+                LIMIT 51
+            """, "idx_loans_payment_date_id");
+        }
+
+        @Test
+        void shouldUseKeysetIndexForDeepLoanPage() {
+            assertPlanUsesIndex("""
+                SELECT * FROM loans
+                WHERE payment_date >= DATE '2025-12-01'
+                  AND (payment_date > DATE '2025-12-01' OR id > %s)
+                ORDER BY payment_date ASC, id ASC
+                LIMIT 51
+            """.formatted(LOAN_ID), "idx_loans_payment_date_id");
+        }
+
+        @Test
+        void shouldUsePartialIndexForOpenLoansByDueDate() {
+            assertPlanUsesIndex("""
+                SELECT * FROM loans
+                WHERE status = 'OPEN'
+                ORDER BY payment_date, id
+                LIMIT 50
+            """, "idx_loans_open_payment_date");
+        }
+
+        @Test
+        void shouldUseStatusIndexForClosedLoansInDateRange() {
+            assertPlanUsesIndex("""
+                SELECT * FROM loans
+                WHERE status = 'CLOSED'
+                  AND payment_date BETWEEN DATE '2025-03-01' AND DATE '2025-03-02'
+            """, "idx_loans_status_payment_date");
+        }
+
+        @Test
+        void shouldUseLoanIndexForPaymentsByLoan() {
+            assertPlanUsesIndex("""
+                SELECT * FROM payments
+                WHERE loan_id = %s
+                ORDER BY payment_date
+            """.formatted(LOAN_ID), "idx_payments_loan_id_payment_date");
+        }
+
+        @Test
+        void shouldUseKeysetIndexForFirstPaymentPage() {
+            assertPlanUsesIndex("""
+                SELECT * FROM payments
+                ORDER BY payment_date ASC NULLS LAST, id ASC
+                LIMIT 51
+            """, "idx_payments_payment_date_id");
+        }
+    }
+
+    @Nested
+    class V3LoanVersion {
+
+        @Test
+        void shouldAddNonNullVersionColumnToLoans() {
+            var column = jdbcTemplate.queryForMap("""
+                SELECT data_type, is_nullable, column_default
+                FROM information_schema.columns
+                WHERE table_schema = 'public' AND table_name = 'loans' AND column_name = 'version'
+            """);
+
+            assertEquals("bigint", column.get("data_type"));
+            assertEquals("NO", column.get("is_nullable"));
+            assertEquals("0", column.get("column_default"));
+        }
+    }
+
+    @Nested
+    class V4PaymentIdempotencyKeys {
+
+        @Test
+        void shouldRejectSecondRowForSameKey() {
+            var insert = """
+                INSERT INTO payment_idempotency_keys (idempotency_key, request_hash, payment_id, response_body, created_at)
+                VALUES ('migration-key', 'hash', gen_random_uuid(), '{}', now())
+            """;
+
+            jdbcTemplate.update(insert);
+
+            assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(insert));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM payment_idempotency_keys WHERE idempotency_key = 'migration-key'",
+                    Integer.class));
+        }
+    }
+
+    @Nested
+    class V5CnabImportCheckpoints {
+
+        @Test
+        void shouldCreateCheckpointTableKeyedByFileHash() {
+            assertEquals(List.of("file_hash"), primaryKeyOf("cnab_import_checkpoints"));
+        }
+    }
+
+    @Nested
+    class V6PixConfirmations {
+
+        @Test
+        void shouldCreateConfirmationTableKeyedByEndToEndId() {
+            assertEquals(List.of("end_to_end_id"), primaryKeyOf("pix_confirmations"));
+        }
+    }
+
+    @Nested
+    class V7CustomerLoanCounters {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"open_loans", "closed_loans"})
+        void shouldAddNonNullCounterColumnsToCustomers(String columnName) {
+            var column = jdbcTemplate.queryForMap("""
+                SELECT data_type, is_nullable, column_default
+                FROM information_schema.columns
+                WHERE table_schema = 'public' AND table_name = 'customers' AND column_name = ?
+            """, columnName);
+
+            assertEquals("bigint", column.get("data_type"));
+            assertEquals("NO", column.get("is_nullable"));
+            assertEquals("0", column.get("column_default"));
+        }
+    }
+
+    /**
+     * Plans of the statements LoanSpecifications builds for the common search filters. The SQL is the one Hibernate
+     * sends while LoanService runs the search, read back from {@link SqlStatistics}, and is planned as a generic plan
+     * with its parameters unbound: what a server-prepared statement runs once the driver switches to it.
+     */
+    @Nested
+    class V8LoanSearchIndexes {
+
+        @BeforeEach
+        void setUp() {
+            seedPlanDataset();
+        }
+
+        @Test
+        void shouldUseLoanDateIndexForLoanDateRange() {
+            assertGenericPlanUsesIndex(searchSql(LoanSearchFilter.builder()
+                    .loanDateFrom(LocalDate.of(2024, 3, 1))
+                    .loanDateTo(LocalDate.of(2024, 3, 2))
+                    .build(), null), "idx_loans_loan_date");
+        }
+
+        @Test
+        void shouldUseAmountIndexForAmountRange() {
+            assertGenericPlanUsesIndex(searchSql(LoanSearchFilter.builder()
+                    .minAmount(new BigDecimal("1000.00"))
+                    .maxAmount(new BigDecimal("1010.00"))
+                    .build(), null), "idx_loans_amount");
+        }
+
+        @Test
+        void shouldUsePartialIndexForNegotiatedLoans() {
+            assertGenericPlanUsesIndex(searchSql(LoanSearchFilter.builder()
+                    .negotiation(true)
+                    .build(), null), "idx_loans_negotiation_payment_date");
+        }
+
+        @Test
+        void shouldUseCustomerIndexForCustomerAndStatus() {
+            var customerId = jdbcTemplate.queryForObject("SELECT " + CUSTOMER_ID, UUID.class);
+
+            assertGenericPlanUsesIndex(searchSql(LoanSearchFilter.builder()
+                    .customerId(customerId)
+                    .status(LoanStatus.OPEN)
+                    .build(), null), "idx_loans_customer_id_payment_date");
+        }
+
+        @Test
+        void shouldUseIndexForStatusAlone() {
+            assertGenericPlanAvoidsSeqScan(searchSql(LoanSearchFilter.builder()
+                    .status(LoanStatus.CLOSED)
+                    .build(), null), "loans");
+        }
+
+        @Test
+        void shouldUseIndexForStatusAndPaymentDateRange() {
+            assertGenericPlanAvoidsSeqScan(searchSql(LoanSearchFilter.builder()
+                    .status(LoanStatus.CLOSED)
+                    .paymentDateFrom(LocalDate.of(2025, 3, 1))
+                    .paymentDateTo(LocalDate.of(2025, 3, 2))
+                    .build(), null), "loans");
+        }
+
+        @Test
+        void shouldUseIndexForPaymentDateRangeAfterCursor() {
+            var loanId = jdbcTemplate.queryForObject("SELECT " + LOAN_ID, UUID.class);
+            var cursor = new KeysetCursor(LocalDate.of(2025, 6, 10), loanId).encode();
+
+            assertGenericPlanAvoidsSeqScan(searchSql(LoanSearchFilter.builder()
+                    .paymentDateFrom(LocalDate.of(2025, 6, 1))
+                    .paymentDateTo(LocalDate.of(2025, 6, 30))
+                    .build(), cursor), "loans");
+        }
+
+        @Test
+        void shouldUseIndexForStatusAndAmountRange() {
+            assertGenericPlanAvoidsSeqScan(searchSql(LoanSearchFilter.builder()
+                    .status(LoanStatus.OPEN)
+                    .minAmount(new BigDecimal("2000.00"))
+                    .maxAmount(new BigDecimal("2005.00"))
+                    .build(), null), "loans");
+        }
+
+        @Test
+        void shouldUseIndexForNegotiatedLoansInLoanDateRange() {
+            assertGenericPlanAvoidsSeqScan(searchSql(LoanSearchFilter.builder()
+                    .negotiation(true)
+                    .loanDateFrom(LocalDate.of(2024, 1, 1))
+                    .loanDateTo(LocalDate.of(2024, 6, 30))
+                    .build(), null), "loans");
+        }
+
+        /**
+         * The page query over dated loans; the fill query over undated ones, run when the page comes up short, is
+         * left out. SqlStatistics only folds literals and IN lists, so the statement keeps Hibernate's bind parameters.
+         */
+        private String searchSql(LoanSearchFilter filter, String cursor) {
+            sqlStatistics.reset();
+
+            loanService.search(filter, cursor, 50);
+
+            return sqlStatistics.snapshot().stream()
+                    .map(SqlStatistics.StatementStatistics::sql)
+                    .filter(sql -> sql.contains("from loans") && !sql.contains("payment_date is null"))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No search statement recorded: " + sqlStatistics.snapshot()));
+        }
+    }
+
+    /**
+     * The job lease table, and the plans of the overdue detection chunks it guards: both must walk the partial index
+     * of open loans instead of scanning the whole book.
+     */
+    @Nested
+    class V9JobLeases {
+
+        @Test
+        void shouldCreateLeaseTableKeyedByJobName() {
+            assertEquals(List.of("name"), primaryKeyOf("job_leases"));
+        }
+
+        @Test
+        void shouldUsePartialIndexForOverdueSweepChunk() {
+            seedPlanDataset();
+
+            assertPlanUsesIndex("""
+                SELECT id FROM loans
+                WHERE status = 'OPEN'
+                  AND payment_date < DATE '2025-07-01'
+                ORDER BY payment_date ASC, id ASC
+                LIMIT 1000
+            """, "idx_loans_open_payment_date");
+        }
+
+        @Test
+        void shouldUsePartialIndexForIncrementalOverdueChunk() {
+            seedPlanDataset();
+
+            assertPlanUsesIndex("""
+                SELECT id FROM loans
+                WHERE status = 'OPEN'
+                  AND payment_date >= DATE '2025-06-30'
+                  AND payment_date < DATE '2025-07-01'
+                ORDER BY payment_date ASC, id ASC
+                LIMIT 1000
+            """, "idx_loans_open_payment_date");
+        }
+    }
+
+    @Nested
+    class V10PixDeadLetters {
+
+        @Test
+        void shouldCreateDeadLetterTableKeyedByEndToEndId() {
+            assertEquals(List.of("end_to_end_id"), primaryKeyOf("pix_dead_letters"));
+        }
+    }
+
+    /**
+     * Loads enough rows for the planner to prefer indexes over sequential scans on selective
+     * predicates, then refreshes the statistics.
+     */
+    private void seedPlanDataset() {
+        if (!PLAN_DATASET_SEEDED.compareAndSet(false, true)) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+            INSERT INTO customers (id, name, created_at)
+            SELECT md5('customer-' || g)::uuid, 'Plan customer ' || g, now()
+            FROM generate_series(1, 1000) g
+        """);
+
+        jdbcTemplate.execute("""
+            INSERT INTO loans (id, loan_date, payment_date, amount, percentage, total_amount,
+                               negotiation, status, customer_id, created_at)
+            SELECT md5('loan-' || g)::uuid,
+                   DATE '2024-01-01' + (g % 500),
+                   DATE '2025-01-01' + (g % 365),
+                   100.00 + (g % 5000), 10.00, (100.00 + (g % 5000)) * 1.10,
+                   g % 250 = 0,
+                   CASE WHEN g % 3 = 0 THEN 'CLOSED' ELSE 'OPEN' END,
+                   md5('customer-' || (g % 1000 + 1))::uuid,
+                   now()
+            FROM generate_series(1, 50000) g
+        """);
+
+        jdbcTemplate.execute("""
+            INSERT INTO payments (id, payment_date, amount, type, loan_id, created_at)
+            SELECT md5('payment-' || g)::uuid,
+                   DATE '2025-01-01' + (g % 365),
+                   10.00,
+                   'INTEREST',
+                   md5('loan-' || (g % 50000 + 1))::uuid,
+                   now()
+            FROM generate_series(1, 50000) g
+        """);
+
+        jdbcTemplate.execute("ANALYZE customers");
+        jdbcTemplate.execute("ANALYZE loans");
+        jdbcTemplate.execute("ANALYZE payments");
+    }
+
+    private List<String> primaryKeyOf(String table) {
+        return jdbcTemplate.queryForList("""
+            SELECT kcu.column_name
+            FROM information_schema.table_constraints tc
+            JOIN information_schema.key_column_usage kcu ON kcu.constraint_name = tc.constraint_name
+            WHERE tc.table_name = ? AND tc.constraint_type = 'PRIMARY KEY'
+        """, String.class, table);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    /**
+     * Plans a statement as the JDBC driver sends it once it is server-prepared: with its {@code ?} parameters unbound,
+     * so the plan must hold for any value. A predicate that only matches a partial index for some literal fails here.
+     */
+    private String explainGeneric(String jdbcSql) {
+        var sql = new StringBuilder();
+        var parameter = 0;
+
+        for (var c : jdbcSql.toCharArray()) {
+            if (c == '?') {
+                sql.append('$').append(++parameter);
+            } else {
+                sql.append(c);
+            }
+        }
+
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + sql, String.class));
+    }
+
+    private void assertPlanUsesIndex(String sql, String indexName) {
+        assertUsesIndex(explain(sql), indexName);
+    }
+
+    private void assertGenericPlanUsesIndex(String jdbcSql, String indexName) {
+        assertUsesIndex(explainGeneric(jdbcSql), indexName);
+    }
+
+    /**
+     * For predicates several indexes can serve equally well: only a full scan of {@code table} fails.
+     */
+    private void assertGenericPlanAvoidsSeqScan(String jdbcSql, String table) {
+        assertAvoidsSeqScan(explainGeneric(jdbcSql), table);
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan.contains(indexName),
+                () -> "Expected plan to use " + indexName + " but was:\n" + plan);
+    }
+
+    private static void assertAvoidsSeqScan(String plan, String table) {
+        assertFalse(plan.contains("Seq Scan on " + table),
+                () -> "Expected plan to read " + table + " through an index but was:\n" + plan);
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerService;
+import br.com.erickmarques.loan_manager.loan.LoanService;
+import br.com.erickmarques.loan_manager.payment.PaymentRequest;
+import br.com.erickmarques.loan_manager.payment.PaymentService;
+import br.com.erickmarques.loan_manager.payment.PaymentType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "loan-manager.jfr.enabled=true",
+        "loan-manager.jfr.repository-threshold=0ms",
+        "management.endpoints.web.exposure.include=jfr"
+})
+@AutoConfigureMockMvc
+class JfrEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldDumpRecordingWithPaymentAndRepositoryEvents() throws Exception {
+        // Arrange
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+        var loan = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+
+        paymentService.create(PaymentRequest.builder()
+                .paymentDate(LocalDate.now())
+                .amount(BigDecimal.TEN)
+                .type(PaymentType.INTEREST)
+                .loanId(loan.id())
+                .build());
+
+        // Act
+        var dump = mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Assert
+        var file = Files.write(tempDir.resolve("dump.jfr"), dump);
+        var events = RecordingFile.readAllEvents(file);
+
+        var loanId = loan.id().toString();
+        assertTrue(events.stream().anyMatch(event -> isPaymentEvent(event, "loanmanager.PaymentCreate", loanId)));
+        assertTrue(events.stream().anyMatch(event -> isPaymentEvent(event, "loanmanager.PaymentProcess", loanId)));
+        assertFalse(eventsOf(events, "loanmanager.RepositoryCall").isEmpty());
+        assertTrue(eventsOf(events, "loanmanager.RepositoryCall").stream()
+                .anyMatch(event -> "LoanRepository".equals(event.getString("repository"))));
+    }
+
+    @Test
+    void shouldLeaveEnvironmentAndSystemPropertiesOutOfTheDump() throws Exception {
+        // Act
+        var dump = mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Assert
+        var events = RecordingFile.readAllEvents(Files.write(tempDir.resolve("redacted.jfr"), dump));
+
+        assertTrue(eventsOf(events, "jdk.InitialEnvironmentVariable").isEmpty());
+        assertTrue(eventsOf(events, "jdk.InitialSystemProperty").isEmpty());
+        assertTrue(eventsOf(events, "jdk.JVMInformation").isEmpty());
+    }
+
+    private static boolean isPaymentEvent(RecordedEvent event, String type, String loanId) {
+        return event.getEventType().getName().equals(type)
+                && loanId.equals(event.getString("loanId"))
+                && "INTEREST".equals(event.getString("paymentType"));
+    }
+
+    private static List<RecordedEvent> eventsOf(List<RecordedEvent> events, String type) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JfrEndpointTest {
+
+    @Mock
+    private JfrRecorder jfrRecorder;
+
+    @InjectMocks
+    private JfrEndpoint jfrEndpoint;
+
+    @Test
+    void shouldDeleteTemporaryFileWhenDumpFails() throws IOException {
+        // Arrange
+        var file = ArgumentCaptor.forClass(Path.class);
+        doThrow(new IOException("Disk full")).when(jfrRecorder).dump(any());
+
+        // Act
+        assertThrows(IOException.class, () -> jfrEndpoint.dump());
+
+        // Assert
+        verify(jfrRecorder).dump(file.capture());
+        assertFalse(Files.exists(file.getValue()));
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerResponse;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import br.com.erickmarques.loan_manager.payment.PaymentRequest;
+import br.com.erickmarques.loan_manager.payment.PaymentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram[http.server.requests]=true",
+        "management.metrics.distribution.percentiles-histogram[payment.process]=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldExposeRequestPaymentPoolAndHibernateMetrics() throws Exception {
+        // Arrange
+        var loanId = createLoan(createCustomer());
+
+        mockMvc.perform(post("/api/v1/payments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PaymentRequest.builder()
+                                .paymentDate(LocalDate.now())
+                                .amount(BigDecimal.TEN)
+                                .type(PaymentType.INTEREST)
+                                .loanId(loanId)
+                                .build())))
+                .andExpect(status().isCreated());
+
+        // Act
+        var scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // Assert
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("payment_process_seconds_bucket{"));
+        assertTrue(scrape.contains("type=\"INTEREST\""));
+        assertTrue(scrape.contains("http_server_requests_statements_count{"));
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+        assertTrue(scrape.contains("hibernate_statements_total"));
+        assertTrue(scrape.contains("hibernate_entities_loads_total"));
+        assertTrue(scrape.contains("hibernate_flushes_total"));
+    }
+
+    @Test
+    void shouldCountStatementsOfEachRequest() throws Exception {
+        // Arrange
+        var customerId = createCustomer();
+        createLoan(customerId);
+
+        // Act
+        mockMvc.perform(get("/api/v1/loans/customer/{customerId}", customerId))
+                .andExpect(status().isOk());
+
+        // Assert
+        var statements = meterRegistry.get("http.server.requests.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/loans/customer/{customerId}")
+                .summary();
+
+        // Loans and their customer come from one joined query.
+        assertEquals(1, statements.count());
+        assertEquals(1.0, statements.totalAmount());
+    }
+
+    private UUID createCustomer() throws Exception {
+        var result = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CustomerRequestBuilder.createDefault())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), CustomerResponse.class).id();
+    }
+
+    private UUID createLoan(UUID customerId) throws Exception {
+        var result = mockMvc.perform(post("/api/v1/loans")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoanRequestBuilder.createWithCostumer(customerId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), LoanResponse.class).id();
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestStatementCounterTest {
+
+    private final RequestStatementCounter counter = new RequestStatementCounter();
+
+    @Test
+    void shouldCountStatementsBetweenStartAndStop() {
+        // Arrange
+        RequestStatementCounter.start();
+
+        // Act
+        var sql = counter.inspect("select 1");
+        counter.inspect("select 2");
+        var count = RequestStatementCounter.stop();
+
+        // Assert
+        assertEquals("select 1", sql);
+        assertEquals(2, count);
+    }
+
+    @Test
+    void shouldIgnoreStatementsOutsideRequest() {
+        // Act
+        counter.inspect("select 1");
+
+        // Assert
+        assertEquals(0, RequestStatementCounter.stop());
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatisticsTest {
+
+    private final SqlStatistics statistics = new SqlStatistics(new SqlProperties(Duration.ofMillis(200), 2));
+
+    @Nested
+    class NormalizeTests {
+
+        @Test
+        void shouldCollapseWhitespaceAndLiterals() {
+            // Act
+            var normalized = SqlStatistics.normalize("""
+                    select *
+                      from loans   where status = 'OPEN' and amount > 100.50
+                    """);
+
+            // Assert
+            assertEquals("select * from loans where status = ? and amount > ?", normalized);
+        }
+
+        @Test
+        void shouldCollapseInListsOfAnyLength() {
+            // Act
+            var few = SqlStatistics.normalize("select * from customers where id in (?, ?)");
+            var many = SqlStatistics.normalize("select * from customers where id in (?,?,?,?,?,?,?,?)");
+
+            // Assert
+            assertEquals(few, many);
+        }
+
+        @Test
+        void shouldGiveStatementWithoutSqlAPlaceholderKey() {
+            // Act
+            var normalized = SqlStatistics.normalize(null);
+
+            // Assert
+            assertEquals(SqlStatistics.UNKNOWN_STATEMENT, normalized);
+        }
+
+        @Test
+        void shouldKeepGeneratedAliases() {
+            // Act
+            var normalized = SqlStatistics.normalize("select l1_0.id from loans l1_0");
+
+            // Assert
+            assertEquals("select l1_0.id from loans l1_0", normalized);
+        }
+    }
+
+    @Nested
+    class RecordTests {
+
+        @Test
+        void shouldAggregateCallsTimeAndRowsPerStatement() {
+            // Arrange
+            statistics.record("select * from loans where id = ?", 2_000_000, 1);
+            statistics.record("select *  from loans where id = ?", 6_000_000, 0);
+
+            // Act
+            var snapshot = statistics.snapshot();
+
+            // Assert
+            assertEquals(1, snapshot.size());
+            var entry = snapshot.getFirst();
+            assertEquals(2, entry.calls());
+            assertEquals(8.0, entry.totalMillis());
+            assertEquals(4.0, entry.meanMillis());
+            assertEquals(6.0, entry.maxMillis());
+            assertEquals(1, entry.rows());
+        }
+
+        @Test
+        void shouldGroupStatementsBeyondTheLimit() {
+            // Arrange
+            statistics.record("select 'a'", 1_000_000, 1);
+            statistics.record("select * from loans", 1_000_000, 1);
+            statistics.record("select * from customers", 1_000_000, 1);
+            statistics.record("select * from payments", 1_000_000, 1);
+
+            // Act
+            var snapshot = statistics.snapshot();
+
+            // Assert
+            assertEquals(3, snapshot.size());
+            assertTrue(snapshot.stream().anyMatch(entry ->
+                    entry.sql().equals(SqlStatistics.OTHER_STATEMENTS) && entry.calls() == 2));
+        }
+
+        @Test
+        void shouldStartOverOnReset() {
+            // Arrange
+            statistics.record("select * from loans", 1_000_000, 1);
+
+            // Act
+            statistics.reset();
+
+            // Assert
+            assertTrue(statistics.snapshot().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SqlTrackingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    private SqlStatistics statistics;
+
+    private SqlTrackingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = new SqlStatistics(new SqlProperties(Duration.ofMillis(200), 10));
+        dataSource = new SqlTrackingDataSource(target, statistics, Duration.ofMillis(200));
+
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @Nested
+    class PlainStatementBatchTests {
+
+        @Test
+        void shouldRecordStatementsAddedToBatch() throws Exception {
+            // Arrange
+            when(statement.executeBatch()).thenReturn(new int[]{1, 1});
+
+            try (var tracked = dataSource.getConnection().createStatement()) {
+                tracked.addBatch("update loans set notes = 'a' where id = 1");
+                tracked.addBatch("update loans set notes = 'b' where id = 2");
+
+                // Act
+                var result = tracked.executeBatch();
+
+                // Assert
+                assertArrayEquals(new int[]{1, 1}, result);
+            }
+
+            var entry = statistics.snapshot().getFirst();
+            assertEquals("update loans set notes = ? where id = ?", entry.sql());
+            assertEquals(1, entry.calls());
+            assertEquals(2, entry.rows());
+        }
+
+        @Test
+        void shouldRecordEmptyBatchUnderPlaceholder() throws Exception {
+            // Arrange
+            when(statement.executeBatch()).thenReturn(new int[0]);
+
+            // Act
+            try (var tracked = dataSource.getConnection().createStatement()) {
+                tracked.executeBatch();
+            }
+
+            // Assert
+            var entry = statistics.snapshot().getFirst();
+            assertEquals(SqlStatistics.UNKNOWN_STATEMENT, entry.sql());
+            assertEquals(1, entry.calls());
+        }
+    }
+}
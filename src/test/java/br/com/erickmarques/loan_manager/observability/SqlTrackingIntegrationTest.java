@@ -0,0 +1,63 @@
+package br.com.erickmarques.loan_manager.observability;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "loan-manager.sql.slow-threshold=0ms",
+        "management.endpoints.web.exposure.include=sqlstats"
+})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlTrackingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void shouldLogSlowQueryWithParameterShapeRowsAndCaller(CapturedOutput output) {
+        // Arrange
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+
+        // Act
+        customerService.findById(customer.id());
+
+        // Assert
+        assertTrue(output.getOut().lines().anyMatch(line -> line.contains("slow-query")
+                && line.contains("rows=1")
+                && line.contains("params=[UUID]")
+                && line.contains("caller=CustomerServiceImpl.")
+                && line.contains("from customers")));
+    }
+
+    @Test
+    void shouldExposeStatementStatistics() throws Exception {
+        // Arrange
+        customerService.create(CustomerRequestBuilder.createDefault());
+
+        // Act + Assert
+        mockMvc.perform(get("/actuator/sqlstats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].sql", hasItem(startsWith("insert into customers"))))
+                .andExpect(jsonPath("$[0].calls").isNumber())
+                .andExpect(jsonPath("$[0].maxMillis").isNumber());
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.erickmarques.loan_manager.pagination;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Nested
+    class EncodeDecodeTests {
+
+        @Test
+        void shouldRoundTripCursorWithPaymentDate() {
+            // Arrange
+            var cursor = new KeysetCursor(LocalDate.of(2025, 2, 10), UUID.randomUUID());
+
+            // Act
+            var result = KeysetCursor.decode(cursor.encode());
+
+            // Assert
+            assertEquals(cursor, result);
+        }
+
+        @Test
+        void shouldRoundTripCursorWithoutPaymentDate() {
+            // Arrange
+            var cursor = new KeysetCursor(null, UUID.randomUUID());
+
+            // Act
+            var result = KeysetCursor.decode(cursor.encode());
+
+            // Assert
+            assertEquals(cursor, result);
+        }
+
+        @Test
+        void shouldReturnNullForMissingCursor() {
+            assertNull(KeysetCursor.decode(null));
+            assertNull(KeysetCursor.decode(" "));
+        }
+
+        @Test
+        void shouldRejectMalformedCursor() {
+            assertThrows(ResponseStatusException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        }
+    }
+
+    @Nested
+    class PageSizeTests {
+
+        @Test
+        void shouldUseDefaultPageSizeWhenMissingOrInvalid() {
+            assertEquals(CursorPage.DEFAULT_PAGE_SIZE, CursorPage.resolvePageSize(null));
+            assertEquals(CursorPage.DEFAULT_PAGE_SIZE, CursorPage.resolvePageSize(0));
+        }
+
+        @Test
+        void shouldCapPageSize() {
+            assertEquals(CursorPage.MAX_PAGE_SIZE, CursorPage.resolvePageSize(10_000));
+            assertEquals(10, CursorPage.resolvePageSize(10));
+        }
+    }
+}
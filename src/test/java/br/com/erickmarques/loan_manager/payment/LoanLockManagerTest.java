@@ -0,0 +1,233 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoanLockManagerTest {
+
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @Test
+    void shouldRunPaymentsOfSameLoanOneAtATime() throws Exception {
+        // Arrange
+        var manager = stripedManager(16, Duration.ofSeconds(5));
+        var loanId = UUID.randomUUID();
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var futures = new ArrayList<Future<?>>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> manager.withLock(loanId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                return running.decrementAndGet();
+            })));
+        }
+        for (var future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+
+        // Assert
+        assertEquals(1, maxRunning.get());
+        assertTrue(meterRegistry.get("payments.lock.contention").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum() > 0);
+    }
+
+    @Test
+    void shouldRunPaymentsOfDifferentStripesInParallel() throws Exception {
+        // Arrange
+        var manager = stripedManager(2, Duration.ofSeconds(5));
+        var firstLoan = loanOnStripe(0, 2);
+        var secondLoan = loanOnStripe(1, 2);
+        var bothInside = new CountDownLatch(2);
+
+        // Act
+        var first = executor.submit(() -> manager.withLock(firstLoan, () -> awaitBoth(bothInside)));
+        var second = executor.submit(() -> manager.withLock(secondLoan, () -> awaitBoth(bothInside)));
+
+        // Assert
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRejectWhenStripeIsHeldLongerThanTimeout() throws Exception {
+        // Arrange
+        var manager = stripedManager(1, Duration.ofMillis(50));
+        var loanId = UUID.randomUUID();
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var holder = executor.submit(() -> manager.withLock(loanId, () -> {
+            holding.countDown();
+            return await(release);
+        }));
+        holding.await();
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> manager.withLock(loanId, () -> "late"));
+        release.countDown();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertTrue(holder.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepSinglePaymentOutWhileBatchHoldsItsLoan() throws Exception {
+        // Arrange
+        var manager = stripedManager(16, Duration.ofMillis(50));
+        var loanId = UUID.randomUUID();
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var batch = executor.submit(() -> manager.withLocks(List.of(UUID.randomUUID(), loanId), () -> {
+            holding.countDown();
+            return await(release);
+        }));
+        holding.await();
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> manager.withLock(loanId, () -> "late"));
+        release.countDown();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertTrue(batch.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldNotDeadlockBatchesListingSharedLoansInOppositeOrder() throws Exception {
+        // Arrange
+        var manager = stripedManager(2, Duration.ofSeconds(5));
+        var firstLoan = loanOnStripe(0, 2);
+        var secondLoan = loanOnStripe(1, 2);
+        var futures = new ArrayList<Future<?>>();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(() -> manager.withLocks(List.of(firstLoan, secondLoan), () -> true)));
+            futures.add(executor.submit(() -> manager.withLocks(List.of(secondLoan, firstLoan), () -> true)));
+        }
+
+        // Assert
+        for (var future : futures) {
+            assertEquals(true, future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReleaseStripesAlreadyTakenWhenBatchTimesOut() throws Exception {
+        // Arrange
+        var manager = stripedManager(2, Duration.ofMillis(50));
+        var firstLoan = loanOnStripe(0, 2);
+        var secondLoan = loanOnStripe(1, 2);
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var holder = executor.submit(() -> manager.withLock(secondLoan, () -> {
+            holding.countDown();
+            return await(release);
+        }));
+        holding.await();
+
+        // Act
+        assertThrows(ResponseStatusException.class,
+                () -> manager.withLocks(List.of(firstLoan, secondLoan), () -> "late"));
+        var afterTimeout = executor.submit(() -> manager.withLock(firstLoan, () -> "registered"));
+
+        // Assert
+        assertEquals("registered", afterTimeout.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(holder.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunDirectlyInOptimisticMode() {
+        // Arrange
+        var manager = new LoanLockManager(
+                new PaymentProperties(3, Duration.ZERO, PaymentConcurrencyMode.OPTIMISTIC, 16, Duration.ofSeconds(5)),
+                meterRegistry
+        );
+        executor.shutdownNow();
+
+        // Act
+        var result = manager.withLock(UUID.randomUUID(), () -> "registered");
+
+        // Assert
+        assertEquals("registered", result);
+        assertTrue(meterRegistry.find("payments.lock.wait").timers().isEmpty());
+    }
+
+    private LoanLockManager stripedManager(int stripes, Duration timeout) {
+        return new LoanLockManager(
+                new PaymentProperties(3, Duration.ZERO, PaymentConcurrencyMode.STRIPED, stripes, timeout),
+                meterRegistry
+        );
+    }
+
+    private static UUID loanOnStripe(int stripe, int stripes) {
+        while (true) {
+            var id = UUID.randomUUID();
+            if (Math.floorMod(id.hashCode(), stripes) == stripe) {
+                return id;
+            }
+        }
+    }
+
+    private static boolean awaitBoth(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
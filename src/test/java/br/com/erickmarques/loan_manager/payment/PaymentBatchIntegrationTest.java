@@ -0,0 +1,144 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerResponse;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "loan-manager.payment.batch.max-size=3",
+        "loan-manager.cnab.chunk-size=3"
+})
+@AutoConfigureMockMvc
+class PaymentBatchIntegrationTest {
+
+    private static final String PATH = "/api/v1/payments/batch";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LoanResponse loan;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var customerResult = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CustomerRequestBuilder.createDefault())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        var customer = objectMapper.readValue(customerResult.getResponse().getContentAsString(), CustomerResponse.class);
+
+        var loanResult = mockMvc.perform(post("/api/v1/loans")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoanRequestBuilder.createWithCostumer(customer.id()))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        loan = objectMapper.readValue(loanResult.getResponse().getContentAsString(), LoanResponse.class);
+    }
+
+    @Test
+    void shouldCommitValidEntriesAndReportRejectedOnes() throws Exception {
+        var requests = List.of(
+                agreement(BigDecimal.TEN, "First installment"),
+                agreement(BigDecimal.TEN, null),
+                agreement(BigDecimal.TEN, "Second installment")
+        );
+
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("ACCEPTED"))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[1].errors[0]").value("For payment agreements, please provide some notes!"))
+                .andExpect(jsonPath("$.items[2].payment.loanId").value(loan.id().toString()));
+
+        mockMvc.perform(get("/api/v1/payments/loan/{loanId}", loan.id()))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/api/v1/loans/{id}", loan.id()))
+                .andExpect(jsonPath("$.totalAmountToPay")
+                        .value(loan.totalAmountToPay().subtract(BigDecimal.valueOf(20)).doubleValue()));
+    }
+
+    @Test
+    void shouldAcceptNdjsonBody() throws Exception {
+        var body = String.join("\n", Arrays.asList(
+                objectMapper.writeValueAsString(agreement(BigDecimal.ONE, "From file")),
+                objectMapper.writeValueAsString(agreement(BigDecimal.ONE, "From file"))
+        ));
+
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2));
+    }
+
+    @Test
+    void shouldRejectUnknownLoanPerEntry() throws Exception {
+        var request = PaymentRequest.builder()
+                .paymentDate(LocalDate.now())
+                .amount(BigDecimal.ONE)
+                .type(PaymentType.FINISHED)
+                .loanId(UUID.randomUUID())
+                .build();
+
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status").value("REJECTED"));
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanLimit() throws Exception {
+        var requests = List.of(
+                agreement(BigDecimal.ONE, "a"),
+                agreement(BigDecimal.ONE, "b"),
+                agreement(BigDecimal.ONE, "c"),
+                agreement(BigDecimal.ONE, "d")
+        );
+
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    private PaymentRequest agreement(BigDecimal amount, String notes) {
+        return PaymentRequest.builder()
+                .paymentDate(LocalDate.now())
+                .amount(amount)
+                .type(PaymentType.AGREEMENT)
+                .notes(notes)
+                .loanId(loan.id())
+                .build();
+    }
+}
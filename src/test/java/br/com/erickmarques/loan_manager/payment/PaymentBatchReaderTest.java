@@ -0,0 +1,110 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaymentBatchReaderTest {
+
+    private static final String LINE = """
+            {"paymentDate":"2025-03-10","amount":100.00,"type":"INTEREST","loanId":"%s"}
+            """;
+
+    private final PaymentBatchReader reader = new PaymentBatchReader(
+            new ObjectMapper().findAndRegisterModules(),
+            new PaymentBatchProperties(2)
+    );
+
+    @Test
+    void shouldReadEveryEntryOfJsonArray() {
+        // Arrange
+        var loanId = UUID.randomUUID();
+        var body = "[" + LINE.formatted(loanId) + ", null]";
+
+        // Act
+        var requests = reader.readJson(stream(body));
+
+        // Assert
+        assertEquals(2, requests.size());
+        assertEquals(loanId, requests.get(0).loanId());
+        assertNull(requests.get(1));
+    }
+
+    @Test
+    void shouldRejectJsonBodyThatIsNotArray() {
+        // Arrange
+        var body = LINE.formatted(UUID.randomUUID());
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> reader.readJson(stream(body)));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void shouldStopReadingJsonArrayPastMaxSize() {
+        // Arrange
+        var entry = LINE.formatted(UUID.randomUUID());
+        // Never closed: reaching the end of the body would be a 400, so a 413 means reading stopped at the limit.
+        var body = "[" + String.join(",", entry, entry, entry) + ", {\"amount\": ";
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> reader.readJson(stream(body)));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatusCode());
+    }
+
+    @Test
+    void shouldReadOneRequestPerLine() {
+        // Arrange
+        var loanId = UUID.randomUUID();
+        var body = LINE.formatted(loanId) + LINE.formatted(loanId);
+
+        // Act
+        var requests = reader.readNdjson(stream(body));
+
+        // Assert
+        assertEquals(2, requests.size());
+        assertEquals(loanId, requests.get(1).loanId());
+        assertEquals(PaymentType.INTEREST, requests.get(0).type());
+    }
+
+    @Test
+    void shouldRejectMalformedLine() {
+        // Arrange
+        var body = LINE.formatted(UUID.randomUUID()) + "{\"amount\": \n";
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> reader.readNdjson(stream(body)));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void shouldStopReadingPastMaxSize() {
+        // Arrange
+        var body = LINE.formatted(UUID.randomUUID()).repeat(3);
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> reader.readNdjson(stream(body)));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatusCode());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
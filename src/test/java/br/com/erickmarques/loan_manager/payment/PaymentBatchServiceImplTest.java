@@ -0,0 +1,270 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.builder.PaymentBuilder;
+import br.com.erickmarques.loan_manager.builder.PaymentRequestBuilder;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentBatchServiceImplTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    private final PaymentSettlementMapper paymentSettlementMapper = new PaymentSettlementMapperImpl();
+
+    @Mock
+    private ProcessPaymentService processPaymentService;
+
+    @Mock
+    private PaymentTransactionRunner paymentTransactionRunner;
+
+    @Mock
+    private LoanLockManager loanLockManager;
+
+    @Mock
+    private PaymentBatchReader paymentBatchReader;
+
+    private PaymentBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentBatchServiceImpl(
+                loanRepository,
+                paymentRepository,
+                paymentMapper,
+                paymentSettlementMapper,
+                processPaymentService,
+                paymentTransactionRunner,
+                loanLockManager,
+                paymentBatchReader,
+                new PaymentBatchProperties(3),
+                Validation.buildDefaultValidatorFactory().getValidator()
+        );
+
+        lenient().when(loanLockManager.withLocks(any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Nested
+    class RegisterTests {
+
+        @BeforeEach
+        void setUp() {
+            when(paymentTransactionRunner.execute(any())).thenAnswer(invocation ->
+                    invocation.<Supplier<?>>getArgument(0).get());
+        }
+
+        @Test
+        void shouldReportEveryEntryAndSaveOnlyAcceptedOnes() {
+            // Arrange
+            var loan = LoanBuilder.createDefault();
+            var valid = PaymentRequestBuilder.createWithLoan(loan.getId());
+            var invalid = PaymentRequest.builder().loanId(loan.getId()).build();
+            var unknownLoan = PaymentRequestBuilder.createWithLoan(UUID.randomUUID());
+            var payment = PaymentBuilder.createDefault();
+            var response = PaymentResponse.builder().id(payment.getId()).build();
+
+            when(loanRepository.findAllById(any())).thenReturn(List.of(loan));
+            when(paymentMapper.toEntity(valid, loan)).thenReturn(payment);
+            when(paymentMapper.toResponse(payment)).thenReturn(response);
+
+            // Act
+            var result = service.register(List.of(valid, invalid, unknownLoan));
+
+            // Assert
+            assertEquals(1, result.accepted());
+            assertEquals(2, result.rejected());
+            assertEquals(PaymentBatchItemStatus.ACCEPTED, result.items().get(0).status());
+            assertEquals(response, result.items().get(0).payment());
+            assertEquals(PaymentBatchItemStatus.REJECTED, result.items().get(1).status());
+            assertEquals(3, result.items().get(1).errors().size());
+            assertTrue(result.items().get(2).errors().get(0).startsWith("Loan not found"));
+            verify(paymentRepository).saveAll(List.of(payment));
+            verify(paymentRepository).flush();
+        }
+
+        @Test
+        void shouldRejectEntryBrokenByPaymentRules() {
+            // Arrange
+            var loan = LoanBuilder.createDefault();
+            var request = PaymentRequestBuilder.createWithLoan(loan.getId());
+            var payment = PaymentBuilder.createDefault();
+
+            when(loanRepository.findAllById(any())).thenReturn(List.of(loan));
+            when(paymentMapper.toEntity(request, loan)).thenReturn(payment);
+            doThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "For payment agreements, please provide some notes!"))
+                    .when(processPaymentService).process(payment);
+
+            // Act
+            var result = service.register(List.of(request));
+
+            // Assert
+            assertEquals(0, result.accepted());
+            assertEquals(List.of("For payment agreements, please provide some notes!"), result.items().get(0).errors());
+            verify(paymentRepository).saveAll(List.of());
+        }
+
+        @Test
+        void shouldResolveLoansWithSingleQuery() {
+            // Arrange
+            var loan = LoanBuilder.createDefault();
+            var requests = List.of(
+                    PaymentRequestBuilder.createWithLoan(loan.getId()),
+                    PaymentRequestBuilder.createWithLoan(loan.getId())
+            );
+
+            when(loanRepository.findAllById(List.of(loan.getId()))).thenReturn(List.of(loan));
+            when(paymentMapper.toEntity(any(), any())).thenAnswer(invocation -> PaymentBuilder.createDefault());
+
+            // Act
+            service.register(requests);
+
+            // Assert
+            verify(loanRepository).findAllById(List.of(loan.getId()));
+            verify(loanRepository, never()).findById(any());
+        }
+
+        @Test
+        void shouldHoldStripesOfValidEntriesAroundTheTransaction() {
+            // Arrange
+            var loan = LoanBuilder.createDefault();
+            var valid = PaymentRequestBuilder.createWithLoan(loan.getId());
+            var invalid = PaymentRequest.builder().loanId(UUID.randomUUID()).build();
+
+            when(loanRepository.findAllById(any())).thenReturn(List.of(loan));
+            when(paymentMapper.toEntity(any(), any())).thenAnswer(invocation -> PaymentBuilder.createDefault());
+
+            // Act
+            service.register(List.of(valid, invalid));
+
+            // Assert
+            verify(loanLockManager).withLocks(eq(List.of(loan.getId())), any());
+        }
+    }
+
+    @Nested
+    class SettleTests {
+
+        @BeforeEach
+        void setUp() {
+            when(paymentTransactionRunner.execute(any())).thenAnswer(invocation ->
+                    invocation.<Supplier<?>>getArgument(0).get());
+        }
+
+        @Test
+        void shouldDecideTypeAgainstLoansLoadedByTheBatch() {
+            // Arrange
+            var loan = LoanBuilder.createDefault();
+            var full = new PaymentSettlement(loan.getId(), LocalDate.now(), loan.getTotalAmountToPay(), "full");
+            var partial = new PaymentSettlement(loan.getId(), LocalDate.now(), BigDecimal.TEN, "partial");
+            var requests = ArgumentCaptor.forClass(PaymentRequest.class);
+
+            when(loanRepository.findAllById(List.of(loan.getId()))).thenReturn(List.of(loan));
+            when(paymentMapper.toEntity(any(), any())).thenAnswer(invocation -> PaymentBuilder.createDefault());
+
+            // Act
+            var result = service.settle(List.of(full, partial));
+
+            // Assert
+            verify(paymentMapper, times(2)).toEntity(requests.capture(), eq(loan));
+            assertEquals(PaymentType.FINISHED, requests.getAllValues().get(0).type());
+            assertEquals(PaymentType.INTEREST, requests.getAllValues().get(1).type());
+            assertEquals(2, result.accepted());
+            verify(loanRepository).findAllById(any());
+        }
+
+        @Test
+        void shouldRejectSettlementBelowTheInterestDue() {
+            // Arrange
+            var loan = LoanBuilder.createDefault();
+            var settlement = new PaymentSettlement(loan.getId(), LocalDate.now(), new BigDecimal("0.01"), "partial");
+
+            when(loanRepository.findAllById(List.of(loan.getId()))).thenReturn(List.of(loan));
+
+            // Act
+            var result = service.settle(List.of(settlement));
+
+            // Assert
+            assertEquals(1, result.rejected());
+            assertTrue(result.items().get(0).errors().get(0).contains("interest due"));
+            verify(processPaymentService, never()).process(any());
+        }
+
+        @Test
+        void shouldRejectSettlementOfUnknownLoan() {
+            // Arrange
+            var settlement = new PaymentSettlement(UUID.randomUUID(), LocalDate.now(), BigDecimal.TEN, "unknown");
+
+            when(loanRepository.findAllById(any())).thenReturn(List.of());
+
+            // Act
+            var result = service.settle(List.of(settlement));
+
+            // Assert
+            assertEquals(1, result.rejected());
+            assertTrue(result.items().get(0).errors().get(0).startsWith("Loan not found"));
+            verify(paymentMapper, never()).toEntity(any(), any());
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> service.register(List.of()));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanLimit() {
+        // Arrange
+        var requests = new ArrayList<>(Collections.nCopies(4, PaymentRequestBuilder.createDefault()));
+        when(paymentBatchReader.tooLarge())
+                .thenReturn(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "too large"));
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> service.register(requests));
+
+        // Assert
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatusCode());
+        verify(loanRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "loan-manager.payment.max-attempts=50",
+        "loan-manager.payment.retry-backoff=5ms"
+})
+class PaymentConcurrencyIntegrationTest {
+
+    private static final int CONCURRENT_PAYMENTS = 8;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldNotLoseUpdatesWhenAgreementsRaceOnSameLoan() throws Exception {
+        // Arrange
+        var loan = seedLoan();
+        var installment = BigDecimal.TEN;
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<PaymentResponse>>();
+
+        for (int i = 0; i < CONCURRENT_PAYMENTS; i++) {
+            tasks.add(() -> {
+                start.await();
+                return paymentService.create(PaymentRequest.builder()
+                        .paymentDate(LocalDate.now())
+                        .amount(installment)
+                        .type(PaymentType.AGREEMENT)
+                        .notes("Installment agreement")
+                        .loanId(loan.getId())
+                        .build());
+            });
+        }
+
+        // Act
+        var executor = Executors.newFixedThreadPool(CONCURRENT_PAYMENTS);
+        try {
+            var futures = new ArrayList<Future<PaymentResponse>>();
+            tasks.forEach(task -> futures.add(executor.submit(task)));
+            start.countDown();
+
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        var discount = installment.multiply(BigDecimal.valueOf(CONCURRENT_PAYMENTS));
+        var updated = loanRepository.findById(loan.getId()).orElseThrow();
+
+        assertEquals(0, loan.getAmount().subtract(discount).compareTo(updated.getAmount()));
+        assertEquals(0, loan.getTotalAmountToPay().subtract(discount).compareTo(updated.getTotalAmountToPay()));
+        assertEquals(CONCURRENT_PAYMENTS, updated.getVersion() - loan.getVersion());
+        assertTrue(meterRegistry.get("payments.registration.attempts").counter().count() >= CONCURRENT_PAYMENTS);
+    }
+
+    private Loan seedLoan() {
+        var customer = customerRepository.save(CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build());
+
+        return loanRepository.save(LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .customer(customer)
+                .status(LoanStatus.OPEN)
+                .build());
+    }
+}
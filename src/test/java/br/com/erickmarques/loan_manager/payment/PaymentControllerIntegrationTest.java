@@ -19,13 +19,22 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -93,6 +102,78 @@ class PaymentControllerIntegrationTest {
                 .andExpect(jsonPath("$.amount").value(request.amount().doubleValue()));
     }
 
+    @Test
+    void shouldNotKeepPaymentWhenAgreementIsRejected() throws Exception {
+        var request = PaymentRequest.builder()
+                .paymentDate(LocalDate.now())
+                .amount(BigDecimal.valueOf(100))
+                .type(PaymentType.AGREEMENT)
+                .loanId(loanId)
+                .build();
+
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(PATH + "/loan/{loanId}", loanId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void shouldReplayPaymentRetriedWithSameIdempotencyKey() throws Exception {
+        var request = PaymentRequestBuilder.createWithLoan(loanId);
+        var payload = objectMapper.writeValueAsString(request);
+        var key = UUID.randomUUID().toString();
+
+        var first = mockMvc.perform(post(PATH)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        var firstId = objectMapper.readValue(first.getResponse().getContentAsString(), PaymentResponse.class).id();
+
+        mockMvc.perform(post(PATH)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(firstId.toString()));
+
+        mockMvc.perform(get(PATH + "/loan/{loanId}", loanId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyReusedForDifferentPayment() throws Exception {
+        var request = PaymentRequestBuilder.createWithLoan(loanId);
+        var key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post(PATH)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        var different = PaymentRequest.builder()
+                .paymentDate(request.paymentDate())
+                .amount(request.amount().add(BigDecimal.ONE))
+                .type(request.type())
+                .notes(request.notes())
+                .loanId(loanId)
+                .build();
+
+        mockMvc.perform(post(PATH)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(different)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void shouldGetPaymentByIdSuccessfully() throws Exception {
         var createRequest = PaymentRequestBuilder.createWithLoan(loanId);
@@ -155,7 +236,47 @@ class PaymentControllerIntegrationTest {
 
         mockMvc.perform(get(PATH))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray());
+    }
+
+    @Test
+    void shouldWalkAllPaymentPagesWithCursor() throws Exception {
+        var createdIds = new HashSet<String>();
+
+        for (int i = 0; i < 3; i++) {
+            var request = PaymentRequestBuilder.createWithLoan(loanId);
+
+            var result = mockMvc.perform(post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            createdIds.add(objectMapper.readValue(result.getResponse().getContentAsString(), PaymentResponse.class)
+                    .id().toString());
+        }
+
+        var seenIds = new ArrayList<String>();
+        String cursor = null;
+
+        do {
+            var request = get(PATH).param("size", "2");
+            if (cursor != null) {
+                request = request.param("cursor", cursor);
+            }
+
+            var page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+
+            page.get("items").forEach(item -> seenIds.add(item.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(seenIds.size(), new HashSet<>(seenIds).size());
+        assertTrue(seenIds.containsAll(createdIds));
     }
 
     @Test
@@ -193,4 +314,31 @@ class PaymentControllerIntegrationTest {
         mockMvc.perform(get(PATH_ID, response.id()))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldExportPaymentsAsNdjson() throws Exception {
+        var paymentRequest = PaymentRequestBuilder.createWithLoan(loanId);
+
+        var created = objectMapper.readValue(mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), PaymentResponse.class);
+
+        var started = mockMvc.perform(get(PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(body.lines().anyMatch(line -> line.contains("\"id\":\"" + created.id() + "\"")));
+        assertTrue(body.contains("\"loanId\":\"" + loanId + "\""));
+    }
+}
@@ -2,6 +2,7 @@ package br.com.erickmarques.loan_manager.payment;
 
 import br.com.erickmarques.loan_manager.builder.PaymentRequestBuilder;
 import br.com.erickmarques.loan_manager.builder.PaymentResponseBuilder;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +28,12 @@ class PaymentControllerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private PaymentBatchService paymentBatchService;
+
+    @Mock
+    private PaymentBatchReader paymentBatchReader;
+
     @InjectMocks
     private PaymentController paymentController;
 
@@ -38,15 +46,57 @@ class PaymentControllerTest {
             var request = PaymentRequestBuilder.createDefault();
             var response = PaymentResponseBuilder.createDefault();
 
-            when(paymentService.create(request)).thenReturn(response);
+            when(paymentService.create(request, "retry-1")).thenReturn(response);
 
             // Act
-            ResponseEntity<PaymentResponse> result = paymentController.create(request);
+            ResponseEntity<PaymentResponse> result = paymentController.create(request, "retry-1");
 
             // Assert
             assertEquals(HttpStatus.CREATED, result.getStatusCode());
             assertEquals(response, result.getBody());
-            verify(paymentService).create(request);
+            verify(paymentService).create(request, "retry-1");
+        }
+    }
+
+    @Nested
+    class CreateBatchTests {
+
+        @Test
+        void shouldReturnResultOfEveryEntry() {
+            // Arrange
+            var body = new ByteArrayInputStream(new byte[0]);
+            var requests = List.of(PaymentRequestBuilder.createDefault());
+            var response = PaymentBatchResponse.of(List.of(
+                    PaymentBatchItemResult.accepted(0, PaymentResponseBuilder.createDefault())));
+
+            when(paymentBatchReader.readJson(body)).thenReturn(requests);
+            when(paymentBatchService.register(requests)).thenReturn(response);
+
+            // Act
+            var result = paymentController.createBatch(body);
+
+            // Assert
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            assertEquals(response, result.getBody());
+        }
+
+        @Test
+        void shouldReadNdjsonBeforeRegistering() {
+            // Arrange
+            var body = new ByteArrayInputStream(new byte[0]);
+            var requests = List.of(PaymentRequestBuilder.createDefault());
+            var response = PaymentBatchResponse.of(List.of(
+                    PaymentBatchItemResult.rejected(0, List.of("Loan not found"))));
+
+            when(paymentBatchReader.readNdjson(body)).thenReturn(requests);
+            when(paymentBatchService.register(requests)).thenReturn(response);
+
+            // Act
+            var result = paymentController.createBatchFromNdjson(body);
+
+            // Assert
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            assertEquals(1L, result.getBody().rejected());
         }
     }
 
@@ -93,20 +143,22 @@ class PaymentControllerTest {
         }
 
         @Test
-        void shouldFindAllPaymentsSuccessfully() {
+        void shouldFindPaymentsPageSuccessfully() {
             // Arrange
             var p1 = PaymentResponseBuilder.createDefault();
             var p2 = PaymentResponseBuilder.createDefault();
+            var page = new CursorPage<>(List.of(p1, p2), "next");
 
-            when(paymentService.findAll()).thenReturn(List.of(p1, p2));
+            when(paymentService.findPage("cursor", 2)).thenReturn(page);
 
             // Act
-            ResponseEntity<List<PaymentResponse>> result = paymentController.findAll();
+            ResponseEntity<CursorPage<PaymentResponse>> result = paymentController.findPage("cursor", 2);
 
             // Assert
             assertEquals(HttpStatus.OK, result.getStatusCode());
-            assertEquals(2, result.getBody().size());
-            verify(paymentService).findAll();
+            assertEquals(2, result.getBody().items().size());
+            assertEquals("next", result.getBody().nextCursor());
+            verify(paymentService).findPage("cursor", 2);
         }
 
         @Test
@@ -0,0 +1,137 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.builder.PaymentRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.PaymentResponseBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIdempotencyServiceImplTest {
+
+    @Mock
+    private PaymentIdempotencyKeyRepository repository;
+
+    private PaymentIdempotencyServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentIdempotencyServiceImpl(
+                repository,
+                new ObjectMapper().findAndRegisterModules(),
+                new PaymentIdempotencyProperties(100, Duration.ofMinutes(10), Duration.ofDays(7))
+        );
+    }
+
+    @Nested
+    class FindReplayTests {
+
+        @Test
+        void shouldReturnEmptyForUnknownKey() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            when(repository.findById("retry-1")).thenReturn(Optional.empty());
+
+            // Act
+            var result = service.findReplay("retry-1", request);
+
+            // Assert
+            assertTrue(result.isEmpty());
+        }
+
+        @Test
+        void shouldReplayFromMemoryWithoutQueryingDatabase() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            var response = PaymentResponseBuilder.createDefault();
+            service.remember("retry-1", request, response);
+
+            // Act
+            var result = service.findReplay("retry-1", request);
+
+            // Assert
+            assertEquals(Optional.of(response), result);
+            verify(repository, never()).findById(any());
+        }
+
+        @Test
+        void shouldReplayFromDatabaseOnceAndThenFromMemory() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            var response = PaymentResponseBuilder.createDefault();
+            service.remember("retry-1", request, response);
+
+            var captor = ArgumentCaptor.forClass(PaymentIdempotencyKey.class);
+            verify(repository).saveAndFlush(captor.capture());
+
+            var restarted = new PaymentIdempotencyServiceImpl(
+                    repository,
+                    new ObjectMapper().findAndRegisterModules(),
+                    new PaymentIdempotencyProperties(100, Duration.ofMinutes(10), Duration.ofDays(7))
+            );
+            when(repository.findById("retry-1")).thenReturn(Optional.of(captor.getValue()));
+
+            // Act
+            var first = restarted.findReplay("retry-1", request);
+            var second = restarted.findReplay("retry-1", request);
+
+            // Assert
+            assertEquals(Optional.of(response), first);
+            assertEquals(Optional.of(response), second);
+            verify(repository, times(1)).findById("retry-1");
+        }
+
+        @Test
+        void shouldRejectKeyReusedForDifferentRequest() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            var other = PaymentRequest.builder()
+                    .paymentDate(request.paymentDate())
+                    .amount(request.amount().add(BigDecimal.ONE))
+                    .type(request.type())
+                    .notes(request.notes())
+                    .loanId(request.loanId())
+                    .build();
+            service.remember("retry-1", request, PaymentResponseBuilder.createDefault());
+
+            // Act
+            var exception = assertThrows(ResponseStatusException.class, () -> service.findReplay("retry-1", other));
+
+            // Assert
+            assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatusCode());
+        }
+
+        @Test
+        void shouldRejectOversizedKey() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+
+            // Act
+            var exception = assertThrows(ResponseStatusException.class,
+                    () -> service.findReplay("k".repeat(101), request));
+
+            // Assert
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        }
+    }
+}
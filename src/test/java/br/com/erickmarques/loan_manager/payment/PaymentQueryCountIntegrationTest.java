@@ -0,0 +1,175 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.builder.PaymentBuilder;
+import br.com.erickmarques.loan_manager.builder.PaymentRequestBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import br.com.erickmarques.loan_manager.pagination.CursorPage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PaymentQueryCountIntegrationTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentBatchService paymentBatchService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldListPaymentPageWithoutLoadingLoansPerRow() {
+        // Arrange
+        seedPaymentsForDistinctLoans(2);
+        var statementsForFewPayments = countStatements(
+                () -> paymentService.findPage(null, CursorPage.MAX_PAGE_SIZE));
+
+        seedPaymentsForDistinctLoans(20);
+
+        // Act
+        var statementsForManyPayments = countStatements(
+                () -> paymentService.findPage(null, CursorPage.MAX_PAGE_SIZE));
+
+        // Assert
+        assertEquals(1, statementsForFewPayments);
+        assertEquals(statementsForFewPayments, statementsForManyPayments);
+    }
+
+    @Test
+    void shouldListPaymentsByLoanWithSingleStatement() {
+        // Arrange
+        var loan = seedLoan();
+        for (int i = 0; i < 10; i++) {
+            seedPayment(loan);
+        }
+
+        // Act
+        var statements = countStatements(() -> paymentService.findAllByLoanId(loan.getId()));
+
+        // Assert
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void shouldListPaymentsWithoutHydratingEntities() {
+        // Arrange
+        var loan = seedLoan();
+        seedPayment(loan);
+        seedPayment(loan);
+        statistics.clear();
+
+        // Act
+        var page = paymentService.findPage(null, CursorPage.MAX_PAGE_SIZE);
+        var byLoan = paymentService.findAllByLoanId(loan.getId());
+
+        // Assert
+        assertEquals(2, byLoan.size());
+        assertEquals(loan.getId(), byLoan.get(0).loanId());
+        assertTrue(page.items().size() >= 2);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldRegisterPaymentAndLoanChangeWithOneWriteEach() {
+        // Arrange
+        var loan = seedLoan();
+        var request = PaymentRequestBuilder.createWithLoan(loan.getId());
+
+        // Act
+        var statements = countStatements(() -> paymentService.create(request));
+
+        // Assert
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(3, statements);
+    }
+
+    @Test
+    void shouldRegisterBatchWithConstantNumberOfStatements() {
+        // Arrange
+        var statementsForFewPayments = countStatements(() -> paymentBatchService.register(requestsForDistinctLoans(3)));
+        var requests = requestsForDistinctLoans(30);
+
+        // Act
+        var statementsForManyPayments = countStatements(() -> paymentBatchService.register(requests));
+
+        // Assert
+        assertEquals(3, statementsForFewPayments);
+        assertEquals(statementsForFewPayments, statementsForManyPayments);
+        assertEquals(30, statistics.getEntityInsertCount());
+        assertEquals(30, statistics.getEntityUpdateCount());
+    }
+
+    private List<PaymentRequest> requestsForDistinctLoans(int quantity) {
+        var requests = new ArrayList<PaymentRequest>();
+        for (int i = 0; i < quantity; i++) {
+            requests.add(PaymentRequestBuilder.createWithLoan(seedLoan().getId()));
+        }
+        return requests;
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedPaymentsForDistinctLoans(int quantity) {
+        for (int i = 0; i < quantity; i++) {
+            seedPayment(seedLoan());
+        }
+    }
+
+    private Loan seedLoan() {
+        var customer = customerRepository.save(CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build());
+
+        return loanRepository.save(LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .customer(customer)
+                .status(LoanStatus.OPEN)
+                .build());
+    }
+
+    private void seedPayment(Loan loan) {
+        paymentRepository.save(PaymentBuilder.createDefault().toBuilder()
+                .id(null)
+                .loan(loan)
+                .build());
+    }
+}
@@ -3,25 +3,39 @@ package br.com.erickmarques.loan_manager.payment;
 import br.com.erickmarques.loan_manager.builder.LoanBuilder;
 import br.com.erickmarques.loan_manager.builder.PaymentBuilder;
 import br.com.erickmarques.loan_manager.builder.PaymentRequestBuilder;
+import br.com.erickmarques.loan_manager.export.ExportFormat;
+import br.com.erickmarques.loan_manager.export.StreamingExporter;
 import br.com.erickmarques.loan_manager.loan.LoanNotFoundException;
 import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.pagination.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,9 +56,32 @@ class PaymentServiceImplTest {
     @Mock
     private LoanRepository loanRepository;
 
+    @Mock
+    private PaymentTransactionRunner paymentTransactionRunner;
+
+    @Mock
+    private LoanLockManager loanLockManager;
+
+    @Mock
+    private PaymentIdempotencyService paymentIdempotencyService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StreamingExporter streamingExporter;
+
     @Nested
     class CreateTests {
 
+        @BeforeEach
+        void setUp() {
+            when(loanLockManager.withLock(any(), any())).thenAnswer(invocation ->
+                    invocation.<Supplier<?>>getArgument(1).get());
+            when(paymentTransactionRunner.execute(any())).thenAnswer(invocation ->
+                    invocation.<Supplier<?>>getArgument(0).get());
+        }
+
         @Test
         void shouldCreatePaymentSuccessfully() {
             // Arrange
@@ -64,6 +101,7 @@ class PaymentServiceImplTest {
             assertNotNull(result);
             assertEquals(payment.getId(), result.id());
             verify(paymentRepository).save(payment);
+            verify(paymentRepository).flush();
         }
 
         @Test
@@ -78,6 +116,85 @@ class PaymentServiceImplTest {
         }
     }
 
+    @Nested
+    class CreateWithIdempotencyKeyTests {
+
+        @Test
+        void shouldReplayStoredResponseWithoutRegisteringAgain() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            var stored = PaymentResponse.builder().id(UUID.randomUUID()).build();
+
+            when(paymentIdempotencyService.findReplay("retry-1", request)).thenReturn(Optional.of(stored));
+
+            // Act
+            var result = service.create(request, "retry-1");
+
+            // Assert
+            assertEquals(stored, result);
+            verify(loanRepository, never()).findById(any());
+            verify(paymentRepository, never()).save(any());
+        }
+
+        @Test
+        void shouldRememberResponseOfNewKey() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            var loan = LoanBuilder.createDefault();
+            var payment = PaymentBuilder.createDefault();
+            var response = PaymentResponse.builder().id(payment.getId()).build();
+
+            when(paymentIdempotencyService.findReplay("retry-1", request)).thenReturn(Optional.empty());
+            when(loanLockManager.withLock(any(), any())).thenAnswer(invocation ->
+                    invocation.<Supplier<?>>getArgument(1).get());
+            when(paymentTransactionRunner.execute(any())).thenAnswer(invocation ->
+                    invocation.<Supplier<?>>getArgument(0).get());
+            when(loanRepository.findById(request.loanId())).thenReturn(Optional.of(loan));
+            when(paymentMapper.toEntity(request, loan)).thenReturn(payment);
+            when(paymentMapper.toResponse(payment)).thenReturn(response);
+
+            // Act
+            var result = service.create(request, "retry-1");
+
+            // Assert
+            assertEquals(response, result);
+            verify(paymentRepository).save(payment);
+            verify(paymentIdempotencyService).remember("retry-1", request, response);
+        }
+
+        @Test
+        void shouldReplayWhenConcurrentRetryCommittedFirst() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            var stored = PaymentResponse.builder().id(UUID.randomUUID()).build();
+
+            when(paymentIdempotencyService.findReplay("retry-1", request))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(stored));
+            when(loanLockManager.withLock(any(), any()))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+            // Act
+            var result = service.create(request, "retry-1");
+
+            // Assert
+            assertEquals(stored, result);
+        }
+
+        @Test
+        void shouldSkipIdempotencyWithoutKey() {
+            // Arrange
+            var request = PaymentRequestBuilder.createDefault();
+            when(loanLockManager.withLock(any(), any())).thenReturn(PaymentResponse.builder().build());
+
+            // Act
+            service.create(request, null);
+
+            // Assert
+            verify(paymentIdempotencyService, never()).findReplay(any(), any());
+        }
+    }
+
     @Nested
     class UpdateTests {
 
@@ -103,6 +220,7 @@ class PaymentServiceImplTest {
             assertNotNull(result);
             assertEquals(updatedPayment.getId(), result.id());
             verify(paymentRepository).save(updatedPayment);
+            verify(eventPublisher).publishEvent(new PaymentChangedEvent(paymentId));
         }
 
         @Test
@@ -166,28 +284,41 @@ class PaymentServiceImplTest {
     }
 
     @Nested
-    class FindAllTests {
+    class FindPageTests {
 
         @Test
-        void shouldReturnAllPaymentsSuccessfully() {
+        void shouldReturnFirstPageWithNextCursor() {
             // Arrange
-            var p1 = PaymentBuilder.createDefault();
-            var p2 = PaymentBuilder.createDefault().toBuilder().id(UUID.randomUUID()).build();
+            var r1 = PaymentResponse.builder().id(UUID.randomUUID()).paymentDate(LocalDate.now()).build();
+            var r2 = PaymentResponse.builder().id(UUID.randomUUID()).paymentDate(LocalDate.now()).build();
 
-            var r1 = PaymentResponse.builder().id(p1.getId()).build();
-            var r2 = PaymentResponse.builder().id(p2.getId()).build();
+            when(paymentRepository.findFirstPage(PageRequest.ofSize(2))).thenReturn(List.of(r1, r2));
 
-            when(paymentRepository.findAllByOrderByPaymentDateAsc()).thenReturn(List.of(p1, p2));
-            when(paymentMapper.toResponse(p1)).thenReturn(r1);
-            when(paymentMapper.toResponse(p2)).thenReturn(r2);
+            // Act
+            var result = service.findPage(null, 1);
+
+            // Assert
+            assertEquals(List.of(r1), result.items());
+            assertEquals(new KeysetCursor(r1.paymentDate(), r1.id()),
+                    KeysetCursor.decode(result.nextCursor()));
+            verifyNoInteractions(paymentMapper);
+        }
+
+        @Test
+        void shouldSeekAfterCursorWithoutNextCursorOnLastPage() {
+            // Arrange
+            var response = PaymentResponse.builder().id(UUID.randomUUID()).paymentDate(LocalDate.now()).build();
+            var cursor = new KeysetCursor(response.paymentDate(), UUID.randomUUID());
+
+            when(paymentRepository.findPageAfter(cursor.paymentDate(), cursor.id(), PageRequest.ofSize(3)))
+                    .thenReturn(List.of(response));
 
             // Act
-            var result = service.findAll();
+            var result = service.findPage(cursor.encode(), 2);
 
             // Assert
-            assertEquals(2, result.size());
-            verify(paymentMapper).toResponse(p1);
-            verify(paymentMapper).toResponse(p2);
+            assertEquals(List.of(response), result.items());
+            assertNull(result.nextCursor());
         }
     }
 
@@ -195,27 +326,21 @@ class PaymentServiceImplTest {
     class FindAllByLoanIdTests {
 
         @Test
-        void shouldReturnAllPaymentsForLoanSuccessfully() {
+        void shouldReturnProjectedPaymentsForLoanWithoutMapping() {
             // Arrange
             var loanId = UUID.randomUUID();
-            var p1 = PaymentBuilder.createDefault();
-            var p2 = PaymentBuilder.createDefault().toBuilder().id(UUID.randomUUID()).build();
-
-            var r1 = PaymentResponse.builder().id(p1.getId()).build();
-            var r2 = PaymentResponse.builder().id(p2.getId()).build();
+            var r1 = PaymentResponse.builder().id(UUID.randomUUID()).loanId(loanId).build();
+            var r2 = PaymentResponse.builder().id(UUID.randomUUID()).loanId(loanId).build();
 
             when(paymentRepository.findAllByLoanIdOrderByPaymentDateAsc(loanId))
-                    .thenReturn(List.of(p1, p2));
-            when(paymentMapper.toResponse(p1)).thenReturn(r1);
-            when(paymentMapper.toResponse(p2)).thenReturn(r2);
+                    .thenReturn(List.of(r1, r2));
 
             // Act
             var result = service.findAllByLoanId(loanId);
 
             // Assert
-            assertEquals(2, result.size());
-            verify(paymentMapper).toResponse(p1);
-            verify(paymentMapper).toResponse(p2);
+            assertEquals(List.of(r1, r2), result);
+            verifyNoInteractions(paymentMapper);
         }
     }
 
@@ -233,6 +358,7 @@ class PaymentServiceImplTest {
 
             // Assert
             verify(paymentRepository).deleteById(paymentId);
+            verify(eventPublisher).publishEvent(new PaymentChangedEvent(paymentId));
         }
 
         @Test
@@ -246,4 +372,21 @@ class PaymentServiceImplTest {
             verify(paymentRepository, never()).deleteById(any());
         }
     }
+
+    @Nested
+    class ExportTests {
+
+        @Test
+        void shouldStreamPaymentsThroughExporter() {
+            // Arrange
+            var out = new ByteArrayOutputStream();
+
+            // Act
+            service.export(ExportFormat.NDJSON, out);
+
+            // Assert
+            verify(streamingExporter).export(eq(out), eq(ExportFormat.NDJSON), eq(PaymentResponse.class), anyList(),
+                    any(), any());
+        }
+    }
 }
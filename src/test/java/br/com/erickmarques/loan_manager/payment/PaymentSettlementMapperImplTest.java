@@ -0,0 +1,93 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentSettlementMapperImplTest {
+
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    private final PaymentSettlementMapperImpl mapper = new PaymentSettlementMapperImpl();
+
+    @Test
+    void shouldCloseLoanWhenSettlementCoversTotal() {
+        // Arrange
+        var loan = LoanBuilder.createDefault();
+        var settlement = new PaymentSettlement(loan.getId(), LocalDate.now(), loan.getTotalAmountToPay(), "full");
+
+        // Act
+        var request = mapper.toRequest(settlement, loan);
+
+        // Assert
+        assertEquals(PaymentType.FINISHED, request.type());
+        assertEquals(settlement.amount(), request.amount());
+        assertEquals(settlement.paymentDate(), request.paymentDate());
+    }
+
+    @Test
+    void shouldTakeSettlementCoveringExactlyTheInterestDueAsInterest() {
+        // Arrange
+        var loan = LoanBuilder.createDefault();
+        var interestDue = loan.getTotalAmountToPay().subtract(loan.getAmount());
+        var settlement = new PaymentSettlement(loan.getId(), LocalDate.now(), interestDue, "partial");
+
+        // Act
+        var request = mapper.toRequest(settlement, loan);
+
+        // Assert
+        assertEquals(PaymentType.INTEREST, request.type());
+        assertEquals("partial", request.notes());
+    }
+
+    @Test
+    void shouldTakeSettlementJustBelowTotalAsInterest() {
+        // Arrange
+        var loan = LoanBuilder.createDefault();
+        var amount = loan.getTotalAmountToPay().subtract(CENT);
+        var settlement = new PaymentSettlement(loan.getId(), LocalDate.now(), amount, "partial");
+
+        // Act
+        var request = mapper.toRequest(settlement, loan);
+
+        // Assert
+        assertEquals(PaymentType.INTEREST, request.type());
+    }
+
+    @Test
+    void shouldRejectSettlementBelowTheInterestDue() {
+        // Arrange
+        var loan = LoanBuilder.createDefault();
+        var amount = loan.getTotalAmountToPay().subtract(loan.getAmount()).subtract(CENT);
+        var settlement = new PaymentSettlement(loan.getId(), LocalDate.now(), amount, "partial");
+
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> mapper.toRequest(settlement, loan));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertTrue(exception.getReason().contains("interest due"));
+    }
+
+    @Test
+    void shouldTakeSettlementOfUnknownLoanAsInterest() {
+        // Arrange
+        var settlement = new PaymentSettlement(UUID.randomUUID(), LocalDate.now(), BigDecimal.TEN, "unknown");
+
+        // Act
+        var request = mapper.toRequest(settlement, null);
+
+        // Assert
+        assertEquals(PaymentType.INTEREST, request.type());
+        assertEquals(settlement.loanId(), request.loanId());
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.erickmarques.loan_manager.payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentTransactionRunnerTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private PaymentTransactionRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new PaymentTransactionRunner(
+                transactionManager,
+                new PaymentProperties(3, Duration.ZERO, PaymentConcurrencyMode.OPTIMISTIC, 1, Duration.ZERO),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void shouldReturnResultOnFirstAttempt() {
+        // Act
+        var result = runner.execute(() -> "registered");
+
+        // Assert
+        assertEquals("registered", result);
+        assertEquals(1.0, counter("payments.registration.attempts"));
+        assertEquals(0.0, counter("payments.registration.conflicts"));
+    }
+
+    @Test
+    void shouldRetryWhenLoanWasUpdatedConcurrently() {
+        // Arrange
+        var calls = new AtomicInteger();
+
+        // Act
+        var result = runner.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Payment.class, "loan");
+            }
+            return "registered";
+        });
+
+        // Assert
+        assertEquals("registered", result);
+        assertEquals(3, calls.get());
+        assertEquals(3.0, counter("payments.registration.attempts"));
+        assertEquals(2.0, counter("payments.registration.conflicts"));
+        assertEquals(0.0, counter("payments.registration.retries.exhausted"));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void shouldRejectWithConflictWhenAttemptsAreExhausted() {
+        // Act
+        var exception = assertThrows(ResponseStatusException.class, () -> runner.execute(() -> {
+            throw new ObjectOptimisticLockingFailureException(Payment.class, "loan");
+        }));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals(3.0, counter("payments.registration.conflicts"));
+        assertEquals(1.0, counter("payments.registration.retries.exhausted"));
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        // Act + Assert
+        assertThrows(IllegalStateException.class, () -> runner.execute(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(1.0, counter("payments.registration.attempts"));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
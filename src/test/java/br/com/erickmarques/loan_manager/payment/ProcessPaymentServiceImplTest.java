@@ -2,15 +2,19 @@ package br.com.erickmarques.loan_manager.payment;
 
 import br.com.erickmarques.loan_manager.builder.LoanBuilder;
 import br.com.erickmarques.loan_manager.builder.PaymentBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerLoanCounterService;
 import br.com.erickmarques.loan_manager.loan.Loan;
+import br.com.erickmarques.loan_manager.loan.LoanChangedEvent;
 import br.com.erickmarques.loan_manager.loan.LoanRepository;
 import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -18,6 +22,7 @@ import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,9 +31,22 @@ class ProcessPaymentServiceImplTest {
     @Mock
     private LoanRepository loanRepository;
 
-    @InjectMocks
+    @Mock
+    private CustomerLoanCounterService customerLoanCounterService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private ProcessPaymentServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ProcessPaymentServiceImpl(loanRepository, customerLoanCounterService, eventPublisher, meterRegistry);
+    }
+
     @Nested
     class FinishedPaymentTests {
 
@@ -50,6 +68,46 @@ class ProcessPaymentServiceImplTest {
             // Assert
             assertEquals(LoanStatus.CLOSED, loan.getStatus());
             verify(loanRepository).save(loan);
+            verify(customerLoanCounterService).loanClosed(loan.getCustomer().getId());
+            verify(eventPublisher).publishEvent(new LoanChangedEvent(loan.getId()));
+        }
+
+        @Test
+        void shouldCloseOverdueLoanAndCountItAsClosed() {
+            // Arrange
+            Loan loan = LoanBuilder.createDefault();
+            loan.setStatus(LoanStatus.OVERDUE);
+
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.FINISHED)
+                    .loan(loan)
+                    .build();
+
+            // Act
+            service.process(payment);
+
+            // Assert
+            assertEquals(LoanStatus.CLOSED, loan.getStatus());
+            verify(customerLoanCounterService).loanClosed(loan.getCustomer().getId());
+        }
+
+        @Test
+        void shouldNotCountClosingTwiceWhenLoanIsAlreadyClosed() {
+            // Arrange
+            Loan loan = LoanBuilder.createDefault();
+            loan.setStatus(LoanStatus.CLOSED);
+
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.FINISHED)
+                    .loan(loan)
+                    .build();
+
+            // Act
+            service.process(payment);
+
+            // Assert
+            assertEquals(LoanStatus.CLOSED, loan.getStatus());
+            verify(customerLoanCounterService, never()).loanClosed(loan.getCustomer().getId());
         }
     }
 
@@ -93,6 +151,28 @@ class ProcessPaymentServiceImplTest {
             // Act + Assert
             assertThrows(ResponseStatusException.class, () -> service.process(payment));
         }
+
+        @Test
+        void shouldLeaveLoanUntouchedWhenAgreementHasNoNotes() {
+            // Arrange
+            Loan loan = LoanBuilder.createDefault();
+            var originalAmount = loan.getAmount();
+            var originalTotal = loan.getTotalAmountToPay();
+
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.AGREEMENT)
+                    .notes(null)
+                    .loan(loan)
+                    .build();
+
+            // Act
+            assertThrows(ResponseStatusException.class, () -> service.process(payment));
+
+            // Assert
+            assertEquals(originalAmount, loan.getAmount());
+            assertEquals(originalTotal, loan.getTotalAmountToPay());
+            verify(loanRepository, never()).save(loan);
+        }
     }
 
     @Nested
@@ -116,6 +196,61 @@ class ProcessPaymentServiceImplTest {
             assertEquals(LocalDate.of(2025, 3, 10), loan.getPaymentDate());
             verify(loanRepository).save(loan);
         }
+
+        @Test
+        void shouldReopenOverdueLoanWhenNewPaymentDateIsNotPast() {
+            // Arrange
+            Loan loan = LoanBuilder.createDefault();
+            loan.setStatus(LoanStatus.OVERDUE);
+            loan.setPaymentDate(LocalDate.now().minusDays(3));
+
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.INTEREST)
+                    .loan(loan)
+                    .build();
+
+            // Act
+            service.process(payment);
+
+            // Assert
+            assertEquals(LoanStatus.OPEN, loan.getStatus());
+            verify(customerLoanCounterService, never()).loanClosed(loan.getCustomer().getId());
+        }
+
+        @Test
+        void shouldKeepLoanOverdueWhenNewPaymentDateIsStillPast() {
+            // Arrange
+            Loan loan = LoanBuilder.createDefault();
+            loan.setStatus(LoanStatus.OVERDUE);
+            loan.setPaymentDate(LocalDate.now().minusMonths(3));
+
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.INTEREST)
+                    .loan(loan)
+                    .build();
+
+            // Act
+            service.process(payment);
+
+            // Assert
+            assertEquals(LoanStatus.OVERDUE, loan.getStatus());
+        }
+
+        @Test
+        void shouldRejectInterestForLoanWithoutPaymentDate() {
+            // Arrange
+            Loan loan = LoanBuilder.createDefault();
+            loan.setPaymentDate(null);
+
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.INTEREST)
+                    .loan(loan)
+                    .build();
+
+            // Act + Assert
+            assertThrows(ResponseStatusException.class, () -> service.process(payment));
+            verify(loanRepository, never()).save(loan);
+        }
     }
 
     @Nested
@@ -137,5 +272,46 @@ class ProcessPaymentServiceImplTest {
             // Assert
             verify(loanRepository).save(loan);
         }
+
+        @Test
+        void shouldTimeProcessingTaggedByPaymentType() {
+            // Arrange
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.INTEREST)
+                    .loan(LoanBuilder.createDefault())
+                    .build();
+
+            // Act
+            service.process(payment);
+
+            // Assert
+            var timer = meterRegistry.get("payment.process")
+                    .tag("type", "INTEREST")
+                    .tag("exception", "none")
+                    .timer();
+
+            assertEquals(1, timer.count());
+        }
+
+        @Test
+        void shouldTimeRejectedPaymentWithExceptionTag() {
+            // Arrange
+            var payment = PaymentBuilder.createDefault().toBuilder()
+                    .type(PaymentType.AGREEMENT)
+                    .notes(null)
+                    .loan(LoanBuilder.createDefault())
+                    .build();
+
+            // Act
+            assertThrows(ResponseStatusException.class, () -> service.process(payment));
+
+            // Assert
+            var timer = meterRegistry.get("payment.process")
+                    .tag("type", "AGREEMENT")
+                    .tag("exception", "ResponseStatusException")
+                    .timer();
+
+            assertEquals(1, timer.count());
+        }
     }
 }
@@ -0,0 +1,74 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.builder.PixConfirmationBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PixConfirmationQueueTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PixConfirmationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new PixConfirmationQueue(new PixProperties(3, 0, 2, Duration.ZERO), meterRegistry);
+    }
+
+    @Test
+    void shouldRefuseWholeNotificationWhenItDoesNotFit() {
+        // Arrange
+        queue.offerAll(List.of(PixConfirmationBuilder.createDefault(), PixConfirmationBuilder.createDefault()));
+
+        // Act
+        var offered = queue.offerAll(List.of(PixConfirmationBuilder.createDefault(), PixConfirmationBuilder.createDefault()));
+
+        // Assert
+        assertFalse(offered);
+        assertEquals(2.0, meterRegistry.get("pix.queue.size").gauge().value());
+        assertEquals(2.0, meterRegistry.get("pix.confirmations.accepted").counter().count());
+        assertEquals(2.0, meterRegistry.get("pix.confirmations.throttled").counter().count());
+    }
+
+    @Test
+    void shouldDrainAtMostMaxConfirmations() throws InterruptedException {
+        // Arrange
+        queue.offerAll(List.of(
+                PixConfirmationBuilder.createDefault(),
+                PixConfirmationBuilder.createDefault(),
+                PixConfirmationBuilder.createDefault()
+        ));
+        var batch = new ArrayList<PixConfirmation>();
+
+        // Act
+        var drained = queue.drain(batch, 2, 0, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(2, drained);
+        assertEquals(2, batch.size());
+        assertFalse(queue.isEmpty());
+    }
+
+    @Test
+    void shouldReturnNothingWhenQueueStaysEmpty() throws InterruptedException {
+        // Arrange
+        var batch = new ArrayList<PixConfirmation>();
+
+        // Act
+        var drained = queue.drain(batch, 2, 10, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(0, drained);
+        assertTrue(batch.isEmpty());
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.builder.PaymentResponseBuilder;
+import br.com.erickmarques.loan_manager.builder.PixConfirmationBuilder;
+import br.com.erickmarques.loan_manager.payment.LoanLockManager;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchItemResult;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchResponse;
+import br.com.erickmarques.loan_manager.payment.PaymentBatchService;
+import br.com.erickmarques.loan_manager.payment.PaymentTransactionRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PixConfirmationServiceImplTest {
+
+    @Mock
+    private PixConfirmationRecordRepository pixConfirmationRecordRepository;
+
+    @Mock
+    private PaymentBatchService paymentBatchService;
+
+    @Mock
+    private PaymentTransactionRunner paymentTransactionRunner;
+
+    @Mock
+    private LoanLockManager loanLockManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PixConfirmationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PixConfirmationServiceImpl(
+                pixConfirmationRecordRepository,
+                paymentBatchService,
+                loanLockManager,
+                paymentTransactionRunner,
+                meterRegistry
+        );
+
+        when(paymentTransactionRunner.execute(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        when(loanLockManager.withLocks(any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRegisterNewConfirmationsAndRecordOutcome() {
+        // Arrange
+        var accepted = PixConfirmationBuilder.createDefault();
+        var rejected = PixConfirmationBuilder.createDefault();
+        var payment = PaymentResponseBuilder.createDefault();
+
+        when(pixConfirmationRecordRepository.findHandledIds(any())).thenReturn(Set.of());
+        when(paymentBatchService.settle(anyList())).thenReturn(PaymentBatchResponse.of(List.of(
+                PaymentBatchItemResult.accepted(0, payment),
+                PaymentBatchItemResult.rejected(1, List.of("Loan not found."))
+        )));
+
+        // Act
+        service.register(List.of(accepted, rejected, accepted));
+
+        // Assert
+        var records = ArgumentCaptor.forClass(List.class);
+        verify(pixConfirmationRecordRepository).saveAll(records.capture());
+
+        var saved = (List<PixConfirmationRecord>) records.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(PixConfirmationStatus.ACCEPTED, saved.get(0).getStatus());
+        assertEquals(payment.id(), saved.get(0).getPaymentId());
+        assertEquals(PixConfirmationStatus.REJECTED, saved.get(1).getStatus());
+        assertNull(saved.get(1).getPaymentId());
+        assertEquals("Loan not found.", saved.get(1).getReason());
+
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.processed").tag("outcome", "accepted").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.processed").tag("outcome", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.processed").tag("outcome", "duplicate").counter().count());
+        verify(loanLockManager).withLocks(eq(List.of(
+                PixTxid.toLoanId(accepted.txid()),
+                PixTxid.toLoanId(rejected.txid()),
+                PixTxid.toLoanId(accepted.txid()))), any());
+    }
+
+    @Test
+    void shouldSkipConfirmationsAlreadyHandled() {
+        // Arrange
+        var confirmation = PixConfirmationBuilder.createDefault();
+        when(pixConfirmationRecordRepository.findHandledIds(any())).thenReturn(Set.of(confirmation.endToEndId()));
+
+        // Act
+        service.register(List.of(confirmation));
+
+        // Assert
+        verify(paymentBatchService, never()).settle(anyList());
+        verify(pixConfirmationRecordRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRegisterAgainWhenAnotherWorkerCommittedSameConfirmation() {
+        // Arrange
+        var confirmation = PixConfirmationBuilder.createDefault();
+
+        when(pixConfirmationRecordRepository.findHandledIds(any()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(confirmation.endToEndId()));
+        when(paymentBatchService.settle(anyList())).thenReturn(PaymentBatchResponse.of(List.of(
+                PaymentBatchItemResult.accepted(0, PaymentResponseBuilder.createDefault())
+        )));
+        when(pixConfirmationRecordRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act
+        service.register(List.of(confirmation));
+
+        // Assert
+        verify(paymentTransactionRunner, times(2)).execute(any());
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.processed").tag("outcome", "duplicate").counter().count());
+    }
+}
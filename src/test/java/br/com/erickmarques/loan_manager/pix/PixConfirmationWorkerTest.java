@@ -0,0 +1,118 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.builder.PixConfirmationBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PixConfirmationWorkerTest {
+
+    @Mock
+    private PixConfirmationService pixConfirmationService;
+
+    @Mock
+    private PixDeadLetterRepository pixDeadLetterRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PixConfirmationQueue queue;
+    private PixConfirmationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new PixProperties(10, 1, 10, Duration.ofSeconds(5));
+        queue = new PixConfirmationQueue(properties, meterRegistry);
+        worker = new PixConfirmationWorker(queue, pixConfirmationService, pixDeadLetterRepository, properties, meterRegistry);
+    }
+
+    @Test
+    void shouldRegisterOneAtATimeWhenBatchFails() {
+        // Arrange
+        var first = PixConfirmationBuilder.createDefault();
+        var second = PixConfirmationBuilder.createDefault();
+        queue.offerAll(List.of(first, second));
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doNothing()
+                .when(pixConfirmationService).register(anyList());
+
+        // Act
+        drain();
+
+        // Assert
+        verify(pixConfirmationService, times(3)).register(anyList());
+        verify(pixConfirmationService).register(List.of(first));
+        verify(pixConfirmationService).register(List.of(second));
+        verify(pixDeadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldDeadLetterConfirmationThatStillFailsAlone() {
+        // Arrange
+        var good = PixConfirmationBuilder.createDefault();
+        var bad = PixConfirmationBuilder.createDefault();
+        queue.offerAll(List.of(good, bad));
+        doNothing().when(pixConfirmationService).register(anyList());
+        doThrow(new IllegalStateException("Loan not found"))
+                .when(pixConfirmationService).register(argThat(batch -> batch.contains(bad)));
+
+        // Act
+        drain();
+
+        // Assert
+        verify(pixConfirmationService).register(List.of(good));
+        verify(pixDeadLetterRepository).save(argThat(deadLetter ->
+                deadLetter.getEndToEndId().equals(bad.endToEndId())
+                        && deadLetter.getError().contains("Loan not found")));
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.dead.lettered").counter().count());
+        assertEquals(0.0, meterRegistry.get("pix.confirmations.failed").counter().count());
+    }
+
+    @Test
+    void shouldRequeueWhenDeadLetterCannotBeStored() {
+        // Arrange
+        var confirmation = PixConfirmationBuilder.createDefault();
+        queue.offerAll(List.of(confirmation));
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doThrow(new IllegalStateException("Database unavailable"))
+                .doNothing()
+                .when(pixConfirmationService).register(anyList());
+        when(pixDeadLetterRepository.save(any())).thenThrow(new DataAccessResourceFailureException("Database unavailable"));
+
+        // Act
+        drain();
+
+        // Assert
+        verify(pixConfirmationService, times(3)).register(anyList());
+        verify(pixConfirmationService).register(List.of(confirmation));
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.requeued").counter().count());
+        assertEquals(1.0, meterRegistry.get("pix.confirmations.accepted").counter().count());
+        assertEquals(0.0, meterRegistry.get("pix.confirmations.failed").counter().count());
+    }
+
+    /**
+     * Stopping lets the worker finish what is queued, so the assertions run once everything was handled.
+     */
+    private void drain() {
+        worker.start();
+        worker.stop();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PixTxidTest {
+
+    @Test
+    void shouldRoundTripLoanIdThroughTxid() {
+        // Arrange
+        var loanId = UUID.randomUUID();
+
+        // Act
+        var txid = PixTxid.of(loanId);
+
+        // Assert
+        assertEquals(32, txid.length());
+        assertEquals(loanId, PixTxid.toLoanId(txid));
+        assertEquals(loanId, PixTxid.toLoanId(txid.toUpperCase()));
+    }
+}
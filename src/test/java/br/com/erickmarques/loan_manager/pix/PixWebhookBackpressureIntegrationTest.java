@@ -0,0 +1,45 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.builder.PixConfirmationBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"loan-manager.pix.queue-capacity=1", "loan-manager.pix.workers=0"})
+@AutoConfigureMockMvc
+class PixWebhookBackpressureIntegrationTest {
+
+    private static final String PATH = "/api/v1/pix/webhook";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldAnswerTooManyRequestsWhenQueueIsFull() throws Exception {
+        // Arrange
+        var first = objectMapper.writeValueAsString(new PixWebhookRequest(List.of(PixConfirmationBuilder.createDefault())));
+        var second = objectMapper.writeValueAsString(new PixWebhookRequest(List.of(PixConfirmationBuilder.createDefault())));
+
+        mockMvc.perform(post(PATH).contentType(MediaType.APPLICATION_JSON).content(first))
+                .andExpect(status().isAccepted());
+
+        // Act & Assert
+        mockMvc.perform(post(PATH).contentType(MediaType.APPLICATION_JSON).content(second))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+}
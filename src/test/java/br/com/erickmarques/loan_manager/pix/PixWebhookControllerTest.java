@@ -0,0 +1,52 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.builder.PixConfirmationBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PixWebhookControllerTest {
+
+    @Mock
+    private PixConfirmationQueue pixConfirmationQueue;
+
+    @InjectMocks
+    private PixWebhookController pixWebhookController;
+
+    @Test
+    void shouldAcceptWhenConfirmationsAreQueued() {
+        // Arrange
+        var request = new PixWebhookRequest(List.of(PixConfirmationBuilder.createDefault()));
+        when(pixConfirmationQueue.offerAll(request.pix())).thenReturn(true);
+
+        // Act
+        var result = pixWebhookController.receive(request);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+    }
+
+    @Test
+    void shouldAskToRetryLaterWhenQueueIsFull() {
+        // Arrange
+        var request = new PixWebhookRequest(List.of(PixConfirmationBuilder.createDefault()));
+        when(pixConfirmationQueue.offerAll(request.pix())).thenReturn(false);
+
+        // Act
+        var result = pixWebhookController.receive(request);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, result.getStatusCode());
+        assertEquals("1", result.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.erickmarques.loan_manager.pix;
+
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.PixConfirmationBuilder;
+import br.com.erickmarques.loan_manager.customer.CustomerResponse;
+import br.com.erickmarques.loan_manager.loan.LoanResponse;
+import br.com.erickmarques.loan_manager.payment.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PixWebhookIntegrationTest {
+
+    private static final String PATH = "/api/v1/pix/webhook";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PixConfirmationRecordRepository pixConfirmationRecordRepository;
+
+    @MockitoSpyBean
+    private PixConfirmationService pixConfirmationService;
+
+    private LoanResponse loan;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var customerResult = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CustomerRequestBuilder.createDefault())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        var customer = objectMapper.readValue(customerResult.getResponse().getContentAsString(), CustomerResponse.class);
+
+        var loanResult = mockMvc.perform(post("/api/v1/loans")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(LoanRequestBuilder.createWithCostumer(customer.id()))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        loan = objectMapper.readValue(loanResult.getResponse().getContentAsString(), LoanResponse.class);
+    }
+
+    @Test
+    void shouldAcknowledgeAndRegisterPaymentOnce() throws Exception {
+        // Arrange
+        var confirmation = PixConfirmationBuilder.createWithLoan(loan.id());
+        var payload = objectMapper.writeValueAsString(new PixWebhookRequest(List.of(confirmation)));
+
+        // Act
+        mockMvc.perform(post(PATH).contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post(PATH).contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andExpect(status().isAccepted());
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> pixConfirmationRecordRepository.existsById(confirmation.endToEndId()));
+        await().pollDelay(Duration.ofMillis(500))
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() ->
+                        assertEquals(1, paymentRepository.findAllByLoanIdOrderByPaymentDateAsc(loan.id()).size()));
+    }
+
+    @Test
+    void shouldStillRegisterPaymentWhenBatchFailsOnce() throws Exception {
+        // Arrange
+        var confirmation = PixConfirmationBuilder.createWithLoan(loan.id());
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doCallRealMethod()
+                .when(pixConfirmationService).register(anyList());
+
+        // Act
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PixWebhookRequest(List.of(confirmation)))))
+                .andExpect(status().isAccepted());
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> pixConfirmationRecordRepository.existsById(confirmation.endToEndId()));
+        assertEquals(1, paymentRepository.findAllByLoanIdOrderByPaymentDateAsc(loan.id()).size());
+    }
+
+    @Test
+    void shouldRejectInvalidTxid() throws Exception {
+        // Arrange
+        var valid = PixConfirmationBuilder.createWithLoan(loan.id());
+        var confirmation = new PixConfirmation(
+                valid.endToEndId(), "not-a-loan", valid.amount(), valid.paidAt(), valid.payerInfo());
+
+        // Act & Assert
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PixWebhookRequest(List.of(confirmation)))))
+                .andExpect(status().isBadRequest());
+    }
+}
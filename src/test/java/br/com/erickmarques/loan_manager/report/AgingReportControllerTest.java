@@ -0,0 +1,47 @@
+package br.com.erickmarques.loan_manager.report;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgingReportControllerTest {
+
+    @InjectMocks
+    private AgingReportController controller;
+
+    @Mock
+    private AgingReportService agingReportService;
+
+    @Nested
+    class AgingTests {
+
+        @Test
+        void shouldReturnAgingReportAsOfToday() {
+            // Arrange
+            var response = new AgingReportResponse(LocalDate.now(), AgingBuckets.EMPTY, List.of());
+
+            when(agingReportService.agingReport(any())).thenReturn(response);
+
+            // Act
+            var result = controller.aging();
+
+            // Assert
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            assertEquals(response, result.getBody());
+            verify(agingReportService).agingReport(LocalDate.now());
+        }
+    }
+}
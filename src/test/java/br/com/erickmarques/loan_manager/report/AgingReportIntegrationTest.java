@@ -0,0 +1,176 @@
+package br.com.erickmarques.loan_manager.report;
+
+import br.com.erickmarques.loan_manager.builder.CustomerBuilder;
+import br.com.erickmarques.loan_manager.builder.CustomerRequestBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanBuilder;
+import br.com.erickmarques.loan_manager.builder.LoanRequestBuilder;
+import br.com.erickmarques.loan_manager.cache.ReadCaches;
+import br.com.erickmarques.loan_manager.customer.Customer;
+import br.com.erickmarques.loan_manager.customer.CustomerRepository;
+import br.com.erickmarques.loan_manager.customer.CustomerService;
+import br.com.erickmarques.loan_manager.loan.LoanRepository;
+import br.com.erickmarques.loan_manager.loan.LoanService;
+import br.com.erickmarques.loan_manager.loan.LoanStatus;
+import br.com.erickmarques.loan_manager.payment.PaymentRequest;
+import br.com.erickmarques.loan_manager.payment.PaymentService;
+import br.com.erickmarques.loan_manager.payment.PaymentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AgingReportIntegrationTest {
+
+    private static final BigDecimal TOTAL = LoanBuilder.createDefault().getTotalAmountToPay();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AgingReportService agingReportService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        // Loans seeded straight through the repository publish no change events.
+        Objects.requireNonNull(cacheManager.getCache(ReadCaches.AGING_REPORT)).clear();
+    }
+
+    @Test
+    void shouldBucketOpenLoansByDaysPastDue() {
+        // Arrange
+        var customer = seedCustomer();
+        seedLoan(customer, null, LoanStatus.OPEN);
+        seedLoan(customer, today, LoanStatus.OPEN);
+        seedLoan(customer, today.minusDays(1), LoanStatus.OVERDUE);
+        seedLoan(customer, today.minusDays(30), LoanStatus.OVERDUE);
+        seedLoan(customer, today.minusDays(31), LoanStatus.OVERDUE);
+        seedLoan(customer, today.minusDays(90), LoanStatus.OVERDUE);
+        seedLoan(customer, today.minusDays(91), LoanStatus.OPEN);
+        seedLoan(customer, today.minusDays(10), LoanStatus.CLOSED);
+
+        // Act
+        var report = agingReportService.agingReport(today);
+
+        // Assert
+        var buckets = bucketsOf(report, customer.getId());
+
+        assertBucket(2, buckets.current());
+        assertBucket(2, buckets.days1To30());
+        assertBucket(1, buckets.days31To60());
+        assertBucket(1, buckets.days61To90());
+        assertBucket(1, buckets.over90Days());
+    }
+
+    @Test
+    void shouldServeCachedReportUntilPaymentChangesALoan() {
+        // Arrange
+        var customer = customerService.create(CustomerRequestBuilder.createDefault());
+        var loan = loanService.create(LoanRequestBuilder.createWithCostumer(customer.id()));
+        var first = agingReportService.agingReport(today);
+
+        seedLoan(customerRepository.findById(customer.id()).orElseThrow(), null, LoanStatus.OPEN);
+
+        // Act
+        var cached = agingReportService.agingReport(today);
+
+        paymentService.create(PaymentRequest.builder()
+                .paymentDate(today)
+                .amount(loan.totalAmountToPay())
+                .type(PaymentType.FINISHED)
+                .loanId(loan.id())
+                .build());
+        var refreshed = agingReportService.agingReport(today);
+
+        // Assert
+        assertSame(first, cached);
+        assertEquals(1, loansOf(first, customer.id()));
+        assertEquals(1, loansOf(refreshed, customer.id()));
+        assertBucket(1, bucketsOf(refreshed, customer.id()).current());
+    }
+
+    @Test
+    void shouldReturnReportAsOfToday() throws Exception {
+        // Arrange
+        var customer = seedCustomer();
+        seedLoan(customer, today.minusDays(45), LoanStatus.OVERDUE);
+
+        // Act + Assert
+        mockMvc.perform(get("/api/v1/reports/aging"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOf").value(today.toString()))
+                .andExpect(jsonPath("$.overall.days31To60.loans").isNumber())
+                .andExpect(jsonPath("$.customers[?(@.customerId == '%s')].buckets.days31To60.loans"
+                        .formatted(customer.getId())).value(1));
+    }
+
+    private Customer seedCustomer() {
+        return customerRepository.save(CustomerBuilder.createDefault().toBuilder()
+                .id(null)
+                .build());
+    }
+
+    private void seedLoan(Customer customer, LocalDate paymentDate, LoanStatus status) {
+        loanRepository.save(LoanBuilder.createDefault().toBuilder()
+                .id(null)
+                .customer(customer)
+                .paymentDate(paymentDate)
+                .status(status)
+                .build());
+    }
+
+    private static void assertBucket(long loans, AgingBucket bucket) {
+        assertEquals(loans, bucket.loans());
+        assertEquals(0, TOTAL.multiply(BigDecimal.valueOf(loans)).compareTo(bucket.amount()));
+    }
+
+    private static AgingBuckets bucketsOf(AgingReportResponse report, UUID customerId) {
+        return report.customers().stream()
+                .filter(row -> row.customerId().equals(customerId))
+                .findFirst()
+                .orElseThrow()
+                .buckets();
+    }
+
+    private static long loansOf(AgingReportResponse report, UUID customerId) {
+        var buckets = bucketsOf(report, customerId);
+        return buckets.current().loans() + buckets.days1To30().loans() + buckets.days31To60().loans()
+                + buckets.days61To90().loans() + buckets.over90Days().loans();
+    }
+}
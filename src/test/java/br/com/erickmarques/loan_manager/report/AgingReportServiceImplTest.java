@@ -0,0 +1,86 @@
+package br.com.erickmarques.loan_manager.report;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgingReportServiceImplTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 6, 30);
+
+    @Mock
+    private AgingReportRepository agingReportRepository;
+
+    @InjectMocks
+    private AgingReportServiceImpl service;
+
+    @Nested
+    class AgingReportTests {
+
+        @Test
+        void shouldQueryBucketBoundsCountedBackFromAsOf() {
+            // Arrange
+            when(agingReportRepository.findCustomerAging(
+                    AS_OF, LocalDate.of(2025, 5, 31), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 4, 1)))
+                    .thenReturn(List.of());
+
+            // Act
+            var result = service.agingReport(AS_OF);
+
+            // Assert
+            assertEquals(AS_OF, result.asOf());
+            assertEquals(AgingBuckets.EMPTY, result.overall());
+            assertTrue(result.customers().isEmpty());
+            verify(agingReportRepository).findCustomerAging(
+                    AS_OF, LocalDate.of(2025, 5, 31), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 4, 1));
+        }
+
+        @Test
+        void shouldMapPivotedRowsAndSumThemOverall() {
+            // Arrange
+            var first = new CustomerAgingRow(UUID.randomUUID(), "Ana",
+                    1L, new BigDecimal("110.00"),
+                    2L, new BigDecimal("220.00"),
+                    0L, null,
+                    0L, null,
+                    1L, new BigDecimal("50.00"));
+            var second = new CustomerAgingRow(UUID.randomUUID(), "Bruno",
+                    0L, null,
+                    1L, new BigDecimal("30.00"),
+                    1L, new BigDecimal("40.00"),
+                    0L, null,
+                    0L, null);
+
+            when(agingReportRepository.findCustomerAging(
+                    AS_OF, AS_OF.minusDays(30), AS_OF.minusDays(60), AS_OF.minusDays(90)))
+                    .thenReturn(List.of(first, second));
+
+            // Act
+            var result = service.agingReport(AS_OF);
+
+            // Assert
+            assertEquals(2, result.customers().size());
+            assertEquals("Ana", result.customers().get(0).customerName());
+            assertEquals(new AgingBucket(0, BigDecimal.ZERO), result.customers().get(0).buckets().days31To60());
+            assertEquals(new AgingBucket(1, new BigDecimal("110.00")), result.overall().current());
+            assertEquals(new AgingBucket(3, new BigDecimal("250.00")), result.overall().days1To30());
+            assertEquals(new AgingBucket(1, new BigDecimal("40.00")), result.overall().days31To60());
+            assertEquals(new AgingBucket(0, BigDecimal.ZERO), result.overall().days61To90());
+            assertEquals(new AgingBucket(1, new BigDecimal("50.00")), result.overall().over90Days());
+        }
+    }
+}